@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+
+package org.jetuml;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jetuml.generation.DiagramModel;
+import org.jetuml.generation.GenerationOptions;
+import org.jetuml.generation.JavaTemplates;
+import org.jetuml.generation.SchemaVerification;
+import org.jetuml.generation.SchemaVerifier;
+import org.jetuml.generation.SourceCodeGenerator;
+import org.jetuml.generation.StandardSqlDialect;
+import org.jetuml.generation.XmlExporter;
+import org.jetuml.persistence.DeserializationException;
+import org.jetuml.persistence.PersistenceService;
+
+/**
+ * Entry point for generating Java and SQL code from class diagrams
+ * without launching the GUI. This class must not depend on the JavaFX
+ * toolkit, so that it can run on headless build servers.
+ * 
+ * Usage: JetUMLGenerator <diagram directory> [<output directory>] [--xml] [--dialect=<dialect>] 
+ *     [--templates=<properties file>] [--jpa] [--verify=<jdbc url>]
+ * 
+ * All the class diagrams (.class.jet files) in the diagram directory are 
+ * processed in a single run. The code for each diagram is generated in a 
+ * sub-directory of the output directory, which defaults to the diagram directory.
+ * Generated files whose content does not change are left untouched.
+ * Each diagram is loaded in memory and the code is generated directly from
+ * it. With the --xml option, the XML description of each diagram is also 
+ * written to the output directory. The --dialect option selects the database
+ * targeted by the SQL scripts: h2, postgresql, oracle (the default) or sqlite.
+ * The --templates option replaces the templates of the generated Java code 
+ * with those of a properties file, with the keys of JavaTemplates.properties.
+ * With the --jpa option, a JPA entity and a Spring Data repository are also 
+ * generated for each class, and the SQL scripts follow the mapping of the entities.
+ * With the --verify option, the schema of each diagram is also loaded in 
+ * the database at the given JDBC URL, for example an embedded H2 database 
+ * with jdbc:h2:mem:, and the statements that fail are reported with the 
+ * type or relation they come from. The JDBC driver must be on the class path.
+ */
+public final class JetUMLGenerator
+{
+	private static final String CLASS_DIAGRAM_SUFFIX = ".class.jet";
+	private static final String OPTION_PREFIX = "--";
+	private static final String OPTION_XML = "--xml";
+	private static final String OPTION_JPA = "--jpa";
+	private static final String OPTION_DIALECT = "--dialect=";
+	private static final String OPTION_TEMPLATES = "--templates=";
+	private static final String OPTION_VERIFY = "--verify=";
+	private static final String XML_EXTENSION = ".xml";
+	
+	private JetUMLGenerator() {}
+	
+	/**
+	 * @param pArgs The diagram directory, optionally followed by the output 
+	 *     directory and options.
+	 */
+	public static void main(String[] pArgs)
+	{
+		List<String> arguments = Stream.of(pArgs).filter(arg -> !arg.startsWith(OPTION_PREFIX)).collect(Collectors.toList());
+		boolean exportXml = false;
+		GenerationOptions options = GenerationOptions.DEFAULT;
+		Optional<String> verificationUrl = Optional.empty();
+		boolean validOptions = true;
+		for( String option : pArgs )
+		{
+			if( option.equals(OPTION_XML) )
+			{
+				exportXml = true;
+			}
+			else if( option.equals(OPTION_JPA) )
+			{
+				options = options.withPersistenceLayer(true);
+			}
+			else if( option.startsWith(OPTION_DIALECT) )
+			{
+				String dialect = option.substring(OPTION_DIALECT.length());
+				try
+				{
+					options = options.withDialect(StandardSqlDialect.fromName(dialect));
+				}
+				catch( IllegalArgumentException exception )
+				{
+					System.err.println("Unknown dialect \"" + dialect + "\". The dialects are: " + dialectNames(", ") + ".");
+					validOptions = false;
+				}
+			}
+			else if( option.startsWith(OPTION_TEMPLATES) )
+			{
+				Path templates = Paths.get(option.substring(OPTION_TEMPLATES.length()));
+				try
+				{
+					options = options.withTemplates(JavaTemplates.load(templates));
+				}
+				catch( IOException | IllegalArgumentException exception )
+				{
+					System.err.println("Cannot read templates " + templates + ": " + exception.getMessage());
+					System.exit(1);
+				}
+			}
+			else if( option.startsWith(OPTION_VERIFY) )
+			{
+				verificationUrl = Optional.of(option.substring(OPTION_VERIFY.length()));
+			}
+			else if( option.startsWith(OPTION_PREFIX) )
+			{
+				validOptions = false;
+			}
+		}
+		if( !validOptions || arguments.isEmpty() || arguments.size() > 2 )
+		{
+			System.err.println("Usage: JetUMLGenerator <diagram directory> [<output directory>] [" + OPTION_XML + "] [" + 
+					OPTION_DIALECT + dialectNames("|") + "] [" + OPTION_TEMPLATES + "<properties file>] [" + 
+					OPTION_JPA + "] [" + OPTION_VERIFY + "<jdbc url>]");
+			System.exit(2);
+		}
+		Path input = Paths.get(arguments.get(0));
+		Path output = arguments.size() == 2 ? Paths.get(arguments.get(1)) : input;
+		
+		long start = System.nanoTime();
+		List<Path> diagrams;
+		try
+		{
+			diagrams = classDiagramsIn(input);
+		}
+		catch( IOException exception )
+		{
+			System.err.println("Cannot read directory " + input + ": " + exception.getMessage());
+			System.exit(1);
+			return;
+		}
+		int failures = 0;
+		int updatedFiles = 0;
+		for( Path diagram : diagrams )
+		{
+			try
+			{
+				String fileName = diagram.getFileName().toString();
+				String diagramName = fileName.substring(0, fileName.length() - CLASS_DIAGRAM_SUFFIX.length());
+				DiagramModel model = DiagramModel.from(PersistenceService.read(diagram.toFile()).diagram());
+				updatedFiles += generate(model, diagramName, output, exportXml, options);
+				if( verificationUrl.isPresent() && !verify(model, diagramName, options, verificationUrl.get()) )
+				{
+					failures++;
+				}
+			}
+			catch( IOException | DeserializationException | SQLException exception )
+			{
+				failures++;
+				System.err.println("Cannot generate code for " + diagram + ": " + exception.getMessage());
+			}
+		}
+		long elapsed = (System.nanoTime() - start) / 1_000_000;
+		System.out.println(String.format("Generated code for %d of %d diagrams in %d ms (%d files updated)", 
+				diagrams.size() - failures, diagrams.size(), elapsed, updatedFiles));
+		System.exit(failures == 0 ? 0 : 1);
+	}
+	
+	/*
+	 * Returns the names accepted by the --dialect option, separated by pSeparator.
+	 */
+	private static String dialectNames(String pSeparator)
+	{
+		return Stream.of(StandardSqlDialect.values())
+				.map(dialect -> dialect.name().toLowerCase(Locale.ROOT))
+				.collect(Collectors.joining(pSeparator));
+	}
+	
+	/*
+	 * Returns the class diagram files directly in pDirectory, sorted by name
+	 * so that the output of a run is deterministic.
+	 */
+	private static List<Path> classDiagramsIn(Path pDirectory) throws IOException
+	{
+		try( Stream<Path> files = Files.list(pDirectory) )
+		{
+			return files.filter(file -> file.getFileName().toString().endsWith(CLASS_DIAGRAM_SUFFIX))
+					.filter(Files::isRegularFile)
+					.sorted()
+					.collect(Collectors.toList());
+		}
+	}
+	
+	/*
+	 * Returns the number of generated files that changed.
+	 */
+	private static int generate(DiagramModel pModel, String pDiagramName, Path pOutput, boolean pExportXml, 
+			GenerationOptions pOptions) throws IOException
+	{
+		if( pExportXml )
+		{
+			Files.createDirectories(pOutput);
+			XmlExporter.write(XmlExporter.export(pModel), pOutput.resolve(pDiagramName + XML_EXTENSION));
+		}
+		return SourceCodeGenerator.generate(pModel, pDiagramName, pOutput, pOptions, (pCompleted, pTotal) -> {});
+	}
+	
+	/*
+	 * Loads the schema of pModel in the database and reports the result. 
+	 * Returns true if all the statements executed.
+	 */
+	private static boolean verify(DiagramModel pModel, String pDiagramName, GenerationOptions pOptions, String pUrl) 
+			throws SQLException
+	{
+		SchemaVerification verification = SchemaVerifier.verify(pModel, pOptions, pUrl);
+		System.out.println(String.format("Schema of %s: %d of %d statements loaded in %.1f ms", pDiagramName, 
+				verification.statementCount() - verification.failures().size(), verification.statementCount(), 
+				verification.loadTimeMillis()));
+		for( SchemaVerification.Failure failure : verification.failures() )
+		{
+			System.err.println("  " + failure);
+		}
+		return verification.succeeded();
+	}
+}
@@ -36,6 +36,13 @@ public final class Version implements Comparable<Version>
 				<Integer>thenComparing(version -> version.aMinor).
 				<Integer>thenComparing(version -> version.aPatch);
 	
+	/**
+	 * The version of this release of JetUML. Declared here rather than in the
+	 * application class so that diagrams can be read and written without 
+	 * loading the GUI framework.
+	 */
+	public static final Version CURRENT = create(3, 5);
+	
 	private final int aMajor;
 	private final int aMinor;
 	private final int aPatch;
@@ -29,6 +29,15 @@ package org.jetuml.diagram;
 public abstract class AbstractDiagramElement implements DiagramElement
 {
 	private Properties aProperties;
+	/*
+	 * The diagram this element was added to, as a root node or an edge. 
+	 * Null if it is not in a diagram. See diagram().
+	 */
+	private Diagram aDiagram;
+	/*
+	 * Incremented each time this element changes. See changeCount().
+	 */
+	private long aChangeCount;
 	
 	/**
 	 * Initializes the properties for this object.
@@ -47,6 +56,7 @@ public abstract class AbstractDiagramElement implements DiagramElement
 		try
 		{
 			AbstractDiagramElement clone = (AbstractDiagramElement) super.clone();
+			clone.aDiagram = null;
 			clone.buildProperties();
 			return clone;
 		}
@@ -70,6 +80,73 @@ public abstract class AbstractDiagramElement implements DiagramElement
 	 */
 	protected void buildProperties()
 	{
-		aProperties = new Properties();
+		aProperties = new Properties(this::changed);
+	}
+	
+	/*
+	 * Records that this element was added to pDiagram, or removed 
+	 * from it if pDiagram is null.
+	 */
+	final void setDiagram(Diagram pDiagram)
+	{
+		aDiagram = pDiagram;
+	}
+	
+	/**
+	 * Child nodes are not added to a diagram themselves, so subclasses 
+	 * whose instances can have a parent return the diagram of their parent.
+	 * 
+	 * @return The diagram this element belongs to, or null if it does not 
+	 *     belong to a diagram.
+	 */
+	protected Diagram diagram()
+	{
+		return aDiagram;
+	}
+	
+	@Override
+	public final long changeCount()
+	{
+		return aChangeCount;
+	}
+	
+	/**
+	 * Increments the change count of this element. Subclasses whose
+	 * instances are part of other elements also increment the change 
+	 * count of these elements.
+	 */
+	protected void touched()
+	{
+		aChangeCount++;
+	}
+	
+	/**
+	 * Records that the position or a property of this element changed, 
+	 * so that the diagram it belongs to, if any, can tell that its 
+	 * geometry may have changed.
+	 */
+	protected void changed()
+	{
+		touched();
+		Diagram diagram = diagram();
+		if( diagram != null )
+		{
+			diagram.elementChanged(this);
+		}
+	}
+	
+	/**
+	 * Records that a child was added to or removed from this element, 
+	 * so that the diagram it belongs to, if any, can tell that its 
+	 * structure changed.
+	 */
+	protected void childrenChanged()
+	{
+		touched();
+		Diagram diagram = diagram();
+		if( diagram != null )
+		{
+			diagram.childrenChanged();
+		}
 	}
 }
@@ -20,10 +20,16 @@
  *******************************************************************************/
 package org.jetuml.diagram;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import org.jetuml.diagram.nodes.CallNode;
 import org.jetuml.diagram.nodes.FieldNode;
@@ -38,13 +44,81 @@ import org.jetuml.diagram.nodes.FieldNode;
  */
 public final class Diagram implements DiagramData
 {
+	private static final int MAX_CHANGES = 4096;
+	
 	/*
 	 * Only root nodes are explicitly tracked by a diagram object. Nodes that are children of their parent should be
 	 * managed and accessed through their parent node.
 	 */
 	private final ArrayList<Node> aRootNodes;
 	private final ArrayList<Edge> aEdges;
+	/*
+	 * The root nodes and edges, to test membership by identity. Child nodes are 
+	 * found through their parent, since adding and removing a child also links 
+	 * and unlinks it.
+	 */
+	private final Set<Node> aRootNodeSet = Collections.newSetFromMap(new IdentityHashMap<>());
+	private final Set<Edge> aEdgeSet = Collections.newSetFromMap(new IdentityHashMap<>());
+	/*
+	 * The index of each edge in aEdges, computed on demand and discarded 
+	 * when the list of edges changes.
+	 */
+	private Map<Edge, Integer> aEdgePositions;
+	/*
+	 * The edges connected to each node, in the order of aEdges. Nodes without edges 
+	 * are not in the map. Edges are connected to their nodes before they are added, 
+	 * and their nodes do not change while they are in the diagram.
+	 */
+	private final Map<Node, IncidentEdges> aIncidentEdges = new IdentityHashMap<>();
 	private final DiagramType aType;
+	/*
+	 * Incremented each time a root node or an edge is added or removed, or 
+	 * a child is added to or removed from one of the nodes. See modificationCount().
+	 */
+	private long aModificationCount;
+	/*
+	 * Incremented each time an element of the diagram is moved or one 
+	 * of its properties is set. See changeCount().
+	 */
+	private long aChangeCount;
+	/*
+	 * The elements changed by the last changes, the most recent last. 
+	 * Only the last MAX_CHANGES changes are kept.
+	 */
+	private final ArrayDeque<DiagramElement> aChanges = new ArrayDeque<>();
+	/*
+	 * Views of the diagram computed on demand for the modification count
+	 * at which they were computed. Null until first needed.
+	 */
+	private Snapshot aSnapshot;
+	
+	/*
+	 * The edges connected to a node, with a read-only view that can be 
+	 * handed out to clients without copying.
+	 */
+	private static final class IncidentEdges
+	{
+		private final List<Edge> aEdges = new ArrayList<>();
+		private final List<Edge> aView = Collections.unmodifiableList(aEdges);
+	}
+	
+	/*
+	 * The views of the diagram computed at a given modification count. The views
+	 * are computed lazily and are not modifiable, so they can be shared by all 
+	 * the clients that read the diagram until it changes.
+	 */
+	private static final class Snapshot
+	{
+		private final long aVersion;
+		private List<Node> aAllNodes;
+		private final Map<Class<?>, List<?>> aNodesOfType = new HashMap<>();
+		private final Map<Class<?>, List<?>> aEdgesOfType = new HashMap<>();
+		
+		Snapshot(long pVersion)
+		{
+			aVersion = pVersion;
+		}
+	}
 
 	/**
 	 * Creates an empty diagram.
@@ -78,6 +152,11 @@ public final class Diagram implements DiagramData
 
 		// Reassign diagram
 		copy.aEdges.forEach(edge -> edge.connect(edge.getStart(), edge.getEnd()));
+		copy.aEdges.forEach(copy::indexEdge);
+		copy.aRootNodeSet.addAll(copy.aRootNodes);
+		copy.aEdgeSet.addAll(copy.aEdges);
+		copy.aRootNodes.forEach(copy::attach);
+		copy.aEdges.forEach(copy::attach);
 		return copy;
 	}
 
@@ -113,14 +192,185 @@ public final class Diagram implements DiagramData
 	}
 	
 	/**
+	 * The list is computed once and shared until the diagram is modified.
+	 * 
 	 * @return All the nodes in the diagram: both the root nodes
-	 * and their children.
+	 * and their children, each parent before its children. The list cannot be modified.
 	 */
 	public List<Node> allNodes()
 	{
-		List<Node> allNodes = new ArrayList<>();
-		rootNodes().forEach(node -> collectNodes(node, allNodes));
-		return allNodes;
+		Snapshot snapshot = snapshot();
+		if( snapshot.aAllNodes == null )
+		{
+			List<Node> allNodes = new ArrayList<>();
+			rootNodes().forEach(node -> collectNodes(node, allNodes));
+			snapshot.aAllNodes = Collections.unmodifiableList(allNodes);
+		}
+		return snapshot.aAllNodes;
+	}
+	
+	/**
+	 * The list is computed once per type and shared until the diagram is modified.
+	 * 
+	 * @param pType The type of nodes to obtain.
+	 * @param <T> The type of nodes.
+	 * @return The nodes of the diagram that are instances of pType, including 
+	 *     children, in the order of allNodes(). The list cannot be modified.
+	 * @pre pType != null
+	 */
+	public <T extends Node> List<T> nodesOfType(Class<T> pType)
+	{
+		assert pType != null;
+		return ofType(snapshot().aNodesOfType, allNodes(), pType);
+	}
+	
+	/**
+	 * The list is computed once per type and shared until the diagram is modified.
+	 * 
+	 * @param pType The type of edges to obtain.
+	 * @param <T> The type of edges.
+	 * @return The edges of the diagram that are instances of pType, in the 
+	 *     order of edges(). The list cannot be modified.
+	 * @pre pType != null
+	 */
+	public <T extends Edge> List<T> edgesOfType(Class<T> pType)
+	{
+		assert pType != null;
+		return ofType(snapshot().aEdgesOfType, aEdges, pType);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static <T> List<T> ofType(Map<Class<?>, List<?>> pCache, List<?> pElements, Class<T> pType)
+	{
+		return (List<T>) pCache.computeIfAbsent(pType, type -> 
+		{
+			List<T> result = new ArrayList<>();
+			for( Object element : pElements )
+			{
+				if( pType.isInstance(element) )
+				{
+					result.add(pType.cast(element));
+				}
+			}
+			return Collections.unmodifiableList(result);
+		});
+	}
+	
+	/**
+	 * The modification count changes each time a node or an edge is added to or removed 
+	 * from the diagram, including children of nodes. Clients can keep the count 
+	 * with information they compute from the diagram, and compute it again only 
+	 * if the count is different. Changes to the position or properties of elements 
+	 * do not change the count.
+	 * 
+	 * @return A number that is different each time the structure of the diagram 
+	 *     changes.
+	 */
+	public long modificationCount()
+	{
+		return aModificationCount;
+	}
+	
+	/**
+	 * The change count increases each time a node of the diagram, including 
+	 * children of nodes, is moved, or a value is set through a property of 
+	 * one of its elements. Together with the modification count, it tells 
+	 * clients when information computed from the geometry of the diagram may
+	 * be outdated. Changes to other diagrams do not change the count.
+	 * 
+	 * @return A number that increases each time an element of the diagram 
+	 *     is moved or changed.
+	 */
+	public long changeCount()
+	{
+		return aChangeCount;
+	}
+	
+	/**
+	 * Only the last changes are remembered, so clients that have not 
+	 * looked at the diagram for many changes must compute their information 
+	 * again from all the elements.
+	 * 
+	 * @param pChangeCount A change count previously obtained from changeCount().
+	 * @return The elements that were moved or changed since the change count
+	 *     was pChangeCount, the most recent first, possibly more than once and 
+	 *     including elements that were removed since, or empty if these changes 
+	 *     are no longer remembered.
+	 * @pre pChangeCount <= changeCount()
+	 */
+	public Optional<List<DiagramElement>> elementsChangedSince(long pChangeCount)
+	{
+		assert pChangeCount <= aChangeCount;
+		if( aChangeCount - pChangeCount > aChanges.size() )
+		{
+			return Optional.empty();
+		}
+		List<DiagramElement> result = new ArrayList<>();
+		Iterator<DiagramElement> changes = aChanges.descendingIterator();
+		for( long i = pChangeCount; i < aChangeCount; i++ )
+		{
+			result.add(changes.next());
+		}
+		return Optional.of(result);
+	}
+	
+	/*
+	 * Called by the elements of this diagram when they are moved or 
+	 * one of their properties is set.
+	 */
+	void elementChanged(DiagramElement pElement)
+	{
+		if( aChanges.size() == MAX_CHANGES )
+		{
+			aChanges.removeFirst();
+		}
+		aChanges.addLast(pElement);
+		aChangeCount++;
+	}
+	
+	/*
+	 * Called by the nodes of this diagram when a child is 
+	 * added to or removed from them.
+	 */
+	void childrenChanged()
+	{
+		aModificationCount++;
+	}
+	
+	/*
+	 * Makes pElement report its changes to this diagram.
+	 */
+	private void attach(DiagramElement pElement)
+	{
+		if( pElement instanceof AbstractDiagramElement )
+		{
+			((AbstractDiagramElement) pElement).setDiagram(this);
+		}
+	}
+	
+	/*
+	 * Stops pElement from reporting its changes to this diagram.
+	 */
+	private void detach(DiagramElement pElement)
+	{
+		if( pElement instanceof AbstractDiagramElement && ((AbstractDiagramElement) pElement).diagram() == this )
+		{
+			((AbstractDiagramElement) pElement).setDiagram(null);
+		}
+	}
+	
+	/*
+	 * Returns the snapshot for the current modification count, 
+	 * discarding the previous one if it is outdated.
+	 */
+	private Snapshot snapshot()
+	{
+		long version = modificationCount();
+		if( aSnapshot == null || aSnapshot.aVersion != version )
+		{
+			aSnapshot = new Snapshot(version);
+		}
+		return aSnapshot;
 	}
 	
 	/*
@@ -164,7 +414,8 @@ public final class Diagram implements DiagramData
 
 	/**
 	 * Checks whether pElement is in the diagram. If pElement is a node, the method returns true if it is a root node,
-	 * or any of its parent is a root node.
+	 * or any of its parent is a root node. The time taken depends on the depth of pElement, not on the size of 
+	 * the diagram.
 	 * 
 	 * @param pElement The element we want to check is in the diagram.
 	 * @return True if pElement is a node or edge in this diagram.
@@ -173,34 +424,24 @@ public final class Diagram implements DiagramData
 	public boolean contains(DiagramElement pElement)
 	{
 		assert pElement != null;
-		if( aEdges.contains(pElement) )
+		if( pElement instanceof Edge )
 		{
-			return true;
+			return aEdgeSet.contains(pElement);
 		}
-		for( Node node : aRootNodes )
-		{
-			if( containsNode(node, pElement) )
-			{
-				return true;
-			}
-		}
-		return false;
-	}
-
-	private boolean containsNode(Node pTest, DiagramElement pTarget)
-	{
-		if( pTest == pTarget )
+		if( !(pElement instanceof Node) )
 		{
-			return true;
+			return false;
 		}
-		for( Node node : pTest.getChildren() )
+		Node node = (Node) pElement;
+		while( !aRootNodeSet.contains(node) )
 		{
-			if( containsNode(node, pTarget) )
+			if( !node.hasParent() )
 			{
-				return true;
+				return false;
 			}
+			node = node.getParent();
 		}
-		return false;
+		return true;
 	}
 
 	/**
@@ -211,7 +452,7 @@ public final class Diagram implements DiagramData
 	public boolean containsAsRoot(Node pNode)
 	{
 		assert pNode != null;
-		return aRootNodes.contains(pNode);
+		return aRootNodeSet.contains(pNode);
 	}
 
 	/**
@@ -226,23 +467,73 @@ public final class Diagram implements DiagramData
 	}
 
 	/**
+	 * The edges are obtained from an index maintained as edges are added 
+	 * and removed, so this method does not depend on the size of the diagram 
+	 * and does not copy the edges. 
+	 * 
 	 * @param pNode The node to test for
-	 * @return All the edges connected to pNode
+	 * @return All the edges connected to pNode, in the order of edges(). 
+	 *     The returned list cannot be modified and reflects later changes to the diagram.
 	 * @pre pNode != null
 	 * @pre contains(pNode)
 	 */
 	public Iterable<Edge> edgesConnectedTo(Node pNode)
 	{
 		assert pNode != null && contains(pNode);
-		Collection<Edge> lReturn = new ArrayList<>();
+		IncidentEdges edges = aIncidentEdges.get(pNode);
+		if( edges == null )
+		{
+			return Collections.emptyList();
+		}
+		return edges.aView;
+	}
+	
+	/*
+	 * Adds pEdge at the end of the incident edges of its nodes. 
+	 * A self-edge is added once.
+	 */
+	private void indexEdge(Edge pEdge)
+	{
+		aIncidentEdges.computeIfAbsent(pEdge.getStart(), node -> new IncidentEdges()).aEdges.add(pEdge);
+		if( pEdge.getEnd() != pEdge.getStart() )
+		{
+			aIncidentEdges.computeIfAbsent(pEdge.getEnd(), node -> new IncidentEdges()).aEdges.add(pEdge);
+		}
+	}
+	
+	private void unindexEdge(Edge pEdge)
+	{
+		unindexEdge(pEdge, pEdge.getStart());
+		unindexEdge(pEdge, pEdge.getEnd());
+	}
+	
+	private void unindexEdge(Edge pEdge, Node pNode)
+	{
+		IncidentEdges edges = aIncidentEdges.get(pNode);
+		if( edges != null )
+		{
+			edges.aEdges.remove(pEdge);
+			if( edges.aEdges.isEmpty() )
+			{
+				aIncidentEdges.remove(pNode);
+			}
+		}
+	}
+	
+	/*
+	 * Rebuilds the incident edges of pNode from the list of edges, to 
+	 * keep them in order after an edge is inserted before the last one.
+	 */
+	private void reindexNode(Node pNode)
+	{
+		aIncidentEdges.remove(pNode);
 		for( Edge edge : aEdges )
 		{
 			if( edge.getStart() == pNode || edge.getEnd() == pNode )
 			{
-				lReturn.add(edge);
+				aIncidentEdges.computeIfAbsent(pNode, node -> new IncidentEdges()).aEdges.add(edge);
 			}
 		}
-		return lReturn;
 	}
 
 	/**
@@ -256,6 +547,9 @@ public final class Diagram implements DiagramData
 	{
 		assert pNode != null;
 		aRootNodes.add(pNode);
+		aRootNodeSet.add(pNode);
+		attach(pNode);
+		aModificationCount++;
 	}
 
 	/**
@@ -267,8 +561,11 @@ public final class Diagram implements DiagramData
 	 */
 	public void removeRootNode(Node pNode)
 	{
-		assert pNode != null && aRootNodes.contains(pNode);
+		assert pNode != null && aRootNodeSet.contains(pNode);
 		aRootNodes.remove(pNode);
+		aRootNodeSet.remove(pNode);
+		detach(pNode);
+		aModificationCount++;
 	}
 
 	/**
@@ -282,6 +579,14 @@ public final class Diagram implements DiagramData
 	{
 		assert pEdge != null && pEdge.getStart() != null && pEdge.getEnd() != null;
 		aEdges.add(pEdge);
+		aEdgeSet.add(pEdge);
+		if( aEdgePositions != null )
+		{
+			aEdgePositions.put(pEdge, aEdges.size() - 1);
+		}
+		indexEdge(pEdge);
+		attach(pEdge);
+		aModificationCount++;
 	}
 	
 	/**
@@ -295,10 +600,27 @@ public final class Diagram implements DiagramData
 	{
 		assert pEdge != null && pIndex >= 0 && pIndex <= aEdges.size();
 		aEdges.add(pIndex, pEdge);
+		aEdgeSet.add(pEdge);
+		aEdgePositions = null;
+		if( pIndex == aEdges.size() - 1 )
+		{
+			indexEdge(pEdge);
+		}
+		else
+		{
+			reindexNode(pEdge.getStart());
+			reindexNode(pEdge.getEnd());
+		}
+		attach(pEdge);
+		aModificationCount++;
 	}
 
 
 	/**
+	 * The indices of the edges are computed once for all the edges, and again 
+	 * only after an edge is inserted or removed, so that sorting edges by 
+	 * index does not scan the list of edges for each comparison.
+	 * 
 	 * @param pEdge
 	 *            The edge to check.
 	 * @return The index of pEdge in the list of edges.
@@ -307,7 +629,15 @@ public final class Diagram implements DiagramData
 	public int indexOf(Edge pEdge)
 	{
 		assert contains(pEdge);
-		return aEdges.indexOf(pEdge);
+		if( aEdgePositions == null )
+		{
+			aEdgePositions = new IdentityHashMap<>();
+			for( int i = 0; i < aEdges.size(); i++ )
+			{
+				aEdgePositions.put(aEdges.get(i), i);
+			}
+		}
+		return aEdgePositions.get(pEdge);
 	}
 
 	/**
@@ -318,8 +648,13 @@ public final class Diagram implements DiagramData
 	 */
 	public void removeEdge(Edge pEdge)
 	{
-		assert pEdge != null && aEdges.contains(pEdge);
+		assert pEdge != null && aEdgeSet.contains(pEdge);
 		aEdges.remove(pEdge);
+		aEdgeSet.remove(pEdge);
+		aEdgePositions = null;
+		unindexEdge(pEdge);
+		detach(pEdge);
+		aModificationCount++;
 	}
 
 	/**
@@ -29,4 +29,15 @@ public interface DiagramElement extends Cloneable
 	 * @return A set of properties that define this object.
 	 */
 	Properties properties();
+	
+	/**
+	 * The change count of an element increases each time the element is 
+	 * moved or one of its properties is set, and for nodes, each time 
+	 * a child is added or removed or one of their descendants changes.
+	 * Clients can keep the count with information they compute from the 
+	 * element, and compute it again only if the count is different.
+	 * 
+	 * @return A number that increases each time this element changes.
+	 */
+	long changeCount();
 }
@@ -45,6 +45,28 @@ import java.util.function.Supplier;
 public class Properties implements Iterable<Property>
 {
 	private final Map<PropertyName, Property> aProperties = new LinkedHashMap<>();
+	private final Runnable aOnChange;
+	
+	/**
+	 * Creates an empty collection of properties.
+	 */
+	public Properties()
+	{
+		this(() -> {});
+	}
+	
+	/**
+	 * Creates an empty collection of properties that run pOnChange 
+	 * each time the value of one of them is set.
+	 * 
+	 * @param pOnChange What to run after a value is set.
+	 * @pre pOnChange != null
+	 */
+	public Properties(Runnable pOnChange)
+	{
+		assert pOnChange != null;
+		aOnChange = pOnChange;
+	}
 	
 	/**
 	 * Adds a property to the end of the list.
@@ -57,7 +79,7 @@ public class Properties implements Iterable<Property>
 	public void add(PropertyName pName, Supplier<Object> pGetter, Consumer<Object> pSetter)
 	{
 		assert pName != null && pGetter != null && pSetter != null && !aProperties.containsKey(pName);
-		aProperties.put(pName, new Property(pName, pGetter, pSetter));
+		aProperties.put(pName, new Property(pName, pGetter, pSetter, aOnChange));
 	}
 	
 	/**
@@ -88,7 +110,7 @@ public class Properties implements Iterable<Property>
 		assert pName != null && pGetter != null && pSetter != null && !aProperties.containsKey(pName);
 		assert pIndex >=0 && pIndex <= aProperties.size();
 		List<Property> properties = aProperties.values().stream().collect(toList());
-		properties.add(pIndex, new Property(pName, pGetter, pSetter));
+		properties.add(pIndex, new Property(pName, pGetter, pSetter, aOnChange));
 		aProperties.clear();
 		properties.stream().forEach(property -> aProperties.put(property.name(), property));
 	}
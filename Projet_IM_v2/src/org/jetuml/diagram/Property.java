@@ -33,6 +33,7 @@ public class Property
 	private final PropertyName aName;
 	private final Supplier<Object> aGetter;
 	private final Consumer<Object> aSetter;
+	private final Runnable aOnChange;
 	
 	/**
 	 * Creates a new property.
@@ -44,10 +45,25 @@ public class Property
 	 */
 	public Property(PropertyName pName, Supplier<Object> pGetter, Consumer<Object> pSetter)
 	{
-		assert pName != null && pGetter != null && pSetter != null;
+		this(pName, pGetter, pSetter, () -> {});
+	}
+	
+	/**
+	 * Creates a new property that runs pOnChange each time its value is set.
+	 * 
+	 * @param pName The name of the property.
+	 * @param pGetter The getter for the property.
+	 * @param pSetter The setter for the property.
+	 * @param pOnChange What to run after a value is set.
+	 * @pre pName != null && pGetter != null && pSetter != null && pOnChange != null.
+	 */
+	public Property(PropertyName pName, Supplier<Object> pGetter, Consumer<Object> pSetter, Runnable pOnChange)
+	{
+		assert pName != null && pGetter != null && pSetter != null && pOnChange != null;
 		aName = pName;
 		aGetter = pGetter;
 		aSetter = pSetter;
+		aOnChange = pOnChange;
 	}
 	
 	/**
@@ -55,9 +71,7 @@ public class Property
 	 */
 	public PropertyName name()
 	{
-//		System.out.println("PropertyName name() Method : "+aName);
 		return aName;
-		
 	}
 	
 	/**
@@ -65,27 +79,7 @@ public class Property
 	 */
 	public Object get()
 	{
-//		if (aGetter.get() != null || aGetter.get() != "") {
-//			
-//			System.out.println("The value of this property : "+aName+" is ->"+aGetter.get());
-//		}
-		PropertyName rn = name();
-		
-		String dd = aName.visible();
-		System.out.println("visible : "+dd +" --- "+aGetter.get());
-		
-		if (dd =="Name") {
-			System.out.println("Name value : "+aGetter.get());
-		}
-		if (dd =="Attributes") {
-			System.out.println("Attributes value : "+aGetter.get());
-		}
-		if (dd =="Methods") {
-			System.out.println("Methods value : "+aGetter.get());
-		}
-		
 		return aGetter.get();
-		
 	}
 	
 	/**
@@ -98,11 +92,6 @@ public class Property
 	{
 		assert pValue != null ;
 		aSetter.accept(pValue);
-		
-		if (pValue != null || pValue != "") {
-			
-			System.out.println("value in setMethod : "+pValue);
-		}
-		
+		aOnChange.run();
 	}
 }
@@ -66,6 +66,7 @@ public final class AggregationEdge extends ThreeLabelEdge
 	public void setType(Type pType)
 	{
 		aType = pType;
+		changed();
 	}
 	
 	@Override
@@ -59,7 +59,8 @@ public class CallEdge extends SingleLabelEdge
      */      
 	public void setSignal(boolean pNewValue) 
 	{ 
-		aSignal = pNewValue; 
+		aSignal = pNewValue;
+		changed();
 	}
 	
 	/**
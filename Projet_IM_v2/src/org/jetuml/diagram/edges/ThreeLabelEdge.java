@@ -36,6 +36,7 @@ public abstract class ThreeLabelEdge extends SingleLabelEdge
 	public void setStartLabel(String pLabel)
 	{
 		aStartLabel = pLabel;
+		changed();
 	}
 	
 	/**
@@ -44,6 +45,7 @@ public abstract class ThreeLabelEdge extends SingleLabelEdge
 	public void setEndLabel(String pLabel)
 	{
 		aEndLabel = pLabel;
+		changed();
 	}
 	
 	/**
@@ -25,6 +25,7 @@ import static java.util.Collections.emptyList;
 import java.util.List;
 
 import org.jetuml.diagram.AbstractDiagramElement;
+import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.Node;
 import org.jetuml.geom.Point;
 
@@ -39,6 +40,7 @@ public abstract class AbstractNode extends AbstractDiagramElement implements Nod
 	public void translate(int pDeltaX, int pDeltaY)
 	{
 		aPosition = new Point( aPosition.getX() + pDeltaX, aPosition.getY() + pDeltaY );
+		changed();
 	}
 	
 	@Override
@@ -51,6 +53,37 @@ public abstract class AbstractNode extends AbstractDiagramElement implements Nod
 	public final void moveTo(Point pPoint)
 	{
 		aPosition = pPoint;
+		changed();
+	}
+
+	/**
+	 * Child nodes belong to the diagram of their parent.
+	 * 
+	 * @return The diagram this node belongs to, or null if it does not 
+	 *     belong to a diagram.
+	 */
+	@Override
+	protected Diagram diagram()
+	{
+		if( hasParent() )
+		{
+			return ((AbstractNode) getParent()).diagram();
+		}
+		return super.diagram();
+	}
+
+	/**
+	 * The bounds of a node depend on its children, so the changes 
+	 * of a node are also changes of its ancestors.
+	 */
+	@Override
+	protected void touched()
+	{
+		super.touched();
+		if( hasParent() )
+		{
+			((AbstractNode) getParent()).touched();
+		}
 	}
 
 	@Override
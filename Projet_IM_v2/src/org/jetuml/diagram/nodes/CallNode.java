@@ -52,7 +52,8 @@ public class CallNode extends AbstractNode
 	 */      
 	public void setOpenBottom(boolean pNewValue)
 	{ 
-		aOpenBottom = pNewValue; 
+		aOpenBottom = pNewValue;
+		changed();
 	}
 
 	@Override
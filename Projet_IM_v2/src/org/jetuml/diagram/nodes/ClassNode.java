@@ -21,6 +21,10 @@
 
 package org.jetuml.diagram.nodes;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
 import org.jetuml.diagram.PropertyName;
 
 /**
@@ -29,6 +33,7 @@ import org.jetuml.diagram.PropertyName;
 public final class ClassNode extends TypeNode
 {
 	private String aAttributes = "";
+	private Optional<List<Attribute>> aParsedAttributes = Optional.empty();
 	
 	/**
 	 * Constructs a new ClassNode with an empty name and no
@@ -48,6 +53,8 @@ public final class ClassNode extends TypeNode
 	{
 		assert pNewValue != null;
 		aAttributes = pNewValue;
+		aParsedAttributes = Optional.empty();
+		changed();
 	}
 
 	/**
@@ -59,11 +66,21 @@ public final class ClassNode extends TypeNode
 	{
 		return aAttributes;
 	}
+	
+	@Override
+	public List<Attribute> getParsedAttributes()
+	{
+		if( !aParsedAttributes.isPresent() )
+		{
+			aParsedAttributes = Optional.of(Collections.unmodifiableList(MemberParser.parseAttributes(aAttributes)));
+		}
+		return aParsedAttributes.get();
+	}
 
 	@Override
 	protected void buildProperties()
 	{
 		super.buildProperties();
-		properties().addAt(PropertyName.ATTRIBUTES, () -> aAttributes, pAttributes -> aAttributes = (String)pAttributes, 1);
+		properties().addAt(PropertyName.ATTRIBUTES, () -> aAttributes, pAttributes -> setAttributes((String)pAttributes), 1);
 	}
 }
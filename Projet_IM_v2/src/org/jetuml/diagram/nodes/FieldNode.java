@@ -49,6 +49,7 @@ public final class FieldNode extends NamedNode
 	public void setValue(String pNewValue)
 	{
 		aValue = pNewValue;
+		changed();
 	}
 
 	/**
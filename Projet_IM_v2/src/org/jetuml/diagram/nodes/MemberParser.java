@@ -0,0 +1,196 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.diagram.nodes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the attributes and methods of a type, as entered in a 
+ * class diagram, into their typed representation. Each member is 
+ * declared on its own line. Attributes have the form 
+ * <code>[visibility] name [: type]</code> and methods have the form 
+ * <code>[visibility] name([parameters]) [: type]</code>, where each
+ * parameter is either <code>type name</code> or <code>name : type</code>.
+ * Lines that do not follow these forms are ignored.
+ */
+final class MemberParser
+{
+	private static final String DEFAULT_RETURN_TYPE = "void";
+	
+	private MemberParser() {}
+	
+	/**
+	 * @param pAttributes The attributes of a type, one per line.
+	 * @return The attributes declared in pAttributes, in order.
+	 * @pre pAttributes != null
+	 */
+	static List<Attribute> parseAttributes(String pAttributes)
+	{
+		assert pAttributes != null;
+		List<Attribute> result = new ArrayList<>();
+		for( String line : pAttributes.split("\n") )
+		{
+			String declaration = line.trim();
+			if( declaration.isEmpty() )
+			{
+				continue;
+			}
+			Visibility visibility = visibilityOf(declaration);
+			declaration = stripVisibility(declaration);
+			int colon = declaration.indexOf(':');
+			String name = (colon >= 0 ? declaration.substring(0, colon) : declaration).trim();
+			String type = colon >= 0 ? declaration.substring(colon + 1).trim() : "";
+			if( !name.isEmpty() )
+			{
+				result.add(new Attribute(visibility, name, type));
+			}
+		}
+		return result;
+	}
+	
+	/**
+	 * @param pMethods The methods of a type, one per line.
+	 * @return The methods declared in pMethods, in order.
+	 * @pre pMethods != null
+	 */
+	static List<Method> parseMethods(String pMethods)
+	{
+		assert pMethods != null;
+		List<Method> result = new ArrayList<>();
+		for( String line : pMethods.split("\n") )
+		{
+			String declaration = line.trim();
+			if( declaration.isEmpty() )
+			{
+				continue;
+			}
+			Visibility visibility = visibilityOf(declaration);
+			declaration = stripVisibility(declaration);
+			int openParen = declaration.indexOf('(');
+			int closeParen = declaration.lastIndexOf(')');
+			String name;
+			List<Parameter> parameters = new ArrayList<>();
+			String rest;
+			if( openParen >= 0 && closeParen > openParen )
+			{
+				name = declaration.substring(0, openParen).trim();
+				parameters = parseParameters(declaration.substring(openParen + 1, closeParen));
+				rest = declaration.substring(closeParen + 1);
+			}
+			else
+			{
+				int colon = declaration.indexOf(':');
+				name = (colon >= 0 ? declaration.substring(0, colon) : declaration).trim();
+				rest = colon >= 0 ? declaration.substring(colon) : "";
+			}
+			int colon = rest.indexOf(':');
+			String returnType = colon >= 0 ? rest.substring(colon + 1).trim() : "";
+			if( returnType.isEmpty() )
+			{
+				returnType = DEFAULT_RETURN_TYPE;
+			}
+			if( !name.isEmpty() )
+			{
+				result.add(new Method(visibility, name, returnType, parameters));
+			}
+		}
+		return result;
+	}
+	
+	private static List<Parameter> parseParameters(String pParameters)
+	{
+		List<Parameter> result = new ArrayList<>();
+		for( String declaration : splitParameters(pParameters) )
+		{
+			int colon = declaration.indexOf(':');
+			if( colon >= 0 )
+			{
+				String name = declaration.substring(0, colon).trim();
+				String type = declaration.substring(colon + 1).trim();
+				if( !name.isEmpty() && !type.isEmpty() )
+				{
+					result.add(new Parameter(name, type));
+				}
+				continue;
+			}
+			int space = declaration.lastIndexOf(' ');
+			if( space > 0 )
+			{
+				result.add(new Parameter(declaration.substring(space + 1), declaration.substring(0, space).trim()));
+			}
+		}
+		return result;
+	}
+	
+	/*
+	 * Splits the parameter list on the commas that are not part of a 
+	 * generic type, and normalizes the white space of each parameter.
+	 */
+	private static List<String> splitParameters(String pParameters)
+	{
+		List<String> result = new ArrayList<>();
+		int depth = 0;
+		int start = 0;
+		for( int i = 0; i < pParameters.length(); i++ )
+		{
+			char character = pParameters.charAt(i);
+			if( character == '<' )
+			{
+				depth++;
+			}
+			else if( character == '>' )
+			{
+				depth--;
+			}
+			else if( character == ',' && depth == 0 )
+			{
+				result.add(pParameters.substring(start, i));
+				start = i + 1;
+			}
+		}
+		result.add(pParameters.substring(start));
+		List<String> normalized = new ArrayList<>();
+		for( String parameter : result )
+		{
+			String trimmed = parameter.trim().replaceAll("\\s+", " ");
+			if( !trimmed.isEmpty() )
+			{
+				normalized.add(trimmed);
+			}
+		}
+		return normalized;
+	}
+	
+	private static Visibility visibilityOf(String pDeclaration)
+	{
+		return Visibility.fromMarker(pDeclaration.charAt(0));
+	}
+	
+	private static String stripVisibility(String pDeclaration)
+	{
+		if( Visibility.isMarker(pDeclaration.charAt(0)) )
+		{
+			return pDeclaration.substring(1).trim();
+		}
+		return pDeclaration;
+	}
+}
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.diagram.nodes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jetuml.annotations.Immutable;
+
+/**
+ * A method of a type. 
+ */
+@Immutable
+public final class Method
+{
+	private final Visibility aVisibility;
+	private final String aName;
+	private final String aReturnType;
+	private final List<Parameter> aParameters;
+	
+	/**
+	 * @param pVisibility The visibility of the method.
+	 * @param pName The name of the method.
+	 * @param pReturnType The return type of the method.
+	 * @param pParameters The parameters of the method, in order.
+	 * @pre pVisibility != null && pName != null && pReturnType != null && pParameters != null
+	 */
+	public Method(Visibility pVisibility, String pName, String pReturnType, List<Parameter> pParameters)
+	{
+		assert pVisibility != null && pName != null && pReturnType != null && pParameters != null;
+		aVisibility = pVisibility;
+		aName = pName;
+		aReturnType = pReturnType;
+		aParameters = Collections.unmodifiableList(new ArrayList<>(pParameters));
+	}
+	
+	/**
+	 * @return The visibility of the method.
+	 */
+	public Visibility visibility()
+	{
+		return aVisibility;
+	}
+	
+	/**
+	 * @return The name of the method.
+	 */
+	public String name()
+	{
+		return aName;
+	}
+	
+	/**
+	 * @return The return type of the method.
+	 */
+	public String returnType()
+	{
+		return aReturnType;
+	}
+	
+	/**
+	 * @return The parameters of the method, in order. Unmodifiable.
+	 */
+	public List<Parameter> parameters()
+	{
+		return aParameters;
+	}
+}
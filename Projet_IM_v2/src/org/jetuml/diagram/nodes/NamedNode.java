@@ -37,6 +37,7 @@ public abstract class NamedNode extends AbstractNode
 	public void setName(String pName)
 	{
 		aName = pName;
+		changed();
 	}
 
 	/**
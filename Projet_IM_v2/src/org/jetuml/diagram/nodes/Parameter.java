@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.diagram.nodes;
+
+import org.jetuml.annotations.Immutable;
+
+/**
+ * A parameter of a method.
+ */
+@Immutable
+public final class Parameter
+{
+	private final String aName;
+	private final String aType;
+	
+	/**
+	 * @param pName The name of the parameter.
+	 * @param pType The type of the parameter.
+	 * @pre pName != null && pType != null
+	 */
+	public Parameter(String pName, String pType)
+	{
+		assert pName != null && pType != null;
+		aName = pName;
+		aType = pType;
+	}
+	
+	/**
+	 * @return The name of the parameter.
+	 */
+	public String name()
+	{
+		return aName;
+	}
+	
+	/**
+	 * @return The type of the parameter.
+	 */
+	public String type()
+	{
+		return aType;
+	}
+}
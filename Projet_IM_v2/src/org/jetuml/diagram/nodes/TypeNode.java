@@ -21,6 +21,8 @@
 
 package org.jetuml.diagram.nodes;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import org.jetuml.diagram.Node;
@@ -28,11 +30,13 @@ import org.jetuml.diagram.PropertyName;
 
 /**
  * A type that can represent either classes or interfaces. A type node 
- * always has at least methods.
+ * always has at least methods. The parsed form of the methods is computed 
+ * on demand and kept until the methods change.
  */
 public abstract class TypeNode extends NamedNode
 {
 	private String aMethods = ""; 
+	private Optional<List<Method>> aParsedMethods = Optional.empty();
 	private Optional<Node> aContainer = Optional.empty();
 
 	/**
@@ -44,6 +48,8 @@ public abstract class TypeNode extends NamedNode
 	{
 		assert pMethods != null;
 		aMethods = pMethods;
+		aParsedMethods = Optional.empty();
+		changed();
 	}
 	
 	/**
@@ -64,6 +70,28 @@ public abstract class TypeNode extends NamedNode
 	{
 		return "";
 	}
+	
+	/**
+	 * @return The methods of this type node, parsed. Unmodifiable.
+	 */
+	public List<Method> getParsedMethods()
+	{
+		if( !aParsedMethods.isPresent() )
+		{
+			aParsedMethods = Optional.of(Collections.unmodifiableList(MemberParser.parseMethods(aMethods)));
+		}
+		return aParsedMethods.get();
+	}
+	
+	/**
+	 * Gets the attributes of this type node, parsed. 
+	 * By default, there are none.
+	 * @return The parsed attributes. Unmodifiable.
+	 */
+	public List<Attribute> getParsedAttributes()
+	{
+		return Collections.emptyList();
+	}
 
 	@Override
 	public Node getParent()
@@ -96,7 +124,7 @@ public abstract class TypeNode extends NamedNode
 	protected void buildProperties()
 	{
 		super.buildProperties();
-		properties().add(PropertyName.METHODS, () -> aMethods, pMethods -> aMethods = (String)pMethods);
+		properties().add(PropertyName.METHODS, () -> aMethods, pMethods -> setMethods((String)pMethods));
 	}
 	
 	@Override
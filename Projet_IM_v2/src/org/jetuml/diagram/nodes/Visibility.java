@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.diagram.nodes;
+
+/**
+ * The visibility of a member of a type, as written in a class diagram.
+ */
+public enum Visibility
+{
+	PUBLIC('+'), PRIVATE('-'), PROTECTED('#');
+	
+	private static final char ALTERNATE_PROTECTED = '*';
+	
+	private final char aMarker;
+	
+	Visibility(char pMarker)
+	{
+		aMarker = pMarker;
+	}
+	
+	/**
+	 * @return The UML marker for this visibility.
+	 */
+	public char marker()
+	{
+		return aMarker;
+	}
+	
+	/**
+	 * @return The Java keyword for this visibility.
+	 */
+	public String keyword()
+	{
+		return name().toLowerCase();
+	}
+	
+	/**
+	 * @param pMarker A character that may be a visibility marker.
+	 * @return True if pMarker denotes a visibility.
+	 */
+	public static boolean isMarker(char pMarker)
+	{
+		if( pMarker == ALTERNATE_PROTECTED )
+		{
+			return true;
+		}
+		for( Visibility visibility : values() )
+		{
+			if( visibility.aMarker == pMarker )
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * @param pMarker A character that may be a visibility marker.
+	 * @return The visibility denoted by pMarker. Members without a visibility
+	 *     marker are private.
+	 */
+	public static Visibility fromMarker(char pMarker)
+	{
+		if( pMarker == ALTERNATE_PROTECTED )
+		{
+			return PROTECTED;
+		}
+		for( Visibility visibility : values() )
+		{
+			if( visibility.aMarker == pMarker )
+			{
+				return visibility;
+			}
+		}
+		return PRIVATE;
+	}
+}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetuml.annotations.Immutable;
+
+/**
+ * A fragment of generated code with named placeholders of the form 
+ * <code>${name}</code>. The text is parsed once, when the template is 
+ * compiled, into literal segments and parameter positions, so that 
+ * rendering only appends to a buffer.
+ */
+@Immutable
+final class CodeTemplate
+{
+	private static final String PLACEHOLDER_START = "${";
+	private static final char PLACEHOLDER_END = '}';
+	private static final int LITERAL = -1;
+	
+	private final String[] aLiterals;
+	private final int[] aParameters;
+	
+	private CodeTemplate(List<String> pLiterals, List<Integer> pParameters)
+	{
+		aLiterals = pLiterals.toArray(new String[0]);
+		aParameters = pParameters.stream().mapToInt(Integer::intValue).toArray();
+	}
+	
+	/**
+	 * @param pText The text of the template.
+	 * @param pParameters The names of the parameters, in the order in 
+	 *     which their values are passed to render.
+	 * @return The compiled template.
+	 * @throws IllegalArgumentException If pText has a placeholder that is not 
+	 *     one of pParameters, or a placeholder that is not closed.
+	 * @pre pText != null && pParameters != null
+	 */
+	static CodeTemplate compile(String pText, List<String> pParameters)
+	{
+		assert pText != null && pParameters != null;
+		List<String> literals = new ArrayList<>();
+		List<Integer> parameters = new ArrayList<>();
+		int position = 0;
+		int start = pText.indexOf(PLACEHOLDER_START);
+		while( start >= 0 )
+		{
+			int end = pText.indexOf(PLACEHOLDER_END, start);
+			if( end < 0 )
+			{
+				throw new IllegalArgumentException("Unclosed placeholder in template: " + pText);
+			}
+			String name = pText.substring(start + PLACEHOLDER_START.length(), end);
+			int index = pParameters.indexOf(name);
+			if( index < 0 )
+			{
+				throw new IllegalArgumentException("Unknown placeholder ${" + name + "}, expected one of " + pParameters);
+			}
+			if( start > position )
+			{
+				literals.add(pText.substring(position, start));
+				parameters.add(LITERAL);
+			}
+			literals.add(null);
+			parameters.add(index);
+			position = end + 1;
+			start = pText.indexOf(PLACEHOLDER_START, position);
+		}
+		if( position < pText.length() )
+		{
+			literals.add(pText.substring(position));
+			parameters.add(LITERAL);
+		}
+		return new CodeTemplate(literals, parameters);
+	}
+	
+	/**
+	 * Appends this template to pBuffer, with each placeholder replaced 
+	 * by the value of its parameter.
+	 * 
+	 * @param pBuffer The buffer to append to.
+	 * @param pValues The values of the parameters, in the order given to compile.
+	 * @pre pBuffer != null && pValues != null
+	 */
+	void render(StringBuilder pBuffer, CharSequence... pValues)
+	{
+		assert pBuffer != null && pValues != null;
+		for( int i = 0; i < aLiterals.length; i++ )
+		{
+			pBuffer.append(aParameters[i] == LITERAL ? aLiterals[i] : pValues[aParameters[i]]);
+		}
+	}
+}
@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import org.jetuml.annotations.Immutable;
+import org.jetuml.diagram.Diagram;
+import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.Node;
+import org.jetuml.diagram.edges.AggregationEdge;
+import org.jetuml.diagram.edges.AssociationEdge;
+import org.jetuml.diagram.edges.DependencyEdge;
+import org.jetuml.diagram.edges.GeneralizationEdge;
+import org.jetuml.diagram.edges.SingleLabelEdge;
+import org.jetuml.diagram.edges.ThreeLabelEdge;
+import org.jetuml.diagram.nodes.InterfaceNode;
+import org.jetuml.diagram.nodes.TypeNode;
+
+/**
+ * The information of a class diagram that is relevant for code generation:
+ * its types, with their parsed members, and the relations between them. 
+ * A model is a snapshot: it does not change when the diagram it was 
+ * created from changes. A model created from a diagram remembers the node
+ * and the edge that each type and relation comes from, so that problems 
+ * found in the generated code can be reported on the diagram.
+ */
+@Immutable
+public final class DiagramModel
+{
+	private final List<TypeModel> aTypes;
+	private final List<RelationModel> aRelations;
+	private final Map<String, TypeModel> aTypesByName = new LinkedHashMap<>();
+	private final RelationIndex aRelationIndex;
+	private final Map<TypeModel, Node> aNodes;
+	private final Map<RelationModel, Edge> aEdges;
+	
+	/**
+	 * If several types have the same name, only the last one is kept, 
+	 * at the position of the first one.
+	 * 
+	 * @param pTypes The types, in the order in which their code should be generated.
+	 * @param pRelations The relations between the types.
+	 * @pre pTypes != null && pRelations != null
+	 */
+	public DiagramModel(List<TypeModel> pTypes, List<RelationModel> pRelations)
+	{
+		this(pTypes, pRelations, new IdentityHashMap<>(), new IdentityHashMap<>());
+	}
+	
+	private DiagramModel(List<TypeModel> pTypes, List<RelationModel> pRelations, 
+			Map<TypeModel, Node> pNodes, Map<RelationModel, Edge> pEdges)
+	{
+		assert pTypes != null && pRelations != null;
+		aNodes = pNodes;
+		aEdges = pEdges;
+		for( TypeModel type : pTypes )
+		{
+			aTypesByName.put(type.name(), type);
+		}
+		aTypes = Collections.unmodifiableList(new ArrayList<>(aTypesByName.values()));
+		aRelations = Collections.unmodifiableList(new ArrayList<>(pRelations));
+		aRelationIndex = new RelationIndex(aRelations);
+	}
+	
+	/**
+	 * Creates the model of the class and interface nodes of pDiagram, and 
+	 * of the edges between them. Nodes without a name are ignored, and 
+	 * of the nodes with the same name, only the last one is kept.
+	 * 
+	 * @param pDiagram The diagram to convert.
+	 * @return The model of pDiagram.
+	 * @pre pDiagram != null
+	 */
+	public static DiagramModel from(Diagram pDiagram)
+	{
+		assert pDiagram != null;
+		List<TypeModel> types = new ArrayList<>();
+		Map<TypeModel, Node> nodes = new IdentityHashMap<>();
+		for( Node node : pDiagram.allNodes() )
+		{
+			if( node instanceof TypeNode && !nameOf(node).isEmpty() )
+			{
+				TypeNode type = (TypeNode) node;
+				TypeModel model = new TypeModel(nameOf(type), type instanceof InterfaceNode, 
+						type.getParsedAttributes(), type.getParsedMethods());
+				types.add(model);
+				nodes.put(model, node);
+			}
+		}
+		List<RelationModel> relations = new ArrayList<>();
+		Map<RelationModel, Edge> edges = new IdentityHashMap<>();
+		for( Edge edge : pDiagram.edges() )
+		{
+			Optional<RelationType> type = relationTypeOf(edge);
+			if( type.isPresent() && !nameOf(edge.getStart()).isEmpty() && !nameOf(edge.getEnd()).isEmpty() )
+			{
+				RelationModel relation = new RelationModel(type.get(), middleLabel(edge), nameOf(edge.getStart()), 
+						nameOf(edge.getEnd()), startLabel(edge), endLabel(edge));
+				relations.add(relation);
+				edges.put(relation, edge);
+			}
+		}
+		return new DiagramModel(types, relations, nodes, edges);
+	}
+	
+	/**
+	 * @return The types of the diagram, in order, each with a different name. Unmodifiable.
+	 */
+	public List<TypeModel> types()
+	{
+		return aTypes;
+	}
+	
+	/**
+	 * @return The relations between the types of the diagram. Unmodifiable.
+	 */
+	public List<RelationModel> relations()
+	{
+		return aRelations;
+	}
+	
+	/**
+	 * @param pName The name of a type.
+	 * @return The type named pName, if it is in the diagram.
+	 * @pre pName != null
+	 */
+	public Optional<TypeModel> type(String pName)
+	{
+		assert pName != null;
+		return Optional.ofNullable(aTypesByName.get(pName));
+	}
+	
+	/**
+	 * @param pName The name of a type.
+	 * @return The node of the type named pName, if this model was 
+	 *     created from a diagram that has such a node.
+	 * @pre pName != null
+	 */
+	public Optional<Node> nodeOf(String pName)
+	{
+		return type(pName).map(aNodes::get);
+	}
+	
+	/**
+	 * @param pRelation A relation of this model.
+	 * @return The edge of pRelation, if this model was created from a diagram.
+	 * @pre pRelation != null
+	 */
+	public Optional<Edge> edgeOf(RelationModel pRelation)
+	{
+		assert pRelation != null;
+		return Optional.ofNullable(aEdges.get(pRelation));
+	}
+	
+	/**
+	 * @param pSource The name of a type.
+	 * @param pFilter The relation types to include.
+	 * @return The relations that start at pSource and whose type satisfies pFilter, in order.
+	 * @pre pSource != null && pFilter != null
+	 */
+	public List<RelationModel> relationsFrom(String pSource, Predicate<RelationType> pFilter)
+	{
+		return aRelationIndex.from(pSource, pFilter);
+	}
+	
+	/**
+	 * @param pTarget The name of a type.
+	 * @param pFilter The relation types to include.
+	 * @return The relations that end at pTarget and whose type satisfies pFilter, in order.
+	 * @pre pTarget != null && pFilter != null
+	 */
+	public List<RelationModel> relationsTo(String pTarget, Predicate<RelationType> pFilter)
+	{
+		return aRelationIndex.to(pTarget, pFilter);
+	}
+	
+	/*
+	 * Returns the trimmed name of pNode if it is a type node, 
+	 * and the empty string otherwise.
+	 */
+	private static String nameOf(Node pNode)
+	{
+		if( pNode instanceof TypeNode )
+		{
+			return ((TypeNode) pNode).getName().trim();
+		}
+		return "";
+	}
+	
+	private static Optional<RelationType> relationTypeOf(Edge pEdge)
+	{
+		if( pEdge instanceof GeneralizationEdge )
+		{
+			return Optional.of(((GeneralizationEdge) pEdge).getType() == GeneralizationEdge.Type.Implementation ?
+					RelationType.IMPLEMENTATION : RelationType.GENERALIZATION);
+		}
+		else if( pEdge instanceof AggregationEdge )
+		{
+			return Optional.of(((AggregationEdge) pEdge).getType() == AggregationEdge.Type.Composition ? 
+					RelationType.COMPOSITION : RelationType.AGGREGATION);
+		}
+		else if( pEdge instanceof AssociationEdge )
+		{
+			return Optional.of(RelationType.ASSOCIATION);
+		}
+		else if( pEdge instanceof DependencyEdge )
+		{
+			return Optional.of(RelationType.DEPENDENCY);
+		}
+		return Optional.empty();
+	}
+	
+	private static String middleLabel(Edge pEdge)
+	{
+		return pEdge instanceof SingleLabelEdge ? ((SingleLabelEdge) pEdge).getMiddleLabel().trim() : "";
+	}
+	
+	private static String startLabel(Edge pEdge)
+	{
+		return pEdge instanceof ThreeLabelEdge ? ((ThreeLabelEdge) pEdge).getStartLabel().trim() : "";
+	}
+	
+	private static String endLabel(Edge pEdge)
+	{
+		return pEdge instanceof ThreeLabelEdge ? ((ThreeLabelEdge) pEdge).getEndLabel().trim() : "";
+	}
+}
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * The relational mapping of the classes of a model when a persistence layer 
+ * is generated. The JPA entities and the SQL script both follow this mapping, 
+ * so that the entities can be used with the generated schema.
+ * 
+ * Each class is an entity. A subclass is stored in its own table whose 
+ * primary key also references the table of its superclass. An aggregation, 
+ * composition or association between two classes is stored in a foreign key 
+ * column: in the table of the source for a relation to a single object, and 
+ * in the table of the target for a relation to many objects.
+ */
+final class EntityMapping
+{
+	static final String KEY_COLUMN = "ID";
+	private static final String FOREIGN_KEY_PREFIX = "id_";
+	
+	private EntityMapping() {}
+	
+	/**
+	 * @param pModel A model.
+	 * @param pName The name of a type.
+	 * @return True if pName is a class of pModel, and so an entity.
+	 * @pre pModel != null && pName != null
+	 */
+	static boolean isEntity(DiagramModel pModel, String pName)
+	{
+		return pModel.type(pName).filter(type -> !type.isInterface()).isPresent();
+	}
+	
+	/**
+	 * @param pModel A model.
+	 * @param pEntity The name of an entity of pModel.
+	 * @return The generalization that joins the table of pEntity to the 
+	 *     table of its superclass, if pEntity has a superclass that is an entity.
+	 * @pre pModel != null && pEntity != null
+	 */
+	static Optional<RelationModel> generalization(DiagramModel pModel, String pEntity)
+	{
+		return pModel.relationsFrom(pEntity, type -> type == RelationType.GENERALIZATION).stream()
+				.findFirst()
+				.filter(relation -> isEntity(pModel, relation.target()));
+	}
+	
+	/**
+	 * @param pModel A model.
+	 * @param pEntity The name of an entity of pModel.
+	 * @return The mapped relations that start at pEntity, in order.
+	 * @pre pModel != null && pEntity != null
+	 */
+	static List<RelationModel> relationsFrom(DiagramModel pModel, String pEntity)
+	{
+		return pModel.relationsFrom(pEntity, EntityMapping::isMapped).stream()
+				.filter(relation -> isEntity(pModel, relation.target()))
+				.collect(Collectors.toList());
+	}
+	
+	/**
+	 * @param pModel A model.
+	 * @param pEntity The name of an entity of pModel.
+	 * @return The mapped relations whose foreign key is in the table of pEntity, in order.
+	 * @pre pModel != null && pEntity != null
+	 */
+	static List<RelationModel> relationsStoredIn(DiagramModel pModel, String pEntity)
+	{
+		List<RelationModel> relations = relationsFrom(pModel, pEntity).stream()
+				.filter(relation -> !relation.isToMany())
+				.collect(Collectors.toList());
+		pModel.relationsTo(pEntity, EntityMapping::isMapped).stream()
+				.filter(RelationModel::isToMany)
+				.filter(relation -> isEntity(pModel, relation.source()))
+				.forEach(relations::add);
+		return relations;
+	}
+	
+	/**
+	 * @param pModel A model.
+	 * @param pRelation A mapped relation of pModel.
+	 * @return True if pRelation is the first relation stored in its column. 
+	 *     The other relations stored in the same column are not mapped.
+	 * @pre pModel != null && pRelation != null
+	 */
+	static boolean ownsColumn(DiagramModel pModel, RelationModel pRelation)
+	{
+		String table = pRelation.isToMany() ? pRelation.target() : pRelation.source();
+		String column = joinColumn(pRelation);
+		return relationsStoredIn(pModel, table).stream()
+				.filter(relation -> joinColumn(relation).equals(column))
+				.findFirst()
+				.filter(relation -> relation == pRelation)
+				.isPresent();
+	}
+	
+	/**
+	 * @param pRelation A mapped relation.
+	 * @return The foreign key column of pRelation.
+	 */
+	static String joinColumn(RelationModel pRelation)
+	{
+		return FOREIGN_KEY_PREFIX + referencedEntity(pRelation);
+	}
+	
+	/**
+	 * @param pRelation A mapped relation.
+	 * @return The entity referenced by the foreign key of pRelation.
+	 */
+	static String referencedEntity(RelationModel pRelation)
+	{
+		return pRelation.isToMany() ? pRelation.source() : pRelation.target();
+	}
+	
+	private static boolean isMapped(RelationType pType)
+	{
+		return pType.isContainment() || pType == RelationType.ASSOCIATION;
+	}
+}
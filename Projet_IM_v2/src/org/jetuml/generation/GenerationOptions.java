@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+import org.jetuml.annotations.Immutable;
+
+/**
+ * The options of the generation of the code of a diagram: the dialect 
+ * of the SQL script, the templates of the Java code, and whether a 
+ * persistence layer is generated. Options are immutable; each with 
+ * method returns a copy with one option changed.
+ */
+@Immutable
+public final class GenerationOptions
+{
+	/**
+	 * The options used when none are specified: the default SQL dialect 
+	 * and the default templates, without persistence layer.
+	 */
+	public static final GenerationOptions DEFAULT = 
+			new GenerationOptions(StandardSqlDialect.DEFAULT, JavaTemplates.defaults(), false);
+	
+	private final SqlDialect aDialect;
+	private final JavaTemplates aTemplates;
+	private final boolean aPersistenceLayer;
+	
+	private GenerationOptions(SqlDialect pDialect, JavaTemplates pTemplates, boolean pPersistenceLayer)
+	{
+		aDialect = pDialect;
+		aTemplates = pTemplates;
+		aPersistenceLayer = pPersistenceLayer;
+	}
+	
+	/**
+	 * @return The dialect of the SQL script.
+	 */
+	public SqlDialect dialect()
+	{
+		return aDialect;
+	}
+	
+	/**
+	 * @return The templates of the Java code.
+	 */
+	public JavaTemplates templates()
+	{
+		return aTemplates;
+	}
+	
+	/**
+	 * @return True if JPA entities and repositories are generated, in which 
+	 *     case the SQL script follows their mapping.
+	 */
+	public boolean persistenceLayer()
+	{
+		return aPersistenceLayer;
+	}
+	
+	/**
+	 * @param pDialect The dialect of the SQL script.
+	 * @return A copy of these options with pDialect.
+	 * @pre pDialect != null
+	 */
+	public GenerationOptions withDialect(SqlDialect pDialect)
+	{
+		assert pDialect != null;
+		return new GenerationOptions(pDialect, aTemplates, aPersistenceLayer);
+	}
+	
+	/**
+	 * @param pTemplates The templates of the Java code.
+	 * @return A copy of these options with pTemplates.
+	 * @pre pTemplates != null
+	 */
+	public GenerationOptions withTemplates(JavaTemplates pTemplates)
+	{
+		assert pTemplates != null;
+		return new GenerationOptions(aDialect, pTemplates, aPersistenceLayer);
+	}
+	
+	/**
+	 * @param pPersistenceLayer True to generate JPA entities and repositories.
+	 * @return A copy of these options with pPersistenceLayer.
+	 */
+	public GenerationOptions withPersistenceLayer(boolean pPersistenceLayer)
+	{
+		return new GenerationOptions(aDialect, aTemplates, pPersistenceLayer);
+	}
+}
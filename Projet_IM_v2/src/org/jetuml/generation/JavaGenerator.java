@@ -0,0 +1,326 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+import static org.jetuml.generation.JavaTemplates.Fragment.CLASS_ATTRIBUTE;
+import static org.jetuml.generation.JavaTemplates.Fragment.CLASS_EXTENDS;
+import static org.jetuml.generation.JavaTemplates.Fragment.CLASS_FOOTER;
+import static org.jetuml.generation.JavaTemplates.Fragment.CLASS_HEADER;
+import static org.jetuml.generation.JavaTemplates.Fragment.CLASS_IMPLEMENTS;
+import static org.jetuml.generation.JavaTemplates.Fragment.CLASS_METHOD;
+import static org.jetuml.generation.JavaTemplates.Fragment.CLASS_METHODS;
+import static org.jetuml.generation.JavaTemplates.Fragment.CLASS_METHOD_FOOTER;
+import static org.jetuml.generation.JavaTemplates.Fragment.CLASS_METHOD_RETURN;
+import static org.jetuml.generation.JavaTemplates.Fragment.CLASS_RELATION;
+import static org.jetuml.generation.JavaTemplates.Fragment.CONSTRUCTOR_ASSIGNMENT;
+import static org.jetuml.generation.JavaTemplates.Fragment.CONSTRUCTOR_FOOTER;
+import static org.jetuml.generation.JavaTemplates.Fragment.CONSTRUCTOR_HEADER;
+import static org.jetuml.generation.JavaTemplates.Fragment.CONSTRUCTOR_SUPER;
+import static org.jetuml.generation.JavaTemplates.Fragment.INTERFACE_EXTENDS;
+import static org.jetuml.generation.JavaTemplates.Fragment.INTERFACE_FOOTER;
+import static org.jetuml.generation.JavaTemplates.Fragment.INTERFACE_HEADER;
+import static org.jetuml.generation.JavaTemplates.Fragment.INTERFACE_METHOD;
+import static org.jetuml.generation.JavaTemplates.Fragment.UNIT_HEADER;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.jetuml.diagram.nodes.Attribute;
+import org.jetuml.diagram.nodes.Method;
+import org.jetuml.generation.JavaTemplates.Fragment;
+
+/**
+ * Generates the Java compilation unit of a type of a diagram model.
+ * Classes get a field for each attribute and for each aggregation or 
+ * composition, and a constructor that initializes them. Methods are 
+ * generated with an empty body. The code is rendered from the compiled 
+ * fragments of a JavaTemplates into a buffer that each thread reuses 
+ * from one compilation unit to the next.
+ */
+final class JavaGenerator
+{
+	private static final String DEFAULT_TYPE = "Object";
+	private static final int INITIAL_CAPACITY = 4096;
+	private static final ThreadLocal<StringBuilder> BUFFER = 
+			ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_CAPACITY));
+	
+	private final DiagramModel aModel;
+	private final JavaTemplates aTemplates;
+	private final StringBuilder aCode;
+	
+	private JavaGenerator(DiagramModel pModel, JavaTemplates pTemplates, StringBuilder pCode)
+	{
+		aModel = pModel;
+		aTemplates = pTemplates;
+		aCode = pCode;
+	}
+	
+	/**
+	 * Generates a type with the default templates.
+	 * 
+	 * @param pModel The model that contains pType.
+	 * @param pType The type to generate.
+	 * @param pPackage The package of the generated type.
+	 * @return The source code of pType.
+	 * @pre pModel != null && pType != null && pPackage != null
+	 */
+	static String generate(DiagramModel pModel, TypeModel pType, String pPackage)
+	{
+		return generate(pModel, pType, pPackage, JavaTemplates.defaults());
+	}
+	
+	/**
+	 * @param pModel The model that contains pType.
+	 * @param pType The type to generate.
+	 * @param pPackage The package of the generated type.
+	 * @param pTemplates The templates of the generated code.
+	 * @return The source code of pType.
+	 * @pre pModel != null && pType != null && pPackage != null && pTemplates != null
+	 */
+	static String generate(DiagramModel pModel, TypeModel pType, String pPackage, JavaTemplates pTemplates)
+	{
+		assert pModel != null && pType != null && pPackage != null && pTemplates != null;
+		StringBuilder code = BUFFER.get();
+		code.setLength(0);
+		JavaGenerator generator = new JavaGenerator(pModel, pTemplates, code);
+		generator.render(UNIT_HEADER, pPackage);
+		if( pType.isInterface() )
+		{
+			generator.generateInterface(pType);
+		}
+		else
+		{
+			generator.generateClass(pType);
+		}
+		return code.toString();
+	}
+	
+	private void render(Fragment pFragment, CharSequence... pValues)
+	{
+		aTemplates.get(pFragment).render(aCode, pValues);
+	}
+	
+	/*
+	 * Renders pFragment into a string, or returns an empty string if pList is empty.
+	 */
+	private String optional(Fragment pFragment, List<String> pList)
+	{
+		if( pList.isEmpty() )
+		{
+			return "";
+		}
+		StringBuilder text = new StringBuilder();
+		aTemplates.get(pFragment).render(text, String.join(", ", pList));
+		return text.toString();
+	}
+	
+	private void generateInterface(TypeModel pType)
+	{
+		render(INTERFACE_HEADER, pType.name(), 
+				optional(INTERFACE_EXTENDS, targets(aModel, pType, RelationType.GENERALIZATION)));
+		for( Method method : pType.methods() )
+		{
+			render(INTERFACE_METHOD, method.returnType(), method.name(), parameterList(method));
+		}
+		render(INTERFACE_FOOTER);
+	}
+	
+	private void generateClass(TypeModel pType)
+	{
+		Optional<TypeModel> superClass = superClass(aModel, pType);
+		List<String> superClassName = new ArrayList<>();
+		superClass.ifPresent(type -> superClassName.add(type.name()));
+		render(CLASS_HEADER, pType.name(), optional(CLASS_EXTENDS, superClassName), 
+				optional(CLASS_IMPLEMENTS, targets(aModel, pType, RelationType.IMPLEMENTATION)));
+		
+		List<RelationModel> containments = containments(aModel, pType);
+		for( RelationModel relation : containments )
+		{
+			render(CLASS_RELATION, fieldType(relation), fieldName(relation));
+		}
+		for( Attribute attribute : pType.attributes() )
+		{
+			render(CLASS_ATTRIBUTE, attribute.visibility().keyword(), typeOf(attribute), attribute.name());
+		}
+		generateConstructor(pType, superClass, containments);
+		
+		render(CLASS_METHODS);
+		for( Method method : pType.methods() )
+		{
+			render(CLASS_METHOD, method.visibility().keyword(), method.returnType(), method.name(), 
+					parameterList(method));
+			defaultValue(method.returnType()).ifPresent(value -> render(CLASS_METHOD_RETURN, value));
+			render(CLASS_METHOD_FOOTER);
+		}
+		render(CLASS_FOOTER);
+	}
+	
+	/*
+	 * The constructor takes the attributes of the class, the attributes and 
+	 * aggregated objects of its superclass, and its own aggregated objects. Composed 
+	 * objects are created by the constructor.
+	 */
+	private void generateConstructor(TypeModel pType, Optional<TypeModel> pSuperClass, 
+			List<RelationModel> pContainments)
+	{
+		Set<String> parameterNames = new LinkedHashSet<>();
+		List<String> parameters = new ArrayList<>();
+		for( Attribute attribute : pType.attributes() )
+		{
+			addParameter(typeOf(attribute), attribute.name(), parameters, parameterNames);
+		}
+		List<String> superArguments = new ArrayList<>();
+		if( pSuperClass.isPresent() )
+		{
+			for( Attribute attribute : pSuperClass.get().attributes() )
+			{
+				addParameter(typeOf(attribute), attribute.name(), parameters, parameterNames);
+				superArguments.add(attribute.name());
+			}
+			for( RelationModel relation : containments(aModel, pSuperClass.get()) )
+			{
+				if( relation.type() == RelationType.AGGREGATION )
+				{
+					addParameter(fieldType(relation), fieldName(relation), parameters, parameterNames);
+					superArguments.add(fieldName(relation));
+				}
+			}
+		}
+		for( RelationModel relation : pContainments )
+		{
+			if( relation.type() == RelationType.AGGREGATION )
+			{
+				addParameter(fieldType(relation), fieldName(relation), parameters, parameterNames);
+			}
+		}
+		
+		render(CONSTRUCTOR_HEADER, pType.name(), String.join(", ", parameters));
+		if( pSuperClass.isPresent() )
+		{
+			render(CONSTRUCTOR_SUPER, String.join(", ", superArguments));
+		}
+		for( Attribute attribute : pType.attributes() )
+		{
+			render(CONSTRUCTOR_ASSIGNMENT, attribute.name(), attribute.name());
+		}
+		for( RelationModel relation : pContainments )
+		{
+			if( relation.type() == RelationType.AGGREGATION )
+			{
+				render(CONSTRUCTOR_ASSIGNMENT, fieldName(relation), fieldName(relation));
+			}
+		}
+		for( RelationModel relation : pContainments )
+		{
+			if( relation.type() == RelationType.COMPOSITION )
+			{
+				String creation = relation.isToMany() ? "new ArrayList<" + relation.target() + ">()" : 
+					"new " + relation.target() + "()";
+				render(CONSTRUCTOR_ASSIGNMENT, fieldName(relation), creation);
+			}
+		}
+		render(CONSTRUCTOR_FOOTER);
+	}
+	
+	/*
+	 * Adds a parameter unless a parameter with the same name already exists, 
+	 * in which case the existing parameter is reused.
+	 */
+	private static void addParameter(String pType, String pName, List<String> pParameters, Set<String> pNames)
+	{
+		if( pNames.add(pName) )
+		{
+			pParameters.add(pType + " " + pName);
+		}
+	}
+	
+	private static Optional<TypeModel> superClass(DiagramModel pModel, TypeModel pType)
+	{
+		return pModel.relationsFrom(pType.name(), type -> type == RelationType.GENERALIZATION).stream()
+				.findFirst()
+				.flatMap(relation -> pModel.type(relation.target()));
+	}
+	
+	private static List<String> targets(DiagramModel pModel, TypeModel pType, RelationType pRelationType)
+	{
+		return pModel.relationsFrom(pType.name(), type -> type == pRelationType).stream()
+				.map(RelationModel::target)
+				.distinct()
+				.collect(Collectors.toList());
+	}
+	
+	private static List<RelationModel> containments(DiagramModel pModel, TypeModel pType)
+	{
+		return pModel.relationsFrom(pType.name(), RelationType::isContainment);
+	}
+	
+	private static String fieldType(RelationModel pRelation)
+	{
+		return pRelation.isToMany() ? "List<" + pRelation.target() + ">" : pRelation.target();
+	}
+	
+	private static String fieldName(RelationModel pRelation)
+	{
+		return pRelation.target().toLowerCase();
+	}
+	
+	private static String typeOf(Attribute pAttribute)
+	{
+		return pAttribute.type().isEmpty() ? DEFAULT_TYPE : pAttribute.type();
+	}
+	
+	private static String parameterList(Method pMethod)
+	{
+		return pMethod.parameters().stream()
+				.map(parameter -> parameter.type() + " " + parameter.name())
+				.collect(Collectors.joining(", "));
+	}
+	
+	/*
+	 * The value returned by the generated body of a method with return type pType, 
+	 * or empty for void methods.
+	 */
+	private static Optional<String> defaultValue(String pType)
+	{
+		switch( pType )
+		{
+		case "void":
+			return Optional.empty();
+		case "boolean":
+			return Optional.of("false");
+		case "char":
+			return Optional.of("'\\0'");
+		case "byte":
+		case "short":
+		case "int":
+		case "long":
+		case "float":
+		case "double":
+			return Optional.of("0");
+		default:
+			return Optional.of("null");
+		}
+	}
+}
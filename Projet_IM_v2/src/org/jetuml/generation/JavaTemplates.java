@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.jetuml.annotations.Immutable;
+
+/**
+ * The templates of the fragments of the generated Java code. The default 
+ * templates are read from JavaTemplates.properties. Any of them can be 
+ * replaced by the templates of a properties file with the same keys, for 
+ * example to annotate the generated classes. The templates are compiled 
+ * once, when they are loaded.
+ */
+@Immutable
+public final class JavaTemplates
+{
+	private static final String DEFAULT_TEMPLATES = "JavaTemplates.properties";
+	private static final JavaTemplates DEFAULT = new JavaTemplates(readDefaults());
+	
+	/**
+	 * The fragments of a compilation unit, with the parameters of their templates.
+	 */
+	enum Fragment
+	{
+		UNIT_HEADER("unit.header", "package"),
+		INTERFACE_HEADER("interface.header", "name", "extends"),
+		INTERFACE_EXTENDS("interface.extends", "types"),
+		INTERFACE_METHOD("interface.method", "returnType", "name", "parameters"),
+		INTERFACE_FOOTER("interface.footer"),
+		CLASS_HEADER("class.header", "name", "extends", "implements"),
+		CLASS_EXTENDS("class.extends", "type"),
+		CLASS_IMPLEMENTS("class.implements", "types"),
+		CLASS_RELATION("class.relation", "type", "name"),
+		CLASS_ATTRIBUTE("class.attribute", "visibility", "type", "name"),
+		CLASS_METHODS("class.methods"),
+		CLASS_METHOD("class.method", "visibility", "returnType", "name", "parameters"),
+		CLASS_METHOD_RETURN("class.method.return", "value"),
+		CLASS_METHOD_FOOTER("class.method.footer"),
+		CLASS_FOOTER("class.footer"),
+		CONSTRUCTOR_HEADER("constructor.header", "name", "parameters"),
+		CONSTRUCTOR_SUPER("constructor.super", "arguments"),
+		CONSTRUCTOR_ASSIGNMENT("constructor.assignment", "name", "value"),
+		CONSTRUCTOR_FOOTER("constructor.footer");
+		
+		private final String aKey;
+		private final List<String> aParameters;
+		
+		Fragment(String pKey, String... pParameters)
+		{
+			aKey = pKey;
+			aParameters = Collections.unmodifiableList(Arrays.asList(pParameters));
+		}
+	}
+	
+	private final Map<Fragment, CodeTemplate> aTemplates = new EnumMap<>(Fragment.class);
+	
+	private JavaTemplates(Properties pTemplates)
+	{
+		for( Fragment fragment : Fragment.values() )
+		{
+			String text = pTemplates.getProperty(fragment.aKey);
+			if( text == null )
+			{
+				throw new IllegalArgumentException("Missing template " + fragment.aKey);
+			}
+			aTemplates.put(fragment, CodeTemplate.compile(text, fragment.aParameters));
+		}
+	}
+	
+	/**
+	 * @return The default templates.
+	 */
+	public static JavaTemplates defaults()
+	{
+		return DEFAULT;
+	}
+	
+	/**
+	 * Reads templates from a properties file. The fragments that the file 
+	 * does not define use the default templates.
+	 * 
+	 * @param pFile A properties file, in UTF-8.
+	 * @return The templates of pFile, compiled.
+	 * @throws IOException If pFile cannot be read.
+	 * @throws IllegalArgumentException If a template of pFile refers to an unknown parameter.
+	 * @pre pFile != null
+	 */
+	public static JavaTemplates load(Path pFile) throws IOException
+	{
+		assert pFile != null;
+		Properties templates = readDefaults();
+		try( Reader reader = Files.newBufferedReader(pFile, StandardCharsets.UTF_8) )
+		{
+			templates.load(reader);
+		}
+		return new JavaTemplates(templates);
+	}
+	
+	/**
+	 * @param pFragment A fragment of code.
+	 * @return The compiled template of pFragment.
+	 */
+	CodeTemplate get(Fragment pFragment)
+	{
+		return aTemplates.get(pFragment);
+	}
+	
+	private static Properties readDefaults()
+	{
+		Properties templates = new Properties();
+		try( InputStream input = JavaTemplates.class.getResourceAsStream(DEFAULT_TEMPLATES) )
+		{
+			templates.load(input);
+		}
+		catch( IOException exception )
+		{
+			throw new UncheckedIOException(exception);
+		}
+		return templates;
+	}
+}
@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.jetuml.diagram.nodes.Attribute;
+
+/**
+ * Generates the JPA entity and the Spring Data repository of a class 
+ * of a diagram model, following the EntityMapping of the model.
+ * 
+ * All the relations are fetched lazily, so loading an entity never loads 
+ * a graph of objects. To avoid a query per entity when the relations of 
+ * several entities are navigated, the entities and their collections are 
+ * loaded in batches, and the repository has a query that fetches the 
+ * references of the entities together with them. Collections are not 
+ * part of that query because fetching several of them at once multiplies 
+ * the rows of the result. The identifiers are assigned by the application, 
+ * since the generated schema has no sequence.
+ */
+final class JpaGenerator
+{
+	static final String ENTITY_PACKAGE = "persistence";
+	static final String REPOSITORY_SUFFIX = "Repository";
+	private static final int BATCH_SIZE = 25;
+	private static final String DEFAULT_TYPE = "Object";
+	
+	private JpaGenerator() {}
+	
+	/**
+	 * @param pModel The model that contains pType.
+	 * @param pType A class of pModel.
+	 * @param pPackage The package of the generated entity.
+	 * @return The source code of the entity of pType.
+	 * @pre pModel != null && pType != null && pPackage != null
+	 * @pre !pType.isInterface()
+	 */
+	static String generateEntity(DiagramModel pModel, TypeModel pType, String pPackage)
+	{
+		assert pModel != null && pType != null && pPackage != null && !pType.isInterface();
+		String name = pType.name();
+		Optional<RelationModel> generalization = EntityMapping.generalization(pModel, name);
+		Set<String> columns = new HashSet<>();
+		columns.add(EntityMapping.KEY_COLUMN.toLowerCase(Locale.ROOT));
+		EntityMapping.relationsStoredIn(pModel, name).forEach(relation -> 
+				columns.add(EntityMapping.joinColumn(relation).toLowerCase(Locale.ROOT)));
+		List<Attribute> attributes = pType.attributes().stream()
+				.filter(attribute -> columns.add(attribute.name().toLowerCase(Locale.ROOT)))
+				.collect(Collectors.toList());
+		Set<String> fields = attributes.stream().map(Attribute::name).collect(Collectors.toSet());
+		fields.add("id");
+		List<RelationModel> relations = mappedRelations(pModel, name).stream()
+				.filter(relation -> fields.add(fieldName(relation)))
+				.collect(Collectors.toList());
+		
+		StringBuilder code = new StringBuilder();
+		code.append("package ").append(pPackage).append(";\n\n");
+		code.append("import java.util.*;\n\n");
+		code.append("import jakarta.persistence.*;\n");
+		code.append("import org.hibernate.annotations.BatchSize;\n\n");
+		code.append("@Entity\n");
+		code.append("@Table(name = \"").append(name).append("\")\n");
+		code.append("@BatchSize(size = ").append(BATCH_SIZE).append(")\n");
+		if( generalization.isPresent() )
+		{
+			code.append("@PrimaryKeyJoinColumn(name = \"").append(EntityMapping.KEY_COLUMN).append("\")\n");
+		}
+		else if( hasSubEntities(pModel, name) )
+		{
+			code.append("@Inheritance(strategy = InheritanceType.JOINED)\n");
+		}
+		code.append("public class ").append(name);
+		generalization.ifPresent(relation -> code.append(" extends ").append(relation.target()));
+		code.append(" {\n");
+		
+		if( !generalization.isPresent() )
+		{
+			code.append("\n\t@Id\n\t@Column(name = \"").append(EntityMapping.KEY_COLUMN)
+				.append("\")\n\tprivate Long id;\n");
+		}
+		for( Attribute attribute : attributes )
+		{
+			code.append("\n\t@Column(name = \"").append(attribute.name()).append("\")\n\tprivate ")
+				.append(typeOf(attribute)).append(' ').append(attribute.name()).append(";\n");
+		}
+		for( RelationModel relation : relations )
+		{
+			code.append('\n');
+			appendMapping(relation, code);
+			code.append("\tprivate ").append(fieldType(relation)).append(' ').append(fieldName(relation));
+			if( relation.isToMany() )
+			{
+				code.append(" = new ArrayList<>()");
+			}
+			code.append(";\n");
+		}
+		
+		code.append("\n\tprotected ").append(name).append("() {}\n");
+		if( !generalization.isPresent() )
+		{
+			appendAccessors("Long", "id", code);
+		}
+		for( Attribute attribute : attributes )
+		{
+			appendAccessors(typeOf(attribute), attribute.name(), code);
+		}
+		for( RelationModel relation : relations )
+		{
+			appendAccessors(fieldType(relation), fieldName(relation), code);
+		}
+		code.append("}\n");
+		return code.toString();
+	}
+	
+	/**
+	 * @param pModel The model that contains pType.
+	 * @param pType A class of pModel.
+	 * @param pPackage The package of the generated repository.
+	 * @return The source code of the repository of the entity of pType.
+	 * @pre pModel != null && pType != null && pPackage != null
+	 * @pre !pType.isInterface()
+	 */
+	static String generateRepository(DiagramModel pModel, TypeModel pType, String pPackage)
+	{
+		assert pModel != null && pType != null && pPackage != null && !pType.isInterface();
+		String name = pType.name();
+		List<String> references = mappedRelations(pModel, name).stream()
+				.filter(relation -> !relation.isToMany())
+				.map(relation -> "\"" + fieldName(relation) + "\"")
+				.distinct()
+				.collect(Collectors.toList());
+		
+		StringBuilder code = new StringBuilder();
+		code.append("package ").append(pPackage).append(";\n\n");
+		if( !references.isEmpty() )
+		{
+			code.append("import java.util.List;\n\n");
+			code.append("import org.springframework.data.jpa.repository.EntityGraph;\n");
+		}
+		code.append("import org.springframework.data.jpa.repository.JpaRepository;\n\n");
+		code.append("public interface ").append(name).append(REPOSITORY_SUFFIX)
+			.append(" extends JpaRepository<").append(name).append(", Long> {\n");
+		if( !references.isEmpty() )
+		{
+			code.append("\n\t@EntityGraph(attributePaths = {").append(String.join(", ", references)).append("})\n");
+			code.append("\tList<").append(name).append("> findAllWithReferencesBy();\n");
+		}
+		code.append("}\n");
+		return code.toString();
+	}
+	
+	/*
+	 * The relations of pEntity that get a field: those whose column is 
+	 * not already used by another relation.
+	 */
+	private static List<RelationModel> mappedRelations(DiagramModel pModel, String pEntity)
+	{
+		return EntityMapping.relationsFrom(pModel, pEntity).stream()
+				.filter(relation -> EntityMapping.ownsColumn(pModel, relation))
+				.collect(Collectors.toList());
+	}
+	
+	private static boolean hasSubEntities(DiagramModel pModel, String pEntity)
+	{
+		return pModel.relationsTo(pEntity, type -> type == RelationType.GENERALIZATION).stream()
+				.anyMatch(relation -> EntityMapping.generalization(pModel, relation.source())
+						.filter(generalization -> generalization == relation).isPresent());
+	}
+	
+	/*
+	 * A relation to many objects is a one-to-many whose foreign key is in the 
+	 * table of the target. A relation to a single object is many-to-one, except 
+	 * for compositions where each part has a single owner.
+	 */
+	private static void appendMapping(RelationModel pRelation, StringBuilder pCode)
+	{
+		boolean composition = pRelation.type() == RelationType.COMPOSITION;
+		String annotation = pRelation.isToMany() ? "OneToMany" : composition ? "OneToOne" : "ManyToOne";
+		pCode.append("\t@").append(annotation).append("(fetch = FetchType.LAZY");
+		if( composition )
+		{
+			pCode.append(", cascade = CascadeType.ALL, orphanRemoval = true");
+		}
+		pCode.append(")\n");
+		pCode.append("\t@JoinColumn(name = \"").append(EntityMapping.joinColumn(pRelation)).append("\")\n");
+		if( pRelation.isToMany() )
+		{
+			pCode.append("\t@BatchSize(size = ").append(BATCH_SIZE).append(")\n");
+		}
+	}
+	
+	private static void appendAccessors(String pType, String pName, StringBuilder pCode)
+	{
+		String property = Character.toUpperCase(pName.charAt(0)) + pName.substring(1);
+		pCode.append("\n\tpublic ").append(pType).append(" get").append(property).append("() {\n")
+			.append("\t\treturn ").append(pName).append(";\n\t}\n");
+		pCode.append("\n\tpublic void set").append(property).append('(').append(pType).append(' ').append(pName)
+			.append(") {\n\t\tthis.").append(pName).append(" = ").append(pName).append(";\n\t}\n");
+	}
+	
+	private static String fieldType(RelationModel pRelation)
+	{
+		return pRelation.isToMany() ? "List<" + pRelation.target() + ">" : pRelation.target();
+	}
+	
+	/*
+	 * The name of the target with its first character in lower case, 
+	 * so that a relation to OrderLine is held in the field orderLine.
+	 */
+	private static String fieldName(RelationModel pRelation)
+	{
+		String target = pRelation.target();
+		return target.substring(0, 1).toLowerCase(Locale.ROOT) + target.substring(1);
+	}
+	
+	private static String typeOf(Attribute pAttribute)
+	{
+		return pAttribute.type().isEmpty() ? DEFAULT_TYPE : pAttribute.type();
+	}
+}
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+/**
+ * Receives the progress of a code generation run. The generation 
+ * of the files of a diagram is spread over several threads, so 
+ * implementations must be thread-safe and must not block.
+ */
+@FunctionalInterface
+public interface ProgressListener
+{
+	/**
+	 * Called once after the files of each type of the diagram are generated, 
+	 * which include its entity and repository when a persistence layer is 
+	 * generated, and once after the SQL script is written.
+	 * 
+	 * @param pCompleted The number of steps completed so far.
+	 * @param pTotal The total number of steps, that is, the number of types plus one.
+	 */
+	void progressed(int pCompleted, int pTotal);
+}
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Indexes the relations of a diagram model by the name of their 
+ * source and target types. The index is built once per model, so that 
+ * looking up the relations of a type takes time proportional to the 
+ * number of relations of that type rather than to the size of the diagram.
+ */
+final class RelationIndex
+{
+	private final Map<String, List<RelationModel>> aBySource = new HashMap<>();
+	private final Map<String, List<RelationModel>> aByTarget = new HashMap<>();
+	
+	/**
+	 * @param pRelations The relations to index, in order.
+	 * @pre pRelations != null
+	 */
+	RelationIndex(List<RelationModel> pRelations)
+	{
+		assert pRelations != null;
+		for( RelationModel relation : pRelations )
+		{
+			aBySource.computeIfAbsent(relation.source(), key -> new ArrayList<>()).add(relation);
+			aByTarget.computeIfAbsent(relation.target(), key -> new ArrayList<>()).add(relation);
+		}
+	}
+	
+	/**
+	 * @param pSource The name of a type.
+	 * @param pFilter The relation types to include.
+	 * @return The relations that start at pSource and whose type satisfies pFilter, in order.
+	 * @pre pSource != null && pFilter != null
+	 */
+	List<RelationModel> from(String pSource, Predicate<RelationType> pFilter)
+	{
+		assert pSource != null && pFilter != null;
+		return select(aBySource, pSource, pFilter);
+	}
+	
+	/**
+	 * @param pTarget The name of a type.
+	 * @param pFilter The relation types to include.
+	 * @return The relations that end at pTarget and whose type satisfies pFilter, in order.
+	 * @pre pTarget != null && pFilter != null
+	 */
+	List<RelationModel> to(String pTarget, Predicate<RelationType> pFilter)
+	{
+		assert pTarget != null && pFilter != null;
+		return select(aByTarget, pTarget, pFilter);
+	}
+	
+	private static List<RelationModel> select(Map<String, List<RelationModel>> pIndex, String pKey, 
+			Predicate<RelationType> pFilter)
+	{
+		return pIndex.getOrDefault(pKey, Collections.emptyList()).stream()
+				.filter(relation -> pFilter.test(relation.type()))
+				.collect(Collectors.toList());
+	}
+}
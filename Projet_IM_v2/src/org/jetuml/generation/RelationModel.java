@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+import org.jetuml.annotations.Immutable;
+
+/**
+ * A directed relation between two types, from the start to the 
+ * end of an edge of the diagram.
+ */
+@Immutable
+public final class RelationModel
+{
+	private final RelationType aType;
+	private final String aName;
+	private final String aSource;
+	private final String aTarget;
+	private final String aSourceMultiplicity;
+	private final String aTargetMultiplicity;
+	
+	/**
+	 * @param pType The type of relation.
+	 * @param pName The label of the relation, possibly empty.
+	 * @param pSource The name of the source type.
+	 * @param pTarget The name of the target type.
+	 * @param pSourceMultiplicity The multiplicity at the source end, possibly empty.
+	 * @param pTargetMultiplicity The multiplicity at the target end, possibly empty.
+	 * @pre No argument is null.
+	 */
+	public RelationModel(RelationType pType, String pName, String pSource, String pTarget, 
+			String pSourceMultiplicity, String pTargetMultiplicity)
+	{
+		assert pType != null && pName != null && pSource != null && pTarget != null;
+		assert pSourceMultiplicity != null && pTargetMultiplicity != null;
+		aType = pType;
+		aName = pName;
+		aSource = pSource;
+		aTarget = pTarget;
+		aSourceMultiplicity = pSourceMultiplicity;
+		aTargetMultiplicity = pTargetMultiplicity;
+	}
+	
+	/**
+	 * @return The type of relation.
+	 */
+	public RelationType type()
+	{
+		return aType;
+	}
+	
+	/**
+	 * @return The label of the relation, possibly empty.
+	 */
+	public String name()
+	{
+		return aName;
+	}
+	
+	/**
+	 * @return The name of the source type.
+	 */
+	public String source()
+	{
+		return aSource;
+	}
+	
+	/**
+	 * @return The name of the target type.
+	 */
+	public String target()
+	{
+		return aTarget;
+	}
+	
+	/**
+	 * @return The multiplicity at the source end, possibly empty.
+	 */
+	public String sourceMultiplicity()
+	{
+		return aSourceMultiplicity;
+	}
+	
+	/**
+	 * @return The multiplicity at the target end, possibly empty.
+	 */
+	public String targetMultiplicity()
+	{
+		return aTargetMultiplicity;
+	}
+	
+	/**
+	 * @return True if the source can refer to many objects of the target.
+	 */
+	public boolean isToMany()
+	{
+		return aTargetMultiplicity.trim().endsWith("*");
+	}
+}
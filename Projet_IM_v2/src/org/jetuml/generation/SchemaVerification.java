@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.jetuml.annotations.Immutable;
+import org.jetuml.diagram.DiagramElement;
+
+/**
+ * The result of loading a generated schema in a database: the statements
+ * that failed, each with the element of the diagram it originates from, 
+ * and the time it took to load the schema.
+ */
+@Immutable
+public final class SchemaVerification
+{
+	private final int aStatementCount;
+	private final List<Failure> aFailures;
+	private final long aLoadTimeNanos;
+	
+	SchemaVerification(int pStatementCount, List<Failure> pFailures, long pLoadTimeNanos)
+	{
+		aStatementCount = pStatementCount;
+		aFailures = Collections.unmodifiableList(new ArrayList<>(pFailures));
+		aLoadTimeNanos = pLoadTimeNanos;
+	}
+	
+	/**
+	 * @return True if all the statements executed.
+	 */
+	public boolean succeeded()
+	{
+		return aFailures.isEmpty();
+	}
+	
+	/**
+	 * @return The number of statements in the schema.
+	 */
+	public int statementCount()
+	{
+		return aStatementCount;
+	}
+	
+	/**
+	 * @return The statements that failed, in order. Unmodifiable.
+	 */
+	public List<Failure> failures()
+	{
+		return aFailures;
+	}
+	
+	/**
+	 * @return The time to execute the schema and commit, in milliseconds.
+	 */
+	public double loadTimeMillis()
+	{
+		return aLoadTimeNanos / 1_000_000.0;
+	}
+	
+	/**
+	 * A statement that the database rejected.
+	 */
+	@Immutable
+	public static final class Failure
+	{
+		private final SqlStatement aStatement;
+		private final String aMessage;
+		private final Optional<DiagramElement> aElement;
+		
+		Failure(SqlStatement pStatement, String pMessage, Optional<DiagramElement> pElement)
+		{
+			aStatement = pStatement;
+			aMessage = pMessage;
+			aElement = pElement;
+		}
+		
+		/**
+		 * @return The statement that failed.
+		 */
+		public SqlStatement statement()
+		{
+			return aStatement;
+		}
+		
+		/**
+		 * @return The error reported by the database.
+		 */
+		public String message()
+		{
+			return aMessage;
+		}
+		
+		/**
+		 * @return The node or edge that the statement originates from, 
+		 *     if the model was created from a diagram.
+		 */
+		public Optional<DiagramElement> element()
+		{
+			return aElement;
+		}
+		
+		/**
+		 * @return The type or relation that the statement originates from,
+		 *     for example "Student" or "COMPOSITION Student -> Course".
+		 */
+		public String origin()
+		{
+			return aStatement.relation()
+					.map(relation -> relation.type() + " " + relation.source() + " -> " + relation.target())
+					.orElse(aStatement.table());
+		}
+		
+		@Override
+		public String toString()
+		{
+			return origin() + ": " + aMessage;
+		}
+	}
+}
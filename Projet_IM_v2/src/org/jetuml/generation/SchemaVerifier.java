@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.jetuml.diagram.DiagramElement;
+
+/**
+ * Checks that the schema generated for a diagram model executes, by 
+ * loading it into a database through JDBC. The database is typically 
+ * an in-process embedded database such as H2 or Derby, whose driver 
+ * must be on the class path.
+ * 
+ * All the statements are executed in a single transaction, each after a 
+ * savepoint. When a statement fails, the transaction is rolled back to its 
+ * savepoint and the load resumes with the next statement, so that a single 
+ * run reports all the problems of the schema. The transaction is rolled back 
+ * at the end, so that the verification leaves no trace on databases whose 
+ * DDL statements are transactional, such as PostgreSQL and SQLite. Databases 
+ * such as H2 and Oracle commit each DDL statement, so the verification should 
+ * use a scratch database, such as an in-memory one.
+ */
+public final class SchemaVerifier
+{
+	private SchemaVerifier() {}
+	
+	/**
+	 * Loads the schema of pModel in the database at pJdbcUrl.
+	 * 
+	 * @param pModel The model whose schema is verified.
+	 * @param pDialect The dialect of the database.
+	 * @param pJdbcUrl The JDBC URL of the database, for example "jdbc:h2:mem:".
+	 * @return The failures and load time of the schema.
+	 * @throws SQLException If the database cannot be used.
+	 * @pre pModel != null && pDialect != null && pJdbcUrl != null
+	 */
+	public static SchemaVerification verify(DiagramModel pModel, SqlDialect pDialect, String pJdbcUrl) throws SQLException
+	{
+		return verify(pModel, GenerationOptions.DEFAULT.withDialect(pDialect), pJdbcUrl);
+	}
+	
+	/**
+	 * Loads the schema of pModel, as generated with pOptions, in the database at pJdbcUrl.
+	 * 
+	 * @param pModel The model whose schema is verified.
+	 * @param pOptions The options the schema is generated with, including the dialect of the database.
+	 * @param pJdbcUrl The JDBC URL of the database, for example "jdbc:h2:mem:".
+	 * @return The failures and load time of the schema.
+	 * @throws SQLException If the database cannot be used.
+	 * @pre pModel != null && pOptions != null && pJdbcUrl != null
+	 */
+	public static SchemaVerification verify(DiagramModel pModel, GenerationOptions pOptions, String pJdbcUrl) 
+			throws SQLException
+	{
+		assert pModel != null && pOptions != null && pJdbcUrl != null;
+		List<SqlStatement> statements = new ArrayList<>();
+		try
+		{
+			SqlGenerator.generate(pModel, pOptions, statements::add);
+		}
+		catch( IOException exception )
+		{
+			throw new UncheckedIOException(exception); // Cannot happen when collecting statements
+		}
+		try( Connection connection = DriverManager.getConnection(pJdbcUrl) )
+		{
+			connection.setAutoCommit(false);
+			List<SchemaVerification.Failure> failures = new ArrayList<>();
+			long start = System.nanoTime();
+			try( Statement executor = connection.createStatement() )
+			{
+				for( SqlStatement statement : statements )
+				{
+					execute(connection, executor, statement).ifPresent(cause -> 
+							failures.add(failure(pModel, statement, cause)));
+				}
+			}
+			finally
+			{
+				connection.rollback();
+			}
+			return new SchemaVerification(statements.size(), failures, System.nanoTime() - start);
+		}
+	}
+	
+	/*
+	 * Executes pStatement after a savepoint and rolls back to the savepoint if 
+	 * the statement fails, so that the failure does not abort the transaction 
+	 * on databases such as PostgreSQL. Databases that commit each DDL statement, 
+	 * such as H2, can release the savepoint along with the failed statement, so 
+	 * a failed rollback is not an error. Returns the failure of the statement, 
+	 * if any.
+	 */
+	private static Optional<SQLException> execute(Connection pConnection, Statement pExecutor, SqlStatement pStatement) 
+			throws SQLException
+	{
+		Savepoint savepoint = pConnection.setSavepoint();
+		try
+		{
+			pExecutor.execute(pStatement.text());
+		}
+		catch( SQLException exception )
+		{
+			try
+			{
+				pConnection.rollback(savepoint);
+			}
+			catch( SQLException rollbackException )
+			{
+				exception.addSuppressed(rollbackException);
+			}
+			return Optional.of(exception);
+		}
+		pConnection.releaseSavepoint(savepoint);
+		return Optional.empty();
+	}
+	
+	private static SchemaVerification.Failure failure(DiagramModel pModel, SqlStatement pStatement, SQLException pCause)
+	{
+		Optional<DiagramElement> element = pStatement.relation().isPresent() ? 
+				pModel.edgeOf(pStatement.relation().get()).map(DiagramElement.class::cast) :
+				pModel.nodeOf(pStatement.table()).map(DiagramElement.class::cast);
+		return new SchemaVerification.Failure(pStatement, pCause.getMessage(), element);
+	}
+}
@@ -0,0 +1,281 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates Java source files and an SQL script from the model of 
+ * a class diagram. This class does not depend on the GUI framework, 
+ * so it can be used both from the editor and from the command line.
+ * 
+ * The compilation units of the types are independent, so they are 
+ * generated and written in parallel, in the common fork/join pool.
+ * The SQL script is generated from the ordered model once all the 
+ * Java files are written, so its content does not depend on scheduling.
+ * It is streamed to a temporary file rather than built in memory.
+ * 
+ * Generation is incremental: a file whose content would not change is
+ * not written again, so its modification time is preserved and the 
+ * build tools that consume the generated code only recompile the 
+ * compilation units that changed. Comparing the generated content, rather 
+ * than tracking edits to the nodes, also detects the changes to a type 
+ * that come from its superclass or its relations. The Java files that a 
+ * previous generation wrote for types that were since renamed or removed 
+ * are deleted.
+ */
+public final class SourceCodeGenerator
+{
+	private static final String BASE_PACKAGE = "org.jetuml.aGenerateJava";
+	private static final String FOLDER_PREFIX = "Diagram_";
+	private static final String JAVA_EXTENSION = ".java";
+	private static final String SQL_EXTENSION = ".sql";
+	private static final String TEMPORARY_EXTENSION = ".tmp";
+	private static final int BUFFER_SIZE = 8192;
+	
+	private SourceCodeGenerator() {}
+	
+	/**
+	 * @param pOutputDirectory The root directory for the generated code.
+	 * @param pDiagramName The name of the diagram, without extension.
+	 * @return The directory where the code for pDiagramName is generated.
+	 * @pre pOutputDirectory != null && pDiagramName != null
+	 */
+	public static Path targetDirectory(Path pOutputDirectory, String pDiagramName)
+	{
+		assert pOutputDirectory != null && pDiagramName != null;
+		return pOutputDirectory.resolve(FOLDER_PREFIX + pDiagramName);
+	}
+	
+	/**
+	 * Generates one Java file per type of pModel and one SQL script 
+	 * for the whole diagram, with the default options, in the directory 
+	 * returned by targetDirectory(pOutputDirectory, pDiagramName).
+	 * 
+	 * @param pModel The model of the class diagram.
+	 * @param pDiagramName The name of the diagram, without extension.
+	 * @param pOutputDirectory The root directory for the generated code.
+	 * @return The number of files that were written because their content changed.
+	 * @throws IOException If the generated files cannot be written.
+	 * @pre pModel != null && pDiagramName != null && pOutputDirectory != null
+	 */
+	public static int generate(DiagramModel pModel, String pDiagramName, Path pOutputDirectory) throws IOException
+	{
+		return generate(pModel, pDiagramName, pOutputDirectory, GenerationOptions.DEFAULT, (pCompleted, pTotal) -> {});
+	}
+	
+	/**
+	 * Generates one Java file per type of pModel and one SQL script 
+	 * for the whole diagram, in the directory returned by 
+	 * targetDirectory(pOutputDirectory, pDiagramName), and notifies 
+	 * pListener after each type and after the script. With a persistence 
+	 * layer, the JPA entity and repository of each class are generated in 
+	 * the persistence sub-package, and the script follows their mapping.
+	 * The other Java files of the directory and of its persistence 
+	 * sub-directory are deleted.
+	 * 
+	 * @param pModel The model of the class diagram.
+	 * @param pDiagramName The name of the diagram, without extension.
+	 * @param pOutputDirectory The root directory for the generated code.
+	 * @param pOptions The dialect of the SQL script, the templates of the Java code, 
+	 *     and whether a persistence layer is generated.
+	 * @param pListener The listener notified of the progress, from the generating threads.
+	 * @return The number of files that were written because their content changed.
+	 * @throws IOException If the generated files cannot be written.
+	 * @pre pModel != null && pDiagramName != null && pOutputDirectory != null
+	 * @pre pOptions != null && pListener != null
+	 */
+	public static int generate(DiagramModel pModel, String pDiagramName, Path pOutputDirectory, 
+			GenerationOptions pOptions, ProgressListener pListener) throws IOException
+	{
+		assert pModel != null && pDiagramName != null && pOutputDirectory != null;
+		assert pOptions != null && pListener != null;
+		Path folder = targetDirectory(pOutputDirectory, pDiagramName);
+		Files.createDirectories(folder);
+		String javaPackage = BASE_PACKAGE + "." + FOLDER_PREFIX + pDiagramName;
+		Path entityFolder = folder.resolve(JpaGenerator.ENTITY_PACKAGE);
+		String entityPackage = javaPackage + "." + JpaGenerator.ENTITY_PACKAGE;
+		List<TypeModel> types = pModel.types();
+		if( pOptions.persistenceLayer() && types.stream().anyMatch(type -> !type.isInterface()) )
+		{
+			Files.createDirectories(entityFolder);
+		}
+		int total = types.size() + 1;
+		AtomicInteger completed = new AtomicInteger();
+		AtomicInteger written = new AtomicInteger();
+		Set<Path> generated = ConcurrentHashMap.newKeySet();
+		try
+		{
+			types.parallelStream().forEach(type -> 
+			{
+				String code = JavaGenerator.generate(pModel, type, javaPackage, pOptions.templates());
+				if( writeUnchecked(folder.resolve(type.name() + JAVA_EXTENSION), code, generated) )
+				{
+					written.incrementAndGet();
+				}
+				if( pOptions.persistenceLayer() && !type.isInterface() )
+				{
+					if( writeUnchecked(entityFolder.resolve(type.name() + JAVA_EXTENSION), 
+							JpaGenerator.generateEntity(pModel, type, entityPackage), generated) )
+					{
+						written.incrementAndGet();
+					}
+					if( writeUnchecked(entityFolder.resolve(type.name() + JpaGenerator.REPOSITORY_SUFFIX + JAVA_EXTENSION), 
+							JpaGenerator.generateRepository(pModel, type, entityPackage), generated) )
+					{
+						written.incrementAndGet();
+					}
+				}
+				pListener.progressed(completed.incrementAndGet(), total);
+			});
+		}
+		catch( UncheckedIOException exception )
+		{
+			throw exception.getCause();
+		}
+		deleteStaleFiles(folder, generated);
+		deleteStaleFiles(entityFolder, generated);
+		if( writeScript(pModel, pOptions, folder.resolve(pDiagramName + SQL_EXTENSION)) )
+		{
+			written.incrementAndGet();
+		}
+		pListener.progressed(completed.incrementAndGet(), total);
+		return written.get();
+	}
+	
+	/*
+	 * Writes pContent to pFile, as write does, and adds pFile to pGenerated.
+	 */
+	private static boolean writeUnchecked(Path pFile, CharSequence pContent, Set<Path> pGenerated)
+	{
+		pGenerated.add(pFile);
+		try
+		{
+			return write(pFile, pContent);
+		}
+		catch( IOException exception )
+		{
+			throw new UncheckedIOException(exception);
+		}
+	}
+	
+	/*
+	 * Deletes the Java files of pFolder that are not in pGenerated. They were 
+	 * generated for types that were renamed or removed from the diagram since, 
+	 * or for a persistence layer that is no longer generated.
+	 */
+	private static void deleteStaleFiles(Path pFolder, Set<Path> pGenerated) throws IOException
+	{
+		if( !Files.isDirectory(pFolder) )
+		{
+			return;
+		}
+		try( DirectoryStream<Path> files = Files.newDirectoryStream(pFolder, "*" + JAVA_EXTENSION) )
+		{
+			for( Path file : files )
+			{
+				if( Files.isRegularFile(file) && !pGenerated.contains(file) )
+				{
+					Files.delete(file);
+				}
+			}
+		}
+	}
+	
+	/*
+	 * Writes pContent to pFile unless pFile already has this content.
+	 * Returns true if the file was written.
+	 */
+	private static boolean write(Path pFile, CharSequence pContent) throws IOException
+	{
+		byte[] content = pContent.toString().getBytes(StandardCharsets.UTF_8);
+		if( Files.isRegularFile(pFile) && Files.size(pFile) == content.length && 
+				Arrays.equals(Files.readAllBytes(pFile), content) )
+		{
+			return false;
+		}
+		Files.write(pFile, content);
+		return true;
+	}
+	
+	/*
+	 * Streams the script to a temporary file, which then replaces pFile 
+	 * unless pFile already has the same content. Returns true if pFile 
+	 * was replaced.
+	 */
+	private static boolean writeScript(DiagramModel pModel, GenerationOptions pOptions, Path pFile) throws IOException
+	{
+		Path temporary = pFile.resolveSibling(pFile.getFileName() + TEMPORARY_EXTENSION);
+		try
+		{
+			try( Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8) )
+			{
+				SqlGenerator.generate(pModel, pOptions, writer);
+			}
+			if( Files.isRegularFile(pFile) && sameContent(pFile, temporary) )
+			{
+				return false;
+			}
+			Files.move(temporary, pFile, StandardCopyOption.REPLACE_EXISTING);
+			return true;
+		}
+		finally
+		{
+			Files.deleteIfExists(temporary);
+		}
+	}
+	
+	private static boolean sameContent(Path pFile1, Path pFile2) throws IOException
+	{
+		if( Files.size(pFile1) != Files.size(pFile2) )
+		{
+			return false;
+		}
+		try( InputStream input1 = Files.newInputStream(pFile1); InputStream input2 = Files.newInputStream(pFile2) )
+		{
+			byte[] buffer1 = new byte[BUFFER_SIZE];
+			byte[] buffer2 = new byte[BUFFER_SIZE];
+			int read = input1.readNBytes(buffer1, 0, BUFFER_SIZE);
+			while( read > 0 )
+			{
+				if( input2.readNBytes(buffer2, 0, BUFFER_SIZE) != read || !Arrays.equals(buffer1, 0, read, buffer2, 0, read) )
+				{
+					return false;
+				}
+				read = input1.readNBytes(buffer1, 0, BUFFER_SIZE);
+			}
+			return true;
+		}
+	}
+}
@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+/**
+ * The features of a database engine that determine the form of the 
+ * generated DDL script. Implement this interface to target an engine 
+ * that is not one of the StandardSqlDialect constants.
+ */
+public interface SqlDialect
+{
+	/**
+	 * @return The column type of primary and foreign keys.
+	 */
+	String keyType();
+	
+	/**
+	 * @param pJavaType The type of an attribute, as written in the diagram. 
+	 *     Possibly empty.
+	 * @return The type of the column that stores the attribute.
+	 * @pre pJavaType != null
+	 */
+	String columnType(String pJavaType);
+	
+	/**
+	 * Determines how foreign keys are batched. If true, the foreign keys 
+	 * of a table are declared in its CREATE TABLE statement. The tables are 
+	 * still created in the order of the model, so a foreign key can refer to 
+	 * a table that does not exist yet, which only suits databases that do not 
+	 * check the target of a foreign key when the table is created. SQLite, for 
+	 * instance, resolves foreign keys when rows are written. Otherwise, all 
+	 * the tables are created first and the foreign keys are added in a 
+	 * second batch of ALTER TABLE statements, so that statements never 
+	 * refer to a table that does not exist yet.
+	 * 
+	 * @return True if foreign keys are declared with their table.
+	 */
+	boolean inlinesForeignKeys();
+}
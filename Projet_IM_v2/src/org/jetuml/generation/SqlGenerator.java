@@ -0,0 +1,315 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.jetuml.diagram.nodes.Attribute;
+
+/**
+ * Generates the DDL script that creates a table for each class 
+ * of a diagram model. Each table has a primary key, a column for 
+ * each attribute, and a foreign key for its superclass and for each 
+ * aggregation or composition. Types that are referenced by a class 
+ * but are not classes themselves get a table with only a primary key.
+ * 
+ * Statements are passed to the output as they are produced, so the 
+ * script is never held in memory. The dialect determines the column 
+ * types and whether foreign keys are declared with their table, in which 
+ * case a key can refer to a table created later, or added once all the 
+ * tables exist.
+ * 
+ * When a persistence layer is generated, the keys follow the EntityMapping 
+ * of the JPA entities instead: associations are also stored, and relations 
+ * to many objects are stored in the table of their target.
+ */
+final class SqlGenerator
+{
+	private static final String KEY_COLUMN = EntityMapping.KEY_COLUMN;
+	private static final String FOREIGN_KEY_PREFIX = "id_";
+	
+	private SqlGenerator() {}
+	
+	/**
+	 * Receives the statements of a script, one at a time.
+	 */
+	@FunctionalInterface
+	interface StatementHandler
+	{
+		/**
+		 * @param pStatement The next statement of the script.
+		 * @throws IOException If the statement cannot be processed.
+		 */
+		void handle(SqlStatement pStatement) throws IOException;
+	}
+	
+	/**
+	 * @param pModel The model to generate the script for.
+	 * @return The script for pModel, in the default dialect.
+	 * @pre pModel != null
+	 */
+	static String generate(DiagramModel pModel)
+	{
+		return generate(pModel, StandardSqlDialect.DEFAULT);
+	}
+	
+	/**
+	 * @param pModel The model to generate the script for.
+	 * @param pDialect The dialect of the script.
+	 * @return The script for pModel.
+	 * @pre pModel != null && pDialect != null
+	 */
+	static String generate(DiagramModel pModel, SqlDialect pDialect)
+	{
+		return generate(pModel, GenerationOptions.DEFAULT.withDialect(pDialect));
+	}
+	
+	/**
+	 * @param pModel The model to generate the script for.
+	 * @param pOptions The dialect of the script and whether it follows the entity mapping.
+	 * @return The script for pModel.
+	 * @pre pModel != null && pOptions != null
+	 */
+	static String generate(DiagramModel pModel, GenerationOptions pOptions)
+	{
+		StringWriter script = new StringWriter();
+		try
+		{
+			generate(pModel, pOptions, script);
+		}
+		catch( IOException exception )
+		{
+			throw new UncheckedIOException(exception); // Cannot happen with a StringWriter
+		}
+		return script.toString();
+	}
+	
+	/**
+	 * Writes the script for pModel to pOutput, one statement at a time.
+	 * 
+	 * @param pModel The model to generate the script for.
+	 * @param pDialect The dialect of the script.
+	 * @param pOutput The destination of the script.
+	 * @throws IOException If the script cannot be written.
+	 * @pre pModel != null && pDialect != null && pOutput != null
+	 */
+	static void generate(DiagramModel pModel, SqlDialect pDialect, Writer pOutput) throws IOException
+	{
+		generate(pModel, GenerationOptions.DEFAULT.withDialect(pDialect), pOutput);
+	}
+	
+	/**
+	 * Writes the script for pModel to pOutput, one statement at a time.
+	 * 
+	 * @param pModel The model to generate the script for.
+	 * @param pOptions The dialect of the script and whether it follows the entity mapping.
+	 * @param pOutput The destination of the script.
+	 * @throws IOException If the script cannot be written.
+	 * @pre pModel != null && pOptions != null && pOutput != null
+	 */
+	static void generate(DiagramModel pModel, GenerationOptions pOptions, Writer pOutput) throws IOException
+	{
+		assert pOutput != null;
+		generate(pModel, pOptions, statement -> 
+		{
+			pOutput.write(statement.text());
+			pOutput.write(statement.relation().isPresent() ? ";\n" : ";\n\n");
+		});
+	}
+	
+	/**
+	 * Passes the statements of the script for pModel to pHandler, in order.
+	 * 
+	 * @param pModel The model to generate the script for.
+	 * @param pOptions The dialect of the script and whether it follows the entity mapping.
+	 * @param pHandler The destination of the statements.
+	 * @throws IOException If pHandler cannot process a statement.
+	 * @pre pModel != null && pOptions != null && pHandler != null
+	 */
+	static void generate(DiagramModel pModel, GenerationOptions pOptions, StatementHandler pHandler) throws IOException
+	{
+		assert pModel != null && pOptions != null && pHandler != null;
+		boolean entityMapping = pOptions.persistenceLayer();
+		Set<String> tables = tables(pModel, entityMapping);
+		for( String table : tables )
+		{
+			pHandler.handle(createTable(pModel, table, pOptions.dialect(), entityMapping));
+		}
+		if( !pOptions.dialect().inlinesForeignKeys() )
+		{
+			for( String table : tables )
+			{
+				for( ForeignKey key : foreignKeys(pModel, table, entityMapping) )
+				{
+					pHandler.handle(new SqlStatement("ALTER TABLE " + table + " ADD " + key.declaration(), 
+							table, Optional.of(key.aRelation)));
+				}
+			}
+		}
+	}
+	
+	/*
+	 * The classes of the model, in order, followed by the other 
+	 * types that they reference.
+	 */
+	private static Set<String> tables(DiagramModel pModel, boolean pEntityMapping)
+	{
+		Set<String> tables = new LinkedHashSet<>();
+		for( TypeModel type : pModel.types() )
+		{
+			if( !type.isInterface() )
+			{
+				tables.add(type.name());
+			}
+		}
+		for( String table : new ArrayList<>(tables) )
+		{
+			for( ForeignKey key : foreignKeys(pModel, table, pEntityMapping) )
+			{
+				tables.add(key.aTarget);
+			}
+		}
+		return tables;
+	}
+	
+	/*
+	 * SQL identifiers are not case sensitive, so a column is skipped if its 
+	 * name differs from a previous one only by case. In particular, an attribute 
+	 * named id is represented by the primary key, and an attribute named like 
+	 * a foreign key column holds that foreign key.
+	 */
+	private static SqlStatement createTable(DiagramModel pModel, String pTable, SqlDialect pDialect, 
+			boolean pEntityMapping)
+	{
+		Set<String> names = new HashSet<>();
+		List<String> columns = new ArrayList<>();
+		names.add(KEY_COLUMN.toLowerCase(Locale.ROOT));
+		columns.add(KEY_COLUMN + " " + pDialect.keyType() + " PRIMARY KEY");
+		pModel.type(pTable).ifPresent(type -> 
+		{
+			for( Attribute attribute : type.attributes() )
+			{
+				if( names.add(attribute.name().toLowerCase(Locale.ROOT)) )
+				{
+					columns.add(attribute.name() + " " + pDialect.columnType(attribute.type()));
+				}
+			}
+		});
+		List<ForeignKey> keys = foreignKeys(pModel, pTable, pEntityMapping);
+		for( ForeignKey key : keys )
+		{
+			if( names.add(key.aColumn.toLowerCase(Locale.ROOT)) )
+			{
+				columns.add(key.aColumn + " " + pDialect.keyType());
+			}
+		}
+		if( pDialect.inlinesForeignKeys() )
+		{
+			for( ForeignKey key : keys )
+			{
+				columns.add(key.declaration());
+			}
+		}
+		return new SqlStatement("CREATE TABLE " + pTable + " (\n\t" + String.join(",\n\t", columns) + "\n)", 
+				pTable, Optional.empty());
+	}
+	
+	/*
+	 * The foreign keys of a table reference the table of the superclass 
+	 * and the tables of the aggregated and composed types. Composed objects 
+	 * are deleted with their owner, whereas aggregated objects outlive it. 
+	 * If several relations lead to the same type, the first one determines 
+	 * the key.
+	 */
+	private static List<ForeignKey> foreignKeys(DiagramModel pModel, String pTable, boolean pEntityMapping)
+	{
+		if( pEntityMapping )
+		{
+			return entityForeignKeys(pModel, pTable);
+		}
+		Map<String, ForeignKey> keys = new LinkedHashMap<>();
+		for( RelationModel relation : pModel.relationsFrom(pTable, type -> type == RelationType.GENERALIZATION) )
+		{
+			keys.putIfAbsent(relation.target(), new ForeignKey(relation, FOREIGN_KEY_PREFIX + relation.target(), 
+					relation.target(), ""));
+		}
+		for( RelationModel relation : pModel.relationsFrom(pTable, RelationType::isContainment) )
+		{
+			keys.putIfAbsent(relation.target(), new ForeignKey(relation, FOREIGN_KEY_PREFIX + relation.target(), 
+					relation.target(), 
+					relation.type() == RelationType.COMPOSITION ? " ON DELETE CASCADE" : " ON DELETE SET NULL"));
+		}
+		return new ArrayList<>(keys.values());
+	}
+	
+	/*
+	 * The primary key of the table of a subclass references the table of its 
+	 * superclass. Parts are deleted with the owner that holds them in a collection; 
+	 * other references are cleared when the referenced row is deleted. If several 
+	 * relations are stored in the same column, the first one determines the key.
+	 */
+	private static List<ForeignKey> entityForeignKeys(DiagramModel pModel, String pTable)
+	{
+		Map<String, ForeignKey> keys = new LinkedHashMap<>();
+		EntityMapping.generalization(pModel, pTable).ifPresent(relation -> 
+				keys.put(KEY_COLUMN, new ForeignKey(relation, KEY_COLUMN, relation.target(), "")));
+		for( RelationModel relation : EntityMapping.relationsStoredIn(pModel, pTable) )
+		{
+			boolean cascade = relation.type() == RelationType.COMPOSITION && relation.isToMany();
+			keys.putIfAbsent(EntityMapping.joinColumn(relation), new ForeignKey(relation, EntityMapping.joinColumn(relation), 
+					EntityMapping.referencedEntity(relation), cascade ? " ON DELETE CASCADE" : " ON DELETE SET NULL"));
+		}
+		return new ArrayList<>(keys.values());
+	}
+	
+	private static final class ForeignKey
+	{
+		private final RelationModel aRelation;
+		private final String aTarget;
+		private final String aColumn;
+		private final String aOnDelete;
+		
+		ForeignKey(RelationModel pRelation, String pColumn, String pTarget, String pOnDelete)
+		{
+			aRelation = pRelation;
+			aTarget = pTarget;
+			aColumn = pColumn;
+			aOnDelete = pOnDelete;
+		}
+		
+		String declaration()
+		{
+			return "FOREIGN KEY (" + aColumn + ") REFERENCES " + aTarget + "(" + KEY_COLUMN + ")" + aOnDelete;
+		}
+	}
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+import java.util.Optional;
+
+import org.jetuml.annotations.Immutable;
+
+/**
+ * A statement of a generated DDL script, with the type or the 
+ * relation of the model that it originates from.
+ */
+@Immutable
+public final class SqlStatement
+{
+	private final String aText;
+	private final String aTable;
+	private final Optional<RelationModel> aRelation;
+	
+	/**
+	 * @param pText The statement, without terminator.
+	 * @param pTable The name of the table that the statement creates or alters.
+	 * @param pRelation The relation that the statement maps, if any.
+	 * @pre pText != null && pTable != null && pRelation != null
+	 */
+	SqlStatement(String pText, String pTable, Optional<RelationModel> pRelation)
+	{
+		assert pText != null && pTable != null && pRelation != null;
+		aText = pText;
+		aTable = pTable;
+		aRelation = pRelation;
+	}
+	
+	/**
+	 * @return The statement, without terminator.
+	 */
+	public String text()
+	{
+		return aText;
+	}
+	
+	/**
+	 * @return The name of the table that the statement creates or alters.
+	 */
+	public String table()
+	{
+		return aTable;
+	}
+	
+	/**
+	 * @return The relation that the statement maps, if it maps a relation
+	 *     rather than a type.
+	 */
+	public Optional<RelationModel> relation()
+	{
+		return aRelation;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return aText;
+	}
+}
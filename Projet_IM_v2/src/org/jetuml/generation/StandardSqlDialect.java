@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+import java.util.Locale;
+
+/**
+ * The SQL dialects supported out of the box.
+ */
+public enum StandardSqlDialect implements SqlDialect
+{
+	H2("BIGINT", "INTEGER", "DOUBLE PRECISION", "BOOLEAN", "VARCHAR(255)", false), 
+	POSTGRESQL("BIGINT", "INTEGER", "DOUBLE PRECISION", "BOOLEAN", "VARCHAR(255)", false), 
+	ORACLE("NUMBER(19)", "NUMBER(10)", "BINARY_DOUBLE", "NUMBER(1)", "VARCHAR2(255)", false), 
+	SQLITE("INTEGER", "INTEGER", "REAL", "INTEGER", "TEXT", true);
+	
+	/**
+	 * The dialect used when none is specified. The scripts generated 
+	 * before dialects were introduced targeted Oracle.
+	 */
+	public static final StandardSqlDialect DEFAULT = ORACLE;
+	
+	private final String aKeyType;
+	private final String aIntegerType;
+	private final String aDecimalType;
+	private final String aBooleanType;
+	private final String aTextType;
+	private final boolean aInlinesForeignKeys;
+	
+	StandardSqlDialect(String pKeyType, String pIntegerType, String pDecimalType, String pBooleanType, 
+			String pTextType, boolean pInlinesForeignKeys)
+	{
+		aKeyType = pKeyType;
+		aIntegerType = pIntegerType;
+		aDecimalType = pDecimalType;
+		aBooleanType = pBooleanType;
+		aTextType = pTextType;
+		aInlinesForeignKeys = pInlinesForeignKeys;
+	}
+	
+	/**
+	 * @param pName The name of a dialect, in any case.
+	 * @return The dialect with this name.
+	 * @throws IllegalArgumentException If there is no such dialect.
+	 * @pre pName != null
+	 */
+	public static StandardSqlDialect fromName(String pName)
+	{
+		assert pName != null;
+		return valueOf(pName.toUpperCase(Locale.ROOT));
+	}
+	
+	@Override
+	public String keyType()
+	{
+		return aKeyType;
+	}
+	
+	/**
+	 * Maps Java primitive types, their wrappers and strings to the 
+	 * corresponding column type. All the other types are stored as text.
+	 */
+	@Override
+	public String columnType(String pJavaType)
+	{
+		assert pJavaType != null;
+		switch( pJavaType )
+		{
+		case "byte":
+		case "short":
+		case "int":
+		case "Byte":
+		case "Short":
+		case "Integer":
+			return aIntegerType;
+		case "long":
+		case "Long":
+			return aKeyType;
+		case "float":
+		case "double":
+		case "Float":
+		case "Double":
+			return aDecimalType;
+		case "boolean":
+		case "Boolean":
+			return aBooleanType;
+		default:
+			return aTextType;
+		}
+	}
+	
+	@Override
+	public boolean inlinesForeignKeys()
+	{
+		return aInlinesForeignKeys;
+	}
+}
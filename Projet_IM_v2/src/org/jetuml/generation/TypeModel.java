@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jetuml.annotations.Immutable;
+import org.jetuml.diagram.nodes.Attribute;
+import org.jetuml.diagram.nodes.Method;
+
+/**
+ * A class or interface for which code is generated.
+ */
+@Immutable
+public final class TypeModel
+{
+	private final String aName;
+	private final boolean aInterface;
+	private final List<Attribute> aAttributes;
+	private final List<Method> aMethods;
+	
+	/**
+	 * @param pName The name of the type.
+	 * @param pInterface True if the type is an interface.
+	 * @param pAttributes The attributes of the type, in order.
+	 * @param pMethods The methods of the type, in order.
+	 * @pre pName != null && pAttributes != null && pMethods != null
+	 */
+	public TypeModel(String pName, boolean pInterface, List<Attribute> pAttributes, List<Method> pMethods)
+	{
+		assert pName != null && pAttributes != null && pMethods != null;
+		aName = pName;
+		aInterface = pInterface;
+		aAttributes = Collections.unmodifiableList(new ArrayList<>(pAttributes));
+		aMethods = Collections.unmodifiableList(new ArrayList<>(pMethods));
+	}
+	
+	/**
+	 * @return The name of the type.
+	 */
+	public String name()
+	{
+		return aName;
+	}
+	
+	/**
+	 * @return True if this type is an interface.
+	 */
+	public boolean isInterface()
+	{
+		return aInterface;
+	}
+	
+	/**
+	 * @return The attributes of the type, in order. Unmodifiable.
+	 */
+	public List<Attribute> attributes()
+	{
+		return aAttributes;
+	}
+	
+	/**
+	 * @return The methods of the type, in order. Unmodifiable.
+	 */
+	public List<Method> methods()
+	{
+		return aMethods;
+	}
+}
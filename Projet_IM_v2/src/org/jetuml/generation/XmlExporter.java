@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.output.Format;
+import org.jdom2.output.XMLOutputter;
+import org.jetuml.diagram.nodes.Attribute;
+import org.jetuml.diagram.nodes.Method;
+import org.jetuml.diagram.nodes.Parameter;
+
+/**
+ * Exports the model of a class diagram as an XML document. The 
+ * XML description is an optional output of the code generation: it
+ * is not needed to generate the code.
+ */
+public final class XmlExporter
+{
+	private static final String UNDEFINED = "khawi"; // Marker for absent labels, expected by the XML readers
+	
+	private XmlExporter() {}
+	
+	/**
+	 * @param pModel The model of a class diagram.
+	 * @return The XML description of the types and relations in the model.
+	 * @pre pModel != null
+	 */
+	public static Document export(DiagramModel pModel)
+	{
+		assert pModel != null;
+		Element root = new Element("diagrammeClasse");
+		Element classes = new Element("classes");
+		Element associations = new Element("associations");
+		root.addContent(classes);
+		root.addContent(associations);
+		for( TypeModel type : pModel.types() )
+		{
+			classes.addContent(exportType(type));
+		}
+		for( RelationModel relation : pModel.relations() )
+		{
+			associations.addContent(exportRelation(relation));
+		}
+		return new Document(root);
+	}
+	
+	/**
+	 * Writes pDocument to pFile as pretty-printed XML.
+	 * 
+	 * @param pDocument The document to write.
+	 * @param pFile The destination file.
+	 * @throws IOException If the file cannot be written.
+	 * @pre pDocument != null && pFile != null
+	 */
+	public static void write(Document pDocument, Path pFile) throws IOException
+	{
+		assert pDocument != null && pFile != null;
+		try( OutputStream out = Files.newOutputStream(pFile) )
+		{
+			new XMLOutputter(Format.getPrettyFormat()).output(pDocument, out);
+		}
+	}
+	
+	private static Element exportType(TypeModel pType)
+	{
+		Element classe = new Element("classe");
+		classe.setAttribute("name", pType.name());
+		classe.setAttribute("visibility", "public");
+		
+		Element attributes = new Element("attributs");
+		classe.addContent(attributes);
+		for( Attribute attribute : pType.attributes() )
+		{
+			Element name = new Element("name");
+			name.setText(attribute.name());
+			name.setAttribute("type", attribute.type());
+			name.setAttribute("visibility", attribute.visibility().keyword());
+			attributes.addContent(new Element("attribut").addContent(name));
+		}
+		
+		Element methods = new Element("methodes");
+		classe.addContent(methods);
+		for( Method method : pType.methods() )
+		{
+			Element name = new Element("name");
+			name.setText(method.name());
+			name.setAttribute("typeR", method.returnType());
+			name.setAttribute("visibility", method.visibility().keyword());
+			Element parameters = new Element("parametres");
+			if( !method.parameters().isEmpty() )
+			{
+				Element parameterList = new Element("parametre");
+				for( Parameter parameter : method.parameters() )
+				{
+					Element parameterName = new Element("name");
+					parameterName.setText(parameter.name());
+					parameterName.setAttribute("type", parameter.type());
+					parameterList.addContent(parameterName);
+				}
+				parameters.addContent(parameterList);
+			}
+			methods.addContent(new Element("methode").addContent(name).addContent(parameters));
+		}
+		return classe;
+	}
+	
+	private static Element exportRelation(RelationModel pRelation)
+	{
+		Element association = new Element("association");
+		association.setAttribute("type", xmlType(pRelation.type()));
+		if( pRelation.type().isContainment() )
+		{
+			association.setAttribute("genre", capitalize(pRelation.type()));
+		}
+		association.addContent(new Element("name").setText(orUndefined(pRelation.name())));
+		association.addContent(new Element("classD").setText(pRelation.source())
+				.setAttribute("multiplicity", orUndefined(pRelation.sourceMultiplicity())));
+		association.addContent(new Element("classA").setText(pRelation.target())
+				.setAttribute("multiplicity", orUndefined(pRelation.targetMultiplicity())));
+		return association;
+	}
+	
+	/*
+	 * The XML format names relations after the edges of the diagram, which
+	 * do not distinguish aggregations from compositions, and inheritance from
+	 * implementation.
+	 */
+	private static String xmlType(RelationType pType)
+	{
+		if( pType == RelationType.COMPOSITION )
+		{
+			return capitalize(RelationType.AGGREGATION);
+		}
+		else if( pType == RelationType.IMPLEMENTATION )
+		{
+			return capitalize(RelationType.GENERALIZATION);
+		}
+		return capitalize(pType);
+	}
+	
+	private static String capitalize(RelationType pType)
+	{
+		return pType.name().charAt(0) + pType.name().substring(1).toLowerCase();
+	}
+	
+	private static String orUndefined(String pLabel)
+	{
+		return pLabel.isEmpty() ? UNDEFINED : pLabel;
+	}
+}
@@ -48,6 +48,7 @@ import org.jetuml.geom.Dimension;
 import org.jetuml.geom.Line;
 import org.jetuml.geom.Point;
 import org.jetuml.geom.Rectangle;
+import org.jetuml.rendering.DiagramRenderer;
 import org.jetuml.rendering.Grid;
 import org.jetuml.rendering.ToolGraphics;
 
@@ -71,6 +72,12 @@ public class DiagramCanvas extends Canvas implements SelectionObserver, BooleanP
 	private static final int DIMENSION_BUFFER = 20;
 	private static final int GRID_SIZE = 10;
 	private static final int DIAGRAM_PADDING = 4;
+	/* The number of pixels around the visible region of the canvas in which 
+	 * elements are also drawn. */
+	private static final int VISIBLE_MARGIN = 20;
+	/* The number of pixels around the bounds of elements that they can draw on, 
+	 * with their shadows and selection handles. */
+	private static final int DAMAGE_MARGIN = 10;
 	
 	private DiagramOperationProcessor aProcessor = new DiagramOperationProcessor();
 	private final DiagramBuilder aDiagramBuilder;
@@ -86,6 +93,8 @@ public class DiagramCanvas extends Canvas implements SelectionObserver, BooleanP
 	private DragMode aDragMode;
 	private Point aLastMousePoint;
 	private Point aMouseDownPoint;  
+	private Optional<Rectangle> aVisibleRegion = Optional.empty();
+	private final TileCache aTiles;
 	
 	/**
 	 * Constructs the canvas, assigns the diagram to it.
@@ -99,6 +108,7 @@ public class DiagramCanvas extends Canvas implements SelectionObserver, BooleanP
 		aToolBar = pToolBar;
 		aDiagramBuilder = pDiagramBuilder;
 		aMoveTracker = new MoveTracker(aDiagramBuilder.renderer()::getBounds);
+		aTiles = new TileCache(aDiagramBuilder.renderer(), LINE_WIDTH);
 		Dimension dimension = getDiagramCanvasWidth(pDiagramBuilder.diagram());
 		setWidth(dimension.width());
 		setHeight(dimension.height());
@@ -224,18 +234,65 @@ public class DiagramCanvas extends Canvas implements SelectionObserver, BooleanP
 	 */
 	public void paintPanel()
 	{
-		GraphicsContext context = getGraphicsContext2D();
-		context.setFill(Color.WHITE); 
-		context.fillRect(0, 0, getWidth(), getHeight());
-		if(UserPreferences.instance().getBoolean(BooleanPreference.showGrid)) 
-		{
-			Grid.draw(context, new Rectangle(0, 0, (int) getWidth(), (int) getHeight()));
-		}
-		aDiagramBuilder.renderer().draw(context);
 		synchronizeSelectionModel();
-		aSelected.forEach( selected -> aDiagramBuilder.renderer().drawSelectionHandles(selected, context));
+		paint(paintedRegion());
+	}
+	
+	/*
+	 * The grid and the elements are copied from the images of the tiles, 
+	 * which are only drawn again where the drawing of the elements changed. 
+	 * Selected elements are drawn on the tiles like the others, so that the 
+	 * elements keep the order of the diagram, and only the selection handles 
+	 * and tools are drawn over the tiles.
+	 */
+	private void paint(Rectangle pRegion)
+	{
+		DiagramRenderer renderer = aDiagramBuilder.renderer();
+		aTiles.update();
+		
+		GraphicsContext context = getGraphicsContext2D();
+		context.save();
+		context.beginPath();
+		context.rect(pRegion.getX(), pRegion.getY(), pRegion.getWidth(), pRegion.getHeight());
+		context.clip();
+		aTiles.draw(context, pRegion);
+		aSelected.forEach( element -> renderer.drawSelectionHandles(element, context));
 		aRubberband.ifPresent( rubberband -> ToolGraphics.drawRubberband(context, rubberband));
 		aLasso.ifPresent( lasso -> ToolGraphics.drawLasso(context, lasso));
+		context.restore();
+	}
+	
+	/**
+	 * Sets the part of the canvas that can be seen, and paints it. When the 
+	 * visible region is known, only the elements in or near it are drawn.
+	 * 
+	 * @param pRegion The visible part of the canvas, in the coordinates of the canvas.
+	 * @pre pRegion != null
+	 */
+	public void setVisibleRegion(Rectangle pRegion)
+	{
+		assert pRegion != null;
+		aVisibleRegion = Optional.of(pRegion);
+		paintPanel();
+	}
+	
+	/*
+	 * The visible region enlarged by the margin and limited to the canvas, 
+	 * or the whole canvas if the visible region is unknown.
+	 */
+	private Rectangle paintedRegion()
+	{
+		Rectangle canvas = new Rectangle(0, 0, (int) getWidth(), (int) getHeight());
+		if( !aVisibleRegion.isPresent() )
+		{
+			return canvas;
+		}
+		Rectangle visible = aVisibleRegion.get();
+		int x = Math.max(0, visible.getX() - VISIBLE_MARGIN);
+		int y = Math.max(0, visible.getY() - VISIBLE_MARGIN);
+		int maxX = Math.min(canvas.getMaxX(), visible.getMaxX() + VISIBLE_MARGIN);
+		int maxY = Math.min(canvas.getMaxY(), visible.getMaxY() + VISIBLE_MARGIN);
+		return new Rectangle(x, y, Math.max(0, maxX - x), Math.max(0, maxY - y));
 	}
 	
 	/**
@@ -340,6 +397,7 @@ public class DiagramCanvas extends Canvas implements SelectionObserver, BooleanP
 	{
 		if( pPreference == BooleanPreference.showGrid )
 		{
+			aTiles.invalidateAll();
 			paintPanel();
 		}
 	}
@@ -349,6 +407,7 @@ public class DiagramCanvas extends Canvas implements SelectionObserver, BooleanP
 	{
 		if ( pPreference == IntegerPreference.fontSize )
 		{
+			aTiles.invalidateAll();
 			paintPanel();
 		}
 	}
@@ -699,18 +758,28 @@ public class DiagramCanvas extends Canvas implements SelectionObserver, BooleanP
 	
 	// TODO, include edges between selected nodes in the bounds check.
 	// This will be doable by collecting all edges connected to a transitively selected node.
+	/*
+	 * Only the region where the elements affected by the move were drawn, 
+	 * and where they are drawn after it, is painted again. If the move changes 
+	 * the geometry of other elements, the whole canvas is painted.
+	 */
 	private void moveSelection(Point pMousePoint)
 	{
 		assert !aSelected.isEmpty();
+		DiagramRenderer renderer = aDiagramBuilder.renderer();
 		
 		int dx = pMousePoint.getX() - aLastMousePoint.getX();
 		int dy = pMousePoint.getY() - aLastMousePoint.getY();
 		
+		renderer.layout();
+		Set<DiagramElement> affected = renderer.elementsAffectedByMoving(selectedNodes());
+		Optional<Rectangle> damage = boundsOf(affected);
+		
 		// Perform the move without painting it
 		selectedNodes().forEach(selected -> selected.translate(dx, dy));
 		
 		// If this translation results in exceeding the canvas bounds, roll back.
-		Rectangle bounds = aDiagramBuilder.renderer().getBoundsIncludingParents(aSelected);
+		Rectangle bounds = renderer.getBoundsIncludingParents(aSelected);
 		int dxCorrection = Math.max(-bounds.getX(), 0) 
 				+ Math.min((int)getWidth() - bounds.getMaxX(), 0);
 		int dyCorrection = Math.max(-bounds.getY(), 0) 
@@ -718,7 +787,41 @@ public class DiagramCanvas extends Canvas implements SelectionObserver, BooleanP
 		selectedNodes().forEach(selected -> selected.translate(dxCorrection, dyCorrection));
 		
 		aLastMousePoint = pMousePoint; 
-		paintPanel();
+		if( !affected.containsAll(renderer.layout()) )
+		{
+			paintPanel();
+			return;
+		}
+		Optional<Rectangle> damageAfter = boundsOf(affected);
+		if( damage.isPresent() && damageAfter.isPresent() )
+		{
+			paintRegion(damage.get().add(damageAfter.get()));
+		}
+	}
+	
+	private Optional<Rectangle> boundsOf(Set<DiagramElement> pElements)
+	{
+		return pElements.stream()
+				.map(aDiagramBuilder.renderer()::getBounds)
+				.reduce(Rectangle::add);
+	}
+	
+	/*
+	 * Paints the part of the canvas where elements with bounds in pDamage 
+	 * can draw, without changing the rest of the canvas.
+	 */
+	private void paintRegion(Rectangle pDamage)
+	{
+		Rectangle painted = paintedRegion();
+		int x = Math.max(painted.getX(), pDamage.getX() - DAMAGE_MARGIN);
+		int y = Math.max(painted.getY(), pDamage.getY() - DAMAGE_MARGIN);
+		int maxX = Math.min(painted.getMaxX(), pDamage.getMaxX() + DAMAGE_MARGIN);
+		int maxY = Math.min(painted.getMaxY(), pDamage.getMaxY() + DAMAGE_MARGIN);
+		if( maxX <= x || maxY <= y )
+		{
+			return;
+		}
+		paint(new Rectangle(x, y, maxX - x, maxY - y));
 	}
 	
 	/**
@@ -768,7 +871,7 @@ public class DiagramCanvas extends Canvas implements SelectionObserver, BooleanP
 	private void activateLasso()
 	{
 		aLasso = Optional.of(computeLasso());
-		aDiagramBuilder.diagram().rootNodes().forEach( node -> selectNode(node, aLasso.get()));
+		aDiagramBuilder.diagram().allNodes().forEach( node -> selectNode(node, aLasso.get()));
 		aDiagramBuilder.diagram().edges().forEach( edge -> selectEdge(edge, aLasso.get()));
 		paintPanel();
 	}
@@ -779,7 +882,6 @@ public class DiagramCanvas extends Canvas implements SelectionObserver, BooleanP
 		{
 			internalAddToSelection(pNode);
 		}
-		pNode.getChildren().forEach(child -> selectNode(child, pLasso));
 	}
 	
 	private void selectEdge(Edge pEdge, Rectangle pLasso )
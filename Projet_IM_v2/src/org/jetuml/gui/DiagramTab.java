@@ -26,7 +26,6 @@ import static java.lang.Math.min;
 import static org.jetuml.application.ApplicationResources.RESOURCES;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.Optional;
 
@@ -35,6 +34,7 @@ import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.DiagramType;
 import org.jetuml.diagram.builder.DiagramBuilder;
 import org.jetuml.geom.Point;
+import org.jetuml.geom.Rectangle;
 
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.SimpleDoubleProperty;
@@ -114,6 +114,12 @@ public class DiagramTab extends Tab implements MouseDraggedGestureHandler, KeyEv
 		scroll.setFitToHeight(true);
 		layout.setCenter(scroll);
 		
+		// Scrolling, zooming, and resizing the window all change the part of the canvas that is visible
+		aDiagramCanvas.localToSceneTransformProperty().addListener((observable, oldValue, newValue) -> 
+				updateVisibleRegion(scroll));
+		scroll.viewportBoundsProperty().addListener((observable, oldValue, newValue) -> 
+				updateVisibleRegion(scroll));
+		
 		setTitle();
 		setContent(layout);
 		
@@ -125,6 +131,19 @@ public class DiagramTab extends Tab implements MouseDraggedGestureHandler, KeyEv
 		});
 	}
 	
+	/*
+	 * Tells the canvas which part of it is visible through pScroll, 
+	 * in the coordinates of the canvas.
+	 */
+	private void updateVisibleRegion(ScrollPane pScroll)
+	{
+		Bounds visible = aDiagramCanvas.sceneToLocal(pScroll.localToScene(pScroll.getLayoutBounds()));
+		int x = (int) Math.floor(visible.getMinX());
+		int y = (int) Math.floor(visible.getMinY());
+		aDiagramCanvas.setVisibleRegion(new Rectangle(x, y, 
+				(int) Math.ceil(visible.getMaxX()) - x, (int) Math.ceil(visible.getMaxY()) - y));
+	}
+	
 	/* retrieves the toolbar from the component graph */
 	private DiagramTabToolBar toolBar()
 	{
@@ -246,20 +265,7 @@ public class DiagramTab extends Tab implements MouseDraggedGestureHandler, KeyEv
 	{
 		if(aFile.isPresent())
 		{
-	        File file = new File("NameOfFileSaved.txt"); // create a new file
-			String title = aFile.get().getName();
-			setText(title);
-			System.out.println("Title : "+title);
-			
-			try {
-                // write the value of title to the file
-                FileWriter writer = new FileWriter(file);
-                writer.write(title);
-                writer.close();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-			
+			setText(aFile.get().getName());
 		}
 		else
 		{
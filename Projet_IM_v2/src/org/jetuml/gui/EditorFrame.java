@@ -27,14 +27,13 @@ import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Transparency;
 import java.awt.image.BufferedImage;
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -46,11 +45,6 @@ import java.util.stream.Stream;
 
 import javax.imageio.ImageIO;
 
-import org.jdom2.Attribute;
-import org.jdom2.Document;
-import org.jdom2.Element;
-import org.jdom2.JDOMException;
-import org.jdom2.input.SAXBuilder;
 import org.jetuml.JetUML;
 import org.jetuml.application.FileExtensions;
 import org.jetuml.application.RecentFilesQueue;
@@ -58,12 +52,16 @@ import org.jetuml.application.UserPreferences;
 import org.jetuml.application.UserPreferences.BooleanPreference;
 import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.DiagramType;
+import org.jetuml.generation.DiagramModel;
+import org.jetuml.generation.GenerationOptions;
+import org.jetuml.generation.SourceCodeGenerator;
+import org.jetuml.generation.XmlExporter;
 import org.jetuml.gui.tips.TipDialog;
 import org.jetuml.persistence.DeserializationException;
 import org.jetuml.persistence.PersistenceService;
 import org.jetuml.persistence.VersionedDiagram;
-import org.json.JSONException;
 
+import javafx.concurrent.Task;
 import javafx.embed.swing.SwingFXUtils;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
@@ -93,6 +91,8 @@ public class EditorFrame extends BorderPane
 	private static final String KEY_LAST_IMAGE_FORMAT = "lastImageFormat";
 	private static final String USER_MANUAL_URL = "https://www.linkedin.com/in/salah-eddine-ghannouch-21300b221/";
 	
+	private static final String UNTITLED_DIAGRAM = "Untitled";
+	private static final String XML_EXTENSION = ".xml";
 	private static final String[] IMAGE_FORMATS = validFormats("png", "jpg", "gif", "bmp");
 	
 	private Stage aMainStage;
@@ -206,22 +206,8 @@ public class EditorFrame extends BorderPane
 				factory.createMenuItem("file.save_as", true, event -> saveAs()),
 				factory.createMenuItem("file.duplicate", true, event -> duplicate()),
 				factory.createMenuItem("file.export_image", true, event -> exportImage()),
-				factory.createMenuItem("file.generate_source_code", true, event -> {
-					try {
-						generateSourceCode();
-					} catch (JDOMException | IOException e1) {
-						// TODO Auto-generated catch block
-						e1.printStackTrace();
-					}
-				}),
-				factory.createMenuItem("file.generate_xml", true, event -> {
-					try {
-						new AboutDialogGer(aMainStage).show();
-					} catch (IOException | JSONException e) {
-						// TODO Auto-generated catch block
-						e.printStackTrace();
-					}
-				}),
+				factory.createMenuItem("file.generate_source_code", true, event -> generateSourceCode()),
+				factory.createMenuItem("file.generate_xml", true, event -> generateXml()),
 				factory.createMenuItem("file.copy_to_clipboard", true, event -> copyToClipboard()),
 				new SeparatorMenuItem(),
 				factory.createMenuItem("file.exit", false, event -> exit())));
@@ -636,511 +622,82 @@ public class EditorFrame extends BorderPane
 	}
 	
 	
-	private void generateSourceCode() throws JDOMException, IOException 
+	/*
+	 * Generates the source code for the diagram in the selected tab,
+	 * directly from the diagram in memory. The model is built on the 
+	 * application thread, and the files are generated in the background 
+	 * so that the UI remains responsive.
+	 */
+	private void generateSourceCode()
 	{
-
-		//Load and read the XML file
-		SAXBuilder Builder = new SAXBuilder();
-		//Get the path to xml files
-		
-		 String title="";
-	    	File file = new File("NameOfFileSaved.txt"); // create a new file
-	    	try {
-	            // read the value from the file
-	            BufferedReader reader = new BufferedReader(new FileReader(file));
-	            title = reader.readLine();
-	            reader.close();
-	            System.out.println("Title : "+title);
-	            System.out.println();
-	    	} catch (IOException e) {
-	            e.printStackTrace();
-	        }
-	    
-    	String repl = title.replace("class.jet", "xml");
-		File inputfile = new File("src\\org\\jetuml\\aGenerateXml\\"+repl);
-		Document doc = Builder.build(inputfile);
-		
-		
-		//Get the root of the file
-		Element root = doc.getRootElement();
-		
-		//Get the list of classe and association of the classes and associations elements
-		Element classes = root.getChild("classes");
-		Element associations = root.getChild("associations");
-		
-		List<Element> classe = classes.getChildren();
-		List<Element> association = associations.getChildren();
-		
-		//We create a list the will hold all the associations between classes
-        List<ClassesRelation> associList = new ArrayList<ClassesRelation>();
-        
-		//We start with defining the association between claases
-		for(int elem=0;elem<association.size();elem++){
-            Element currentAssociation = association.get(elem);
-            String AssociationType = currentAssociation.getAttribute("type").getValue();
-            String AssociationName = currentAssociation.getChildText("name");
-            String DepartClasse = currentAssociation.getChild("classD").getText();
-            String ArraivalClasse = currentAssociation.getChild("classA").getText();
-            String ArraivalClasseMultiplicity =  currentAssociation.getChild("classA").getAttribute("multiplicity").getValue();
-            associList.add(new ClassesRelation(AssociationType, AssociationName, DepartClasse, ArraivalClasse,ArraivalClasseMultiplicity));
-        }
-		
-		//This list will hold all the attributes elements of each classe
-		List<Element> attributesList;
-		//In case of inheritance this list will hold the Parent classe attributes
-		List<Element> SuperattributesList;
-		//This list will hold the methodes of each classe
-		List<Element> methodelist;
-		//This list will hold the parameters of each methodes
-		List<Element> methodeparams;
-		
-		ArrayList<String> ConstAttributes = new ArrayList<String>();
-		
-		//For created tables
-		ArrayList<String> CreatedTables = new ArrayList<String>();
-		
-		//This will hold the constrecteur code
-		StringBuilder Constrecteur = new StringBuilder();
-		
-		//This is for defining if the departClasse has an assosiation with multiple object of the Arraival classe
-		boolean ClasseMultipliciy = false;
-		boolean Extended = false;
-		StringBuilder SQL = new StringBuilder();
-		
-		//Loop over all the classes
-		for(int i=0 ;i<classe.size(); i++){
-			
-			StringBuilder Aggr = new StringBuilder();
-			StringBuilder Compo = new StringBuilder();
-			StringBuilder Super =new StringBuilder();
-			String SuperClasse = "";
-			StringBuilder code = new StringBuilder();
-			
-			
-			boolean IsIN = false;
-			
-			//Get the classes of the classes element
-			Element currentClasse = classe.get(i);
-			String repl22 = title.replace(".class.jet", "");
-			
-			//Get the visibility and classe name attrubutes
-			Attribute visibility = currentClasse.getAttribute("visibility");
-			Attribute name = currentClasse.getAttribute("name");
-			
-			//This list will hold the arraival classe and its multiplicity that we will use to define the constrecteur
-			List<String> associationList = new ArrayList<String>();
-			
-			//Check if the current classe is a child classe
-			for(int associaction=0;associaction<associList.size();associaction++) {
-				ClassesRelation relationElement = associList.get(associaction);
-				if(name.getValue().equals(relationElement.getDepartClasse())){
-					IsIN = true;
-					if(relationElement.getRelationType().equals("Generalization")){
-						code.append("package org.jetuml.aGenerateJava.Diagram_"+repl22+";\n");
-						code.append("\nimport java.util.*;\n");
-						code.append(visibility.getValue() +" class "+name.getValue()+" extends "+relationElement.getArraivalClasse()+" {\n\n\t//Attributes \n");
-						SuperClasse = relationElement.getArraivalClasse();
-						Extended = true;
-						if(!CreatedTables.contains(relationElement.getArraivalClasse())) {
-						SQL.append("\nCREATE TABLE "+relationElement.getArraivalClasse()+" (\n"
-								+ "\tID NUMBER PRIMARY KEY \n);\n\n");
-						CreatedTables.add(relationElement.getArraivalClasse());
-						}
-						if(!CreatedTables.contains(name.getValue())) {
-						SQL.append("\nCREATE TABLE "+name.getValue()+" (\n"
-								+ "\tID NUMBER PRIMARY KEY,\n"
-								+ "\tid_"+relationElement.getArraivalClasse()+" NUMBER,\n"
-										+ "\tFOREIGN KEY (id_"+relationElement.getArraivalClasse()+") REFERENCES "+relationElement.getArraivalClasse()+"(ID)\n"
-												+ ");\n\n");
-						CreatedTables.add(name.getValue());
-						}
-						else {
-							SQL.append("\n ALTER TABLE "+name.getValue()+" ADD(\n"
-									+ "id_"+relationElement.getArraivalClasse()+" NUMBER,\n"
-											+ "FOREIGN KEY (id_"+relationElement.getArraivalClasse()+")\n"
-													+ "REFERENCES "+relationElement.getArraivalClasse()+"(ID)\n"
-															+ ");\n");
-						}
-					}
-				}
-			}
-			if(!Extended) {
-				code.append("package org.jetuml.aGenerateJava.Diagram_"+repl22+";\n");
-				code.append("\nimport java.util.*;\n");
-				code.append(visibility.getValue() +" class "+name.getValue()+" {\n\n\t//Attributes \n");
-			}
-			
-			//Check the multiplicity and the relation between classes
-			for(int associaction=0;associaction<associList.size();associaction++) {
-			ClassesRelation relationElement = associList.get(associaction);
-			
-			if(name.getValue().equals(relationElement.getDepartClasse())){
-				IsIN = true;
-				if(relationElement.getArraivalClasseMultiplicity().equals("*") || relationElement.getArraivalClasseMultiplicity().equals("0..*") || relationElement.getArraivalClasseMultiplicity().equals("1..*"))
-					ClasseMultipliciy = true;
-				else ClasseMultipliciy = false;
-			//System.out.println("Avant Aggr"+SQL);
-			//System.out.println("After");
-			if(relationElement.getRelationType().equals("Aggregation") && ClasseMultipliciy == true){
-				code.append("\tprivate List<"+relationElement.getArraivalClasse()+"> "+relationElement.getArraivalClasse().toLowerCase()+";\n");
-				associationList.add(relationElement.getArraivalClasse());
-				associationList.add(relationElement.getArraivalClasseMultiplicity());
-				Aggr.append("\t\tthis."+relationElement.getArraivalClasse().toLowerCase()+" = "+relationElement.getArraivalClasse().toLowerCase()+";\n");
-				
-				if(!CreatedTables.contains(relationElement.getArraivalClasse())) {
-					SQL.append("\nCREATE TABLE "+relationElement.getArraivalClasse()+"(\n"
-							+ "ID NUMBER PRIMARY KEY\n"
-							+ ");\n\n");
-					CreatedTables.add(relationElement.getArraivalClasse());
-				}
-				
-				if(!CreatedTables.contains(relationElement.getDepartClasse())){
-					SQL.append("\nCREATE TABLE "+relationElement.getDepartClasse()+"(\n"
-							+ "ID NUMBER PRIMARY KEY,\n"
-							+ "id_"+relationElement.getArraivalClasse()+" NUMBER,\n"
-									+ "FOREIGN KEY (id_"+relationElement.getArraivalClasse()+") REFRENCES "+relationElement.getArraivalClasse()+"(ID) ON DELETE SET NULL\n"
-											+ ");\n\n");
-					CreatedTables.add(relationElement.getDepartClasse());
-				
-				}
-				else {
-					SQL.append("\nALTER TABLE "+relationElement.getDepartClasse()+"\n"
-							+ "ADD fk_"+relationElement.getArraivalClasse()+" NUMBER;\n\n");
-					SQL.append("ALTER TABLE "+relationElement.getDepartClasse()+"\n"
-							+ "ADD FOREIGN KEY (fk_"+relationElement.getArraivalClasse()+") \n"
-									+ "REFERENCES "+relationElement.getArraivalClasse()+" (ID) ON DELETE SET NULL;");
-				}
-				
-				
-			}
-			else if(relationElement.getRelationType().equals("Aggregation") && ClasseMultipliciy == false) {
-				code.append("\tprivate "+relationElement.getArraivalClasse()+" "+relationElement.getArraivalClasse().toLowerCase()+";\n");
-				associationList.add(relationElement.getArraivalClasse());
-				associationList.add(relationElement.getArraivalClasseMultiplicity());
-				Aggr.append("\t\tthis."+relationElement.getArraivalClasse().toLowerCase()+" = "+relationElement.getArraivalClasse().toLowerCase()+";\n");
-				
-				if(!CreatedTables.contains(relationElement.getArraivalClasse())) {
-					SQL.append("\nCREATE TABLE "+relationElement.getArraivalClasse()+"(\n"
-							+ "ID NUMBER PRIMARY KEY\n"
-							+ ");\n\n");
-					CreatedTables.add(relationElement.getArraivalClasse());
-				}
-				
-				if(!CreatedTables.contains(relationElement.getDepartClasse())){
-					SQL.append("\nCREATE TABLE "+relationElement.getDepartClasse()+"(\n"
-							+ "ID NUMBER PRIMARY KEY,\n"
-							+ "id_"+relationElement.getArraivalClasse()+" NUMBER,\n"
-									+ "FOREIGN KEY (id_"+relationElement.getArraivalClasse()+") REFRENCES "+relationElement.getArraivalClasse()+"(ID) ON DELETE SET NULL\n"
-											+ ");\n\n");
-					CreatedTables.add(relationElement.getDepartClasse());
-				
-				}
-				else {
-					SQL.append("\nALTER TABLE "+relationElement.getDepartClasse()+"\n"
-							+ "ADD fk_"+relationElement.getArraivalClasse()+" NUMBER;\n\n");
-					SQL.append("ALTER TABLE "+relationElement.getDepartClasse()+"\n"
-							+ "ADD FOREIGN KEY (fk_"+relationElement.getArraivalClasse()+") \n"
-									+ "REFERENCES "+relationElement.getArraivalClasse()+" (ID) ON DELETE SET NULL;");
-				}
-				
-				}
-			else if(relationElement.getRelationType().equals("Composition")) {
-				if(ClasseMultipliciy) {
-					code.append("\tprivate List<"+relationElement.getArraivalClasse()+"> "+relationElement.getArraivalClasse().toLowerCase()+";\n");
-					Compo.append("\t\tthis."+relationElement.getArraivalClasse().toLowerCase()+" = new Arraylist<"+relationElement.getArraivalClasse()+">;\n");
-				}
-				else {
-					code.append("\tprivate "+relationElement.getArraivalClasse()+" "+relationElement.getArraivalClasse().toLowerCase()+";\n");
-					Compo.append("\t\tthis."+relationElement.getArraivalClasse().toLowerCase()+" = new "+relationElement.getArraivalClasse()+"();\n");
-				}
-				
-				if(!CreatedTables.contains(relationElement.getArraivalClasse())) {
-					SQL.append("\nCREATE TABLE "+relationElement.getArraivalClasse()+"(\n"
-							+ "ID NUMBER PRIMARY KEY\n"
-							+ ");\n\n");
-					CreatedTables.add(relationElement.getArraivalClasse());
-				}
-				
-				if(!CreatedTables.contains(relationElement.getDepartClasse())){
-					SQL.append("\nCREATE TABLE "+relationElement.getDepartClasse()+"(\n"
-							+ "ID NUMBER PRIMARY KEY,\n"
-							+ "id_"+relationElement.getArraivalClasse()+" NUMBER,\n"
-									+ "FOREIGN KEY (id_"+relationElement.getArraivalClasse()+") REFRENCES "+relationElement.getArraivalClasse()+"(ID) ON DELETE CASCADE\n"
-											+ ");\n\n");
-					CreatedTables.add(relationElement.getDepartClasse());
-				
-				}
-				else {
-					SQL.append("\nALTER TABLE "+relationElement.getDepartClasse()+"\n"
-							+ "ADD fk_"+relationElement.getArraivalClasse()+" NUMBER;\n\n");
-					SQL.append("ALTER TABLE "+relationElement.getDepartClasse()+"\n"
-							+ "ADD FOREIGN KEY (fk_"+relationElement.getArraivalClasse()+") \n"
-									+ "REFERENCES "+relationElement.getArraivalClasse()+" (ID) ON DELETE CASCADE;");
-				}
-				
-			}
-			}
-			}
-			if(!IsIN){
-				IsIN = false;
-				code = new StringBuilder();
-				code.append("package org.jetuml.aGenerateJava.Diagram_"+repl22+";\n");
-				code.append("\nimport java.util.*;\n");
-				code.append(visibility.getValue() +" class "+name.getValue()+" {\n\n\t//Attributes \n");
-				if(!CreatedTables.contains(name.getValue())) {
-				SQL.append("\nCREATE TABLE "+name.getValue()+"(\n"
-						+ "ID NUMBER PRIMARY KEY\n"
-						+ ");\n\n");
-				CreatedTables.add(name.getValue());
-				}
-			}
-			//Get the attributes element
-			Element attributes = currentClasse.getChild("attributs");
-			
-			//Get the attribut of attributes element
-			attributesList = attributes.getChildren();
-			
-			if(attributesList.size() != 0) {
-				SQL.append("\nALTER TABLE "+name.getValue()+"\n");
-				SQL.append("\tADD (\n");
-				for(int at=0; at<attributesList.size(); at++) {
-					String type = attributesList.get(at).getChild("name").getAttribute("type").getValue();
-					if(at!=attributesList.size()-1) {
-						switch (type) {
-						case "String": 
-							SQL.append(attributesList.get(at).getChildText("name")+" VARCHAR"+",\n");
-							break;
-						case "int":
-						case "long":	
-							SQL.append(attributesList.get(at).getChildText("name")+" NUMBER"+",\n");
-							break;
-						case "boolean": 
-							SQL.append(attributesList.get(at).getChildText("name")+" boolean"+",\n");
-							break;
-						case "float":
-						case "double":
-							SQL.append(attributesList.get(at).getChildText("name")+" FLOAT"+",\n");
-							break;
-					}
-					}
-					else {
-						switch (type) {
-						case "String": 
-							SQL.append(attributesList.get(at).getChildText("name")+" VARCHAR"+"\n);\n");
-							break;
-						case "int":
-						case "long":	
-							SQL.append(attributesList.get(at).getChildText("name")+" NUMBER"+"\n);\n");
-							break;
-						case "boolean": 
-							SQL.append(attributesList.get(at).getChildText("name")+" boolean"+"\n);\n");
-							break;
-						case "float":
-						case "double":
-							SQL.append(attributesList.get(at).getChildText("name")+" FLOAT"+"\n);\n");
-							break;
-					}
-					}
-				} 
-			}
-			
-			//We start defining the constrecteur in diffrente cases
-			Constrecteur.append("\n\t//Constrecteur\n\tpublic "+name.getValue()+"(");
-			for(int j=0; j<attributesList.size(); j++) {
-				Element attr = attributesList.get(j);
-				Element attName = attr.getChild("name");
-				Attribute attVisibility = attName.getAttribute("visibility");
-				Attribute atttype = attName.getAttribute("type");
-				code.append("\t"+attVisibility.getValue()+" "+atttype.getValue()+" "+attr.getChildText("name")+";\n");
-				if(j!=attributesList.size()-1) Constrecteur.append(atttype.getValue()+" "+attr.getChildText("name")+", ");
-				else {
-					Constrecteur.append(atttype.getValue()+" "+attr.getChildText("name"));
-					if(associationList.size() == 0 && SuperClasse.equals("")) {Constrecteur.append("){\n"); }
-					else {
-						if(!SuperClasse.equals("")){
-							
-							for(int l=0 ;l<classe.size(); l++) {
-								Element supClasse = classe.get(l);
-								if(supClasse.getAttribute("name").getValue().equals(SuperClasse)){
-									Super.append("super(");
-									Constrecteur.append(", ");
-									SuperattributesList = supClasse.getChild("attributs").getChildren();
-									for(int m=0; m<SuperattributesList.size(); m++) {
-										Element Superattr = SuperattributesList.get(m);
-										if(m!=SuperattributesList.size()-1) {
-										Constrecteur.append(Superattr.getChild("name").getAttribute("type").getValue()+" "+Superattr.getChild("name").getText()+", ");
-										Super.append(Superattr.getChild("name").getValue()+",");
-										}
-										else {Constrecteur.append(Superattr.getChild("name").getAttribute("type").getValue()+" "+Superattr.getChild("name").getText());
-										Super.append(Superattr.getChild("name").getValue());
-										}
-									}
-							}
-						}
-							for(int n=0;n<associList.size();n++) {
-								if(associList.get(n).getDepartClasse().equals(SuperClasse) && associList.get(n).getRelationType().equals("Aggregation")) {
-									Constrecteur.append(", ");
-									Super.append(", ");
-									if(associList.get(n).getArraivalClasseMultiplicity().equals("*") || associList.get(n).getArraivalClasseMultiplicity().equals("0..*") || associList.get(n).getArraivalClasseMultiplicity().equals("1..*")) {
-										Constrecteur.append("List<"+associList.get(n).getArraivalClasse()+"> "+associList.get(n).getArraivalClasse().toLowerCase());
-										Super.append(associList.get(n).getArraivalClasse().toLowerCase());
-									}
-									else {Constrecteur.append(associList.get(n).getArraivalClasse()+" "+associList.get(n).getArraivalClasse().toLowerCase());
-										Super.append(associList.get(n).getArraivalClasse().toLowerCase());
-									}
-								}
-							}
-						}
-						if(associationList.size() == 0) Constrecteur.append("){\n");
-						else{
-						Constrecteur.append(", ");
-						for(int listelem=0; listelem<associationList.size();listelem+=2){
-							if(listelem != associationList.size()-2) {
-								if(associationList.get(listelem+1).equals("*") || associationList.get(listelem+1).equals("0..*") || associationList.get(listelem+1).equals("1..*")) {
-									Constrecteur.append("List<"+associationList.get(listelem)+"> "+associationList.get(listelem).toLowerCase()+", ");
-								}
-								else Constrecteur.append(associationList.get(listelem)+" "+associationList.get(listelem).toLowerCase()+", ");
-							}
-							else {
-								
-								if(associationList.get(listelem+1).equals("*") || associationList.get(listelem+1).equals("0..*") || associationList.get(listelem+1).equals("1..*")) {
-									Constrecteur.append("List<"+associationList.get(listelem)+"> "+associationList.get(listelem).toLowerCase()+"){\n");
-								}
-								else Constrecteur.append(associationList.get(listelem)+" "+associationList.get(listelem).toLowerCase()+"){\n");
-								
-							}
-						}
-					}
-					}
-					if(SuperClasse.equals(""))
-					Constrecteur.append("\t\t"+Super+"\n");
-					else
-						Constrecteur.append("\t\t"+Super+");\n");
-					}
-				
-				ConstAttributes.add(attr.getChildText("name"));
-			}
-			
-			
-			for(int constlist=0;constlist<ConstAttributes.size();constlist++) {
-				Constrecteur.append("\t\tthis."+ConstAttributes.get(constlist)+" = "+ConstAttributes.get(constlist)+";\n");
-			}
-			if(Aggr.length() != 0 ) Constrecteur.append(Aggr);
-			if(Compo.length() != 0) Constrecteur.append(Compo);
-			
-			
-			//We start defining the methodes in each classe
-			Constrecteur.append("\t}\n\n\t//methodes");
-			code.append(Constrecteur);
-			Constrecteur = new StringBuilder();
-			ConstAttributes.clear();
-			
-			//Get the methodes inside the methodes element
-			Element methodes = currentClasse.getChild("methodes");
-			methodelist = methodes.getChildren();
-			for(int k=0;k<methodelist.size();k++) {
-				Element methode = methodelist.get(k);
-				Element methodeR = methode.getChild("name");
-				methodeparams = methode.getChild("parametres").getChildren();
-				code.append("\n\t"+methodeR.getAttribute("visibility").getValue()+" "+methodeR.getAttribute("typeR").getValue()+" "+methodeR.getText()+"(");
-				for(int param=0;param<methodeparams.size();param++) {
-					Element parameter = methodeparams.get(param);
-					String parType = parameter.getChild("name").getText();
-					String parName = parameter.getChild("name").getAttribute("type").getValue();
-					
-					if(!parType.isEmpty() && !parName.isEmpty()) {
-						if(param != methodeparams.size()-1) code.append(parType+" "+parName+", ");
-						else code.append(parType+" "+parName);
-					}
-				}
-				if(k!=methodelist.size()-1) code.append("){\n\t//function body\n\t}\n");
-				else code.append("){\n\t//function body\n\t}\n}\n");
-			}
-			System.out.println(code);
-			
-			
-			try {
-				String repl2 = repl.replace(".xml", "");
-			    File folder = new File("src\\org\\jetuml\\aGenerateJava\\Diagram_"+repl2);
-			    boolean success = folder.mkdir();
-	            BufferedWriter writer = new BufferedWriter(new FileWriter(folder+"\\"+currentClasse.getAttribute("name").getValue()+".java"));
-	            writer.write(code.toString()); // Write the StringBuilder contents to the file
-	            writer.close();
-	        } catch (IOException e) {
-	            e.printStackTrace();
-	        }
+		DiagramModel model = DiagramModel.from(getSelectedDiagramTab().getDiagram());
+		String diagramName = generatedDiagramName();
+		Task<Void> generation = new Task<Void>()
+		{
+			@Override
+			protected Void call() throws IOException
+			{
+				updateMessage(diagramName);
+				SourceCodeGenerator.generate(model, diagramName, Paths.get("src", "org", "jetuml", "aGenerateJava"), 
+						GenerationOptions.DEFAULT, (pCompleted, pTotal) -> updateProgress(pCompleted, pTotal));
+				return null;
 			}
-		System.out.println(SQL);
-		String Newrep = title.replace(".class.jet", "");
-		File folder = new File("src\\org\\jetuml\\aGenerateJava\\Diagram_"+Newrep);
-		BufferedWriter writerSQL = new BufferedWriter(new FileWriter(folder+"\\"+Newrep+".sql"));
-        writerSQL.write(SQL.toString()); // Write the StringBuilder contents to the file
-        writerSQL.close();
+		};
+		generation.setOnFailed(pEvent -> showGenerationError(generation.getException()));
+		new ProgressDialog(aMainStage, RESOURCES.getString("file.generate_source_code.text"), generation).show();
+		Thread thread = new Thread(generation);
+		thread.setDaemon(true);
+		thread.start();
 	}
 	
-	public class ClassesRelation {
-		private String RelationType; //agregation/composition...
-		private String RelationName; //Learn, Read, Teach...
-		private String DepartClasse;
-		private String ArraivalClasse;
-		private String ArraivalClasseMultiplicity;
-		
-		public ClassesRelation(String RelationType,String RelationName,String DepartClasse,String ArraivalClasse,String ArraivalClasseMultiplicity) {
-			this.RelationType = RelationType;
-			this.RelationName = RelationName;
-			this.DepartClasse = DepartClasse;
-			this.ArraivalClasse = ArraivalClasse;
-			this.ArraivalClasseMultiplicity = ArraivalClasseMultiplicity;
-		}
-
-		public String getRelationType() {
-			return RelationType;
-		}
-		
-		public void setRelationType(String relationType) {
-			RelationType = relationType;
-		}
-		
-		public String getRelationName() {
-			return RelationName;
-		}
-		
-		public void setRelationName(String relationName) {
-			RelationName = relationName;
-		}
-		
-		public String getDepartClasse() {
-			return DepartClasse;
-		}
-		
-		public void setDepartClasse(String departClasse) {
-			DepartClasse = departClasse;
-		}
-		
-		public String getArraivalClasse() {
-			return ArraivalClasse;
-		}
-		
-		public void setArraivalClasse(String arraivalClasse) {
-			ArraivalClasse = arraivalClasse;
-		}
-		
-		public String getArraivalClasseMultiplicity() {
-			return ArraivalClasseMultiplicity;
+	/*
+	 * Exports the XML description of the diagram in the selected tab. 
+	 * The XML file is not needed to generate the source code.
+	 */
+	private void generateXml()
+	{
+		try
+		{
+			Path folder = Paths.get("src", "org", "jetuml", "aGenerateXml");
+			Files.createDirectories(folder);
+			XmlExporter.write(XmlExporter.export(DiagramModel.from(getSelectedDiagramTab().getDiagram())), 
+					folder.resolve(generatedDiagramName() + XML_EXTENSION));
+			new AboutDialogGer(aMainStage).show();
 		}
-		
-		public void setArraivalClasseMultiplicity(String arraivalClasseMultiplicity) {
-			ArraivalClasseMultiplicity = arraivalClasseMultiplicity;
+		catch(IOException exception)
+		{
+			showGenerationError(exception);
 		}
-		
-		public boolean exists(List<ClassesRelation> mylist,String classe) {
-			for(ClassesRelation relation : mylist) {
-				if(relation.getDepartClasse().equals(classe)) return true;
-			}
-			return false;
+	}
+	
+	/*
+	 * The name of the file of the selected diagram, without extension, 
+	 * or a default name if the diagram was never saved.
+	 */
+	private String generatedDiagramName()
+	{
+		Optional<File> file = getSelectedDiagramTab().getFile();
+		if( !file.isPresent() )
+		{
+			return UNTITLED_DIAGRAM;
 		}
+		String name = file.get().getName();
+		int extension = name.indexOf('.');
+		return extension > 0 ? name.substring(0, extension) : name;
 	}
 	
+	/*
+	 * Reports pException, with its message or its type if it has no message.
+	 */
+	private void showGenerationError(Throwable pException)
+	{
+		String cause = pException.getMessage() != null ? pException.getMessage() : pException.toString();
+		Alert alert = new Alert(AlertType.ERROR, String.format(RESOURCES.getString("error.generate_code"), cause), 
+				ButtonType.OK);
+		alert.initOwner(aMainStage);
+		alert.showAndWait();
+	}
+
 	private FileChooser getImageFileChooser(File pInitialDirectory, String pInitialFormat) 
 	{
 		assert pInitialDirectory.exists() && pInitialDirectory.isDirectory();
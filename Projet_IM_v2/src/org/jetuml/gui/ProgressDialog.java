@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.gui;
+
+import static org.jetuml.application.ApplicationResources.RESOURCES;
+
+import javafx.concurrent.Worker;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.image.Image;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Text;
+import javafx.stage.Stage;
+
+/**
+ * A non-modal dialog that shows the progress of a background 
+ * task and closes itself when the task is done. The rest of the 
+ * UI remains usable while the dialog is shown.
+ */
+public class ProgressDialog 
+{
+	private static final int SPACING = 10;
+	private static final int WIDTH = 300;
+	
+	private final Stage aStage = new Stage();
+	
+	/**
+	 * Creates a new dialog for pWorker.
+	 * 
+	 * @param pOwner The stage that owns this stage.
+	 * @param pTitle The title of the dialog.
+	 * @param pWorker The task whose progress is shown.
+	 * @pre pOwner != null && pTitle != null && pWorker != null
+	 */
+	public ProgressDialog( Stage pOwner, String pTitle, Worker<?> pWorker )
+	{
+		assert pOwner != null && pTitle != null && pWorker != null;
+		aStage.setResizable(false);
+		aStage.initOwner(pOwner);
+		aStage.setTitle(pTitle);
+		aStage.getIcons().add(new Image(RESOURCES.getString("application.icon")));
+		aStage.setScene(createScene(pWorker));
+		pWorker.runningProperty().addListener((pObservable, pOldValue, pNewValue) -> 
+		{
+			if( !pNewValue )
+			{
+				aStage.close();
+			}
+		});
+	}
+	
+	private static Scene createScene(Worker<?> pWorker) 
+	{
+		ProgressBar progress = new ProgressBar();
+		progress.setPrefWidth(WIDTH);
+		progress.progressProperty().bind(pWorker.progressProperty());
+		Text message = new Text();
+		message.textProperty().bind(pWorker.messageProperty());
+		VBox layout = new VBox(SPACING, message, progress);
+		layout.setPadding(new Insets(SPACING));
+		return new Scene(layout);
+	}
+	
+	/**
+	 * Shows the dialog without waiting for it to close.
+	 */
+	public void show() 
+	{
+		aStage.show();
+	}
+}
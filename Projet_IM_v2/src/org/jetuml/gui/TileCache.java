@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2022 by McGill University.
+ *
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.gui;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.jetuml.application.UserPreferences;
+import org.jetuml.application.UserPreferences.BooleanPreference;
+import org.jetuml.diagram.DiagramElement;
+import org.jetuml.geom.Point;
+import org.jetuml.geom.Rectangle;
+import org.jetuml.rendering.DiagramRenderer;
+import org.jetuml.rendering.Grid;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.transform.Transform;
+
+/**
+ * Images of the square tiles that a diagram canvas is divided into, each
+ * showing the grid and the elements of the diagram drawn on the tile. Drawing
+ * a region of the canvas copies the images of the tiles it overlaps, so that
+ * the elements are only drawn again on the tiles where their drawing changed.
+ * All the elements are drawn on the tiles, in the order of the diagram, so
+ * only the selection handles and tools are expected to be drawn over them.
+ */
+final class TileCache
+{
+	private static final int TILE_SIZE = 256;
+	/* The number of tile images to keep, as a multiple of the number of tiles 
+	 * that the last region drawn overlaps. The images of the tiles used the
+	 * least recently are discarded first. */
+	private static final int TILES_PER_DRAWN_TILE = 2;
+	/* The number of pixels around the bounds of elements that they can draw on,
+	 * with their shadows. */
+	private static final int DAMAGE_MARGIN = 10;
+
+	private final DiagramRenderer aRenderer;
+	private final Canvas aTileCanvas = new Canvas(TILE_SIZE, TILE_SIZE);
+	@SuppressWarnings("serial")
+	private final Map<Point, WritableImage> aTiles = new LinkedHashMap<>(16, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Point, WritableImage> pEldest)
+		{
+			return size() > aMaxTiles;
+		}
+	};
+	private int aMaxTiles = TILES_PER_DRAWN_TILE;
+	/* The number of pixels of the screen per unit of the canvas that the images were drawn for. */
+	private double aScale = 1;
+	private Map<DiagramElement, DrawnElement> aDrawn = new IdentityHashMap<>();
+
+	/**
+	 * Creates a cache without any tile image.
+	 *
+	 * @param pRenderer The renderer of the diagram drawn on the tiles.
+	 * @param pLineWidth The width of the lines drawn on the tiles.
+	 * @pre pRenderer != null
+	 */
+	TileCache(DiagramRenderer pRenderer, double pLineWidth)
+	{
+		assert pRenderer != null;
+		aRenderer = pRenderer;
+		aTileCanvas.getGraphicsContext2D().setLineWidth(pLineWidth);
+	}
+
+	/**
+	 * Discards the images of all the tiles, for example because the
+	 * grid was shown or hidden.
+	 */
+	void invalidateAll()
+	{
+		aTiles.clear();
+	}
+
+	/**
+	 * Discards the images of the tiles on which the elements of the diagram
+	 * are drawn differently than on the current images. The elements whose
+	 * drawing changed are the ones added to or removed from the diagram,
+	 * and the ones whose bounds or drawing inputs changed.
+	 */
+	void update()
+	{
+		aRenderer.layout();
+		Map<DiagramElement, DrawnElement> drawn = new IdentityHashMap<>();
+		aRenderer.diagram().allNodes().forEach(node -> drawn.put(node, drawnElement(node)));
+		aRenderer.diagram().edges().forEach(edge -> drawn.put(edge, drawnElement(edge)));
+		if( !aTiles.isEmpty() )
+		{
+			for( Map.Entry<DiagramElement, DrawnElement> entry : drawn.entrySet() )
+			{
+				DrawnElement previous = aDrawn.remove(entry.getKey());
+				if( !entry.getValue().equals(previous) )
+				{
+					invalidate(entry.getValue().aBounds);
+					if( previous != null )
+					{
+						invalidate(previous.aBounds);
+					}
+				}
+			}
+			aDrawn.values().forEach(removed -> invalidate(removed.aBounds));
+		}
+		aDrawn = drawn;
+	}
+
+	/**
+	 * Copies the images of the tiles that overlap pRegion onto pGraphics,
+	 * drawing the images that are missing. The tiles can extend beyond
+	 * pRegion, so pGraphics should be clipped to it. The cache keeps twice 
+	 * as many images as there are tiles in pRegion, so that the tiles around 
+	 * the region are kept when it moves. The images have as many pixels as 
+	 * the screen shows for the tiles, and are all drawn again when the 
+	 * canvas moves to a screen with a different scale.
+	 *
+	 * @param pGraphics The graphics context of the canvas.
+	 * @param pRegion The region of the canvas to draw.
+	 * @pre pGraphics != null && pRegion != null
+	 */
+	void draw(GraphicsContext pGraphics, Rectangle pRegion)
+	{
+		assert pGraphics != null && pRegion != null;
+		double scale = outputScale(pGraphics.getCanvas());
+		if( scale != aScale )
+		{
+			aScale = scale;
+			aTiles.clear();
+		}
+		int minColumn = pRegion.getX() / TILE_SIZE;
+		int minRow = pRegion.getY() / TILE_SIZE;
+		int maxColumn = (pRegion.getMaxX() + TILE_SIZE - 1) / TILE_SIZE;
+		int maxRow = (pRegion.getMaxY() + TILE_SIZE - 1) / TILE_SIZE;
+		aMaxTiles = TILES_PER_DRAWN_TILE * Math.max(1, (maxColumn - minColumn) * (maxRow - minRow));
+		for( Iterator<Point> tiles = aTiles.keySet().iterator(); aTiles.size() > aMaxTiles; )
+		{
+			tiles.next();
+			tiles.remove();
+		}
+		for( int row = minRow; row < maxRow; row++ )
+		{
+			for( int column = minColumn; column < maxColumn; column++ )
+			{
+				WritableImage image = aTiles.computeIfAbsent(new Point(column, row), this::drawTile);
+				pGraphics.drawImage(image, column * TILE_SIZE, row * TILE_SIZE, TILE_SIZE, TILE_SIZE);
+			}
+		}
+	}
+	
+	/*
+	 * The number of pixels of the screen per unit of pCanvas, 
+	 * or 1 if pCanvas is not shown.
+	 */
+	private static double outputScale(Canvas pCanvas)
+	{
+		if( pCanvas.getScene() == null || pCanvas.getScene().getWindow() == null )
+		{
+			return 1;
+		}
+		return Math.max(pCanvas.getScene().getWindow().getOutputScaleX(), 
+				pCanvas.getScene().getWindow().getOutputScaleY());
+	}
+
+	/*
+	 * Discards the images of the tiles that overlap the part of the canvas
+	 * where an element with bounds pBounds can draw.
+	 */
+	private void invalidate(Rectangle pBounds)
+	{
+		int minColumn = Math.floorDiv(pBounds.getX() - DAMAGE_MARGIN, TILE_SIZE);
+		int maxColumn = Math.floorDiv(pBounds.getMaxX() + DAMAGE_MARGIN, TILE_SIZE);
+		int minRow = Math.floorDiv(pBounds.getY() - DAMAGE_MARGIN, TILE_SIZE);
+		int maxRow = Math.floorDiv(pBounds.getMaxY() + DAMAGE_MARGIN, TILE_SIZE);
+		for( Iterator<Point> tiles = aTiles.keySet().iterator(); tiles.hasNext(); )
+		{
+			Point tile = tiles.next();
+			if( tile.getX() >= minColumn && tile.getX() <= maxColumn &&
+					tile.getY() >= minRow && tile.getY() <= maxRow )
+			{
+				tiles.remove();
+			}
+		}
+	}
+
+	/*
+	 * The elements whose drawing can reach the tile, with the margin, are drawn
+	 * on the tile canvas translated to the position of the tile.
+	 */
+	private WritableImage drawTile(Point pTile)
+	{
+		Rectangle tile = new Rectangle(pTile.getX() * TILE_SIZE, pTile.getY() * TILE_SIZE, TILE_SIZE, TILE_SIZE);
+		Rectangle reach = new Rectangle(tile.getX() - DAMAGE_MARGIN, tile.getY() - DAMAGE_MARGIN,
+				TILE_SIZE + 2 * DAMAGE_MARGIN, TILE_SIZE + 2 * DAMAGE_MARGIN);
+		GraphicsContext context = aTileCanvas.getGraphicsContext2D();
+		context.save();
+		context.setFill(Color.WHITE);
+		context.fillRect(0, 0, TILE_SIZE, TILE_SIZE);
+		context.translate(-tile.getX(), -tile.getY());
+		if(UserPreferences.instance().getBoolean(BooleanPreference.showGrid))
+		{
+			Grid.draw(context, tile);
+		}
+		aRenderer.draw(context, element -> aRenderer.getBounds(element).intersects(reach));
+		context.restore();
+		SnapshotParameters parameters = new SnapshotParameters();
+		parameters.setTransform(Transform.scale(aScale, aScale));
+		return aTileCanvas.snapshot(parameters, null);
+	}
+
+	private DrawnElement drawnElement(DiagramElement pElement)
+	{
+		return new DrawnElement(aRenderer.getBounds(pElement), aRenderer.drawingInputs(pElement));
+	}
+
+	/*
+	 * The bounds of an element and the other values its drawing depends on.
+	 */
+	private static final class DrawnElement
+	{
+		private final Rectangle aBounds;
+		private final List<Object> aInputs;
+
+		DrawnElement(Rectangle pBounds, List<Object> pInputs)
+		{
+			aBounds = pBounds;
+			aInputs = pInputs;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return Objects.hash(aBounds, aInputs);
+		}
+
+		@Override
+		public boolean equals(Object pObject)
+		{
+			if( this == pObject )
+			{
+				return true;
+			}
+			if( pObject == null || pObject.getClass() != getClass() )
+			{
+				return false;
+			}
+			DrawnElement other = (DrawnElement) pObject;
+			return aBounds.equals(other.aBounds) && aInputs.equals(other.aInputs);
+		}
+	}
+}
@@ -20,6 +20,9 @@
  *******************************************************************************/
 package org.jetuml.persistence;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.Node;
 
@@ -30,6 +33,8 @@ import org.jetuml.diagram.Node;
  */
 public class DeserializationContext extends AbstractContext
 {
+	private final Map<Integer, Node> aNodesById = new HashMap<>();
+	
 	/**
 	 * Initializes an empty context and associates it with
 	 * pDiagram.
@@ -53,6 +58,7 @@ public class DeserializationContext extends AbstractContext
 	{
 		assert pNode != null;
 		aNodes.put(pNode, pId);
+		aNodesById.put(pId, pNode);
 	}
 	
 	/**
@@ -62,14 +68,7 @@ public class DeserializationContext extends AbstractContext
 	 */
 	public Node getNode(int pId)
 	{
-		for( Node node : this )
-		{
-			if( aNodes.get(node) == pId )
-			{
-				return node;
-			}
-		}
-		assert false;
-		return null;
+		assert aNodesById.containsKey(pId);
+		return aNodesById.get(pId);
 	}
 }
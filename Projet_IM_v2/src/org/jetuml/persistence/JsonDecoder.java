@@ -20,6 +20,14 @@
  *******************************************************************************/
 package org.jetuml.persistence;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.jetuml.application.Version;
 import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.DiagramType;
 import org.jetuml.diagram.Edge;
@@ -29,9 +37,12 @@ import org.jetuml.geom.Point;
 import org.jetuml.persistence.json.JsonArray;
 import org.jetuml.persistence.json.JsonException;
 import org.jetuml.persistence.json.JsonObject;
+import org.jetuml.persistence.json.JsonReader;
 
 /**
- * Converts a JSONObject to a versioned diagram.
+ * Converts a JSONObject to a versioned diagram. Diagrams can also be decoded
+ * from a JsonReader, one node or edge at a time, without the JSONObject for
+ * the entire diagram.
  */
 public final class JsonDecoder
 {
@@ -64,6 +75,153 @@ public final class JsonDecoder
 		}
 	}
 	
+	/**
+	 * Decodes a diagram from the text read by pReader, creating each node and edge
+	 * as soon as its encoding is read. Diagrams saved with a version of JetUML that
+	 * is not compatible with the current one cannot be decoded this way, because the
+	 * version is only known once the diagram is read. They need to be migrated from
+	 * the JSONObject of the entire diagram.
+	 * 
+	 * @param pReader A reader positioned before the encoding of a diagram.
+	 * @return The decoded diagram, or empty if the encoding has no version or a version
+	 *     that is not compatible with the current one.
+	 * @throws IOException If the text cannot be read.
+	 * @throws JsonException If the text is not valid JSON.
+	 * @throws DeserializationException If it's not possible to decode the text into a valid diagram.
+	 * @pre pReader != null
+	 */
+	public static Optional<VersionedDiagram> decode(JsonReader pReader) throws IOException
+	{
+		assert pReader != null;
+		String diagramType = null;
+		Version version = null;
+		Map<Integer, Node> nodes = null;
+		Map<Integer, JsonArray> children = new LinkedHashMap<>();
+		List<DecodedEdge> edges = null;
+		RuntimeException failure = null;
+		pReader.beginObject();
+		while( pReader.hasNext() )
+		{
+			String name = pReader.nextName();
+			if( name.equals("diagram") )
+			{
+				diagramType = pReader.nextString();
+			}
+			else if( name.equals("version") )
+			{
+				version = Version.parse(pReader.nextString());
+			}
+			else if( name.equals("nodes") && failure == null )
+			{
+				nodes = new LinkedHashMap<>();
+				failure = decodeNodes(pReader, nodes, children);
+			}
+			else if( name.equals("edges") && failure == null )
+			{
+				edges = new ArrayList<>();
+				failure = decodeEdges(pReader, edges);
+			}
+			else
+			{
+				pReader.skipValue();
+			}
+		}
+		pReader.endObject();
+		
+		if( version == null || !version.compatibleWith(Version.CURRENT) )
+		{
+			return Optional.empty();
+		}
+		try
+		{
+			if( failure != null )
+			{
+				throw failure;
+			}
+			if( diagramType == null || nodes == null || edges == null )
+			{
+				throw new JsonException("Missing diagram type, nodes, or edges");
+			}
+			Diagram diagram = new Diagram(DiagramType.fromName(diagramType));
+			DeserializationContext context = new DeserializationContext(diagram);
+			nodes.forEach((id, node) -> context.addNode(node, id));
+			children.forEach((id, ids) -> restoreChildren(context, context.getNode(id), ids));
+			restoreRootNodes(context);
+			for( DecodedEdge edge : edges )
+			{
+				edge.aEdge.connect(context.getNode(edge.aStart), context.getNode(edge.aEnd));
+				diagram.addEdge(edge.aEdge);
+			}
+			return Optional.of(new VersionedDiagram(diagram, version, false));
+		}
+		catch( JsonException | IllegalArgumentException exception )
+		{
+			throw new DeserializationException("Cannot decode serialized object", exception);
+		}
+	}
+	
+	/*
+	 * Creates the nodes encoded in the array read by pReader. The children of each node are
+	 * restored once all the nodes are known. If a node cannot be decoded, the rest of the array
+	 * is skipped and the problem is returned instead of thrown, because the diagram can still
+	 * turn out to need a migration.
+	 */
+	private static RuntimeException decodeNodes(JsonReader pReader, Map<Integer, Node> pNodes, 
+			Map<Integer, JsonArray> pChildren) throws IOException
+	{
+		RuntimeException failure = null;
+		pReader.beginArray();
+		while( pReader.hasNext() )
+		{
+			JsonObject object = pReader.nextObject();
+			try
+			{
+				if( failure == null )
+				{
+					int id = object.getInt("id");
+					pNodes.put(id, decodeNode(object));
+					if( object.hasProperty("children") )
+					{
+						pChildren.put(id, object.getJsonArray("children"));
+					}
+				}
+			}
+			catch( JsonException | IllegalArgumentException | DeserializationException exception )
+			{
+				failure = exception;
+			}
+		}
+		pReader.endArray();
+		return failure;
+	}
+	
+	/*
+	 * Creates the edges encoded in the array read by pReader. They are connected to their
+	 * nodes once all the nodes are known. Failures are handled as in decodeNodes.
+	 */
+	private static RuntimeException decodeEdges(JsonReader pReader, List<DecodedEdge> pEdges) throws IOException
+	{
+		RuntimeException failure = null;
+		pReader.beginArray();
+		while( pReader.hasNext() )
+		{
+			JsonObject object = pReader.nextObject();
+			try
+			{
+				if( failure == null )
+				{
+					pEdges.add(new DecodedEdge(decodeEdge(object), object.getInt("start"), object.getInt("end")));
+				}
+			}
+			catch( JsonException | IllegalArgumentException | DeserializationException exception )
+			{
+				failure = exception;
+			}
+		}
+		pReader.endArray();
+		return failure;
+	}
+	
 	/* 
 	 * Extracts information about nodes from pObject and creates new objects
 	 * to represent them.
@@ -74,22 +232,31 @@ public final class JsonDecoder
 		JsonArray nodes = pObject.getJsonArray("nodes");
 		for( int i = 0; i < nodes.size(); i++ )
 		{
-			try
-			{
-				JsonObject object = nodes.getJsonObject(i);
-				Class<?> nodeClass = Class.forName(PREFIX_NODES + object.getString("type"));
-				Node node = (Node) nodeClass.getDeclaredConstructor().newInstance();
-				node.moveTo(new Point(object.getInt("x"), object.getInt("y")));
-				for( Property property : node.properties() )
-				{
-					property.set(object.get(property.name().external()));
-				}
-				pContext.addNode(node, object.getInt("id"));
-			}
-			catch( ReflectiveOperationException exception )
+			JsonObject object = nodes.getJsonObject(i);
+			pContext.addNode(decodeNode(object), object.getInt("id"));
+		}
+	}
+	
+	/* 
+	 * Creates the node encoded in pObject, without its children.
+	 * throws Deserialization Exception
+	 */
+	private static Node decodeNode(JsonObject pObject)
+	{
+		try
+		{
+			Class<?> nodeClass = Class.forName(PREFIX_NODES + pObject.getString("type"));
+			Node node = (Node) nodeClass.getDeclaredConstructor().newInstance();
+			node.moveTo(new Point(pObject.getInt("x"), pObject.getInt("y")));
+			for( Property property : node.properties() )
 			{
-				throw new DeserializationException("Cannot instantiate serialized object", exception);
+				property.set(pObject.get(property.name().external()));
 			}
+			return node;
+		}
+		catch( ReflectiveOperationException exception )
+		{
+			throw new DeserializationException("Cannot instantiate serialized object", exception);
 		}
 	}
 	
@@ -119,16 +286,19 @@ public final class JsonDecoder
 			JsonObject object = nodes.getJsonObject(i);
 			if( object.hasProperty("children"))
 			{
-				Node node = pContext.getNode( object.getInt("id"));
-				JsonArray children = object.getJsonArray("children");
-				for( int j = 0; j < children.size(); j++ )
-				{
-					node.addChild(pContext.getNode(children.getInt(j)));
-				}
+				restoreChildren(pContext, pContext.getNode(object.getInt("id")), object.getJsonArray("children"));
 			}
 		}
 	}
 	
+	private static void restoreChildren(DeserializationContext pContext, Node pNode, JsonArray pChildren)
+	{
+		for( int j = 0; j < pChildren.size(); j++ )
+		{
+			pNode.addChild(pContext.getNode(pChildren.getInt(j)));
+		}
+	}
+	
 	/* 
 	 * Extracts information about nodes from pObject and creates new objects
 	 * to represent them.
@@ -139,23 +309,49 @@ public final class JsonDecoder
 		JsonArray edges = pObject.getJsonArray("edges");
 		for( int i = 0; i < edges.size(); i++ )
 		{
-			try
-			{
-				JsonObject object = edges.getJsonObject(i);
-				Class<?> edgeClass = Class.forName(PREFIX_EDGES + object.getString("type"));
-				Edge edge = (Edge) edgeClass.getDeclaredConstructor().newInstance();
-				
-				for( Property property : edge.properties())
-				{
-					property.set(object.get(property.name().external()));
-				}
-				edge.connect(pContext.getNode(object.getInt("start")), pContext.getNode(object.getInt("end")));
-				pContext.pDiagram().addEdge(edge);
-			}
-			catch( ReflectiveOperationException exception )
+			JsonObject object = edges.getJsonObject(i);
+			Edge edge = decodeEdge(object);
+			edge.connect(pContext.getNode(object.getInt("start")), pContext.getNode(object.getInt("end")));
+			pContext.pDiagram().addEdge(edge);
+		}
+	}
+	
+	/* 
+	 * Creates the edge encoded in pObject, without connecting it.
+	 * throws Deserialization Exception
+	 */
+	private static Edge decodeEdge(JsonObject pObject)
+	{
+		try
+		{
+			Class<?> edgeClass = Class.forName(PREFIX_EDGES + pObject.getString("type"));
+			Edge edge = (Edge) edgeClass.getDeclaredConstructor().newInstance();
+			for( Property property : edge.properties())
 			{
-				throw new DeserializationException("Cannot instantiate serialized object", exception);
+				property.set(pObject.get(property.name().external()));
 			}
+			return edge;
+		}
+		catch( ReflectiveOperationException exception )
+		{
+			throw new DeserializationException("Cannot instantiate serialized object", exception);
+		}
+	}
+	
+	/*
+	 * An edge and the identifiers of the nodes it connects.
+	 */
+	private static final class DecodedEdge
+	{
+		private final Edge aEdge;
+		private final int aStart;
+		private final int aEnd;
+		
+		DecodedEdge(Edge pEdge, int pStart, int pEnd)
+		{
+			aEdge = pEdge;
+			aStart = pStart;
+			aEnd = pEnd;
 		}
 	}
 }
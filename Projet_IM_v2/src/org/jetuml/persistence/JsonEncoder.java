@@ -20,7 +20,7 @@
  *******************************************************************************/
 package org.jetuml.persistence;
 
-import org.jetuml.JetUML;
+import org.jetuml.application.Version;
 import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.Edge;
 import org.jetuml.diagram.Node;
@@ -49,7 +49,7 @@ public final class JsonEncoder
 		assert pDiagram != null;
 		
 		JsonObject object = new JsonObject();
-		object.put("version", JetUML.VERSION.toString());
+		object.put("version", Version.CURRENT.toString());
 		object.put("diagram", pDiagram.getName());
 		SerializationContext context = new SerializationContext(pDiagram);
 		object.put("nodes", encodeNodes(context));
@@ -28,11 +28,13 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.util.Optional;
 
 import org.jetuml.diagram.Diagram;
 import org.jetuml.persistence.json.JsonException;
-import org.jetuml.persistence.json.JsonParser;
+import org.jetuml.persistence.json.JsonReader;
 
 /**
  * Services for saving and loading Diagram objects. The files are encoded
@@ -62,7 +64,10 @@ public final class PersistenceService
 	}
 	
 	/**
-	 * Reads a diagram from a file.
+	 * Reads a diagram from a file. The nodes and edges are created as the file
+	 * is read, except if the diagram needs to be migrated from an earlier version, 
+	 * in which case the file is read again to obtain the JSON object of the 
+	 * entire diagram.
 	 * 
 	 * @param pFile The file to read the diagram from.
 	 * @return The diagram that is read in
@@ -73,16 +78,31 @@ public final class PersistenceService
 	public static VersionedDiagram read(File pFile) throws IOException, DeserializationException
 	{
 		assert pFile != null;
-		try( BufferedReader in = new BufferedReader(
-				new InputStreamReader(new FileInputStream(pFile), StandardCharsets.UTF_8)))
+		try
 		{
+			Optional<VersionedDiagram> diagram;
+			try( Reader in = newReader(pFile) )
+			{
+				diagram = JsonDecoder.decode(new JsonReader(in));
+			}
+			if( diagram.isPresent() )
+			{
+				return diagram.get();
+			}
 			// Extra wrapper to support backward compatibility. Eventually take down the migrator.
-			// Replace VersionMigrator.migrate with JSonDecoder.decode
-			return new VersionMigrator().migrate(JsonParser.parse(in.readLine())); 
+			try( Reader in = newReader(pFile) )
+			{
+				return new VersionMigrator().migrate(new JsonReader(in).nextObject()); 
+			}
 		}
 		catch( JsonException e )
 		{
 			throw new DeserializationException("Cannot decode the file", e);
 		}
 	}
+	
+	private static Reader newReader(File pFile) throws IOException
+	{
+		return new BufferedReader(new InputStreamReader(new FileInputStream(pFile), StandardCharsets.UTF_8));
+	}
 }
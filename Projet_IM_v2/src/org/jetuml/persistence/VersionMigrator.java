@@ -33,7 +33,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import org.jetuml.JetUML;
 import org.jetuml.application.Version;
 import org.jetuml.persistence.json.JsonArray;
 import org.jetuml.persistence.json.JsonException;
@@ -96,7 +95,7 @@ public final class VersionMigrator
 	{
 		Version version = Version.parse(pDiagram.getString("version"));
 
-		if( version.compatibleWith(JetUML.VERSION)) // We don't need to migrate the diagram, it's compatible
+		if( version.compatibleWith(Version.CURRENT)) // We don't need to migrate the diagram, it's compatible
 		{
 			return new VersionedDiagram(JsonDecoder.decode(pDiagram), version, false);
 		}
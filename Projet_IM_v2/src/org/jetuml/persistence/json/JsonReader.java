@@ -0,0 +1,606 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.persistence.json;
+
+import static java.lang.Character.isISOControl;
+import static java.lang.Character.isWhitespace;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads a JSON text from a character stream one token at a time, so that
+ * clients can process large documents without building the JsonObject for
+ * the entire document. Clients pull the tokens in the order of the text:
+ * peek returns the type of the next token, and the other methods consume
+ * it. The characters are read from the stream in blocks of BUFFER_SIZE
+ * characters, as the tokens are consumed.
+ *
+ * The reader supports the same subset of JSON as JsonParser. It is only
+ * expected to be traversed once. Any syntax error is reported with a
+ * JsonParsingException at the position of the character where it was found.
+ */
+public final class JsonReader
+{
+	/**
+	 * The types of tokens of a JSON text.
+	 */
+	public enum Token
+	{ BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, INTEGER, BOOLEAN, END_DOCUMENT }
+
+	private static final CharacterEscapes CHARACTER_ESCAPES = new CharacterEscapes();
+	private static final int BUFFER_SIZE = 8192;
+	private static final int NUMBER_OF_UNICODE_DIGITS = 4;
+	private static final int RADIX_HEXADECIMAL = 16;
+	private static final int END_OF_INPUT = -1;
+
+	private static final char CHAR_START_OBJECT = '{';
+	private static final char CHAR_END_OBJECT = '}';
+	private static final char CHAR_START_ARRAY = '[';
+	private static final char CHAR_END_ARRAY = ']';
+	private static final char CHAR_COMMA = ',';
+	private static final char CHAR_COLON = ':';
+	private static final char CHAR_QUOTE = '"';
+	private static final char CHAR_ESCAPE = '\\';
+	private static final char CHAR_UNICODE_ESCAPE = 'u';
+	private static final char CHAR_MINUS = '-';
+	private static final char CHAR_ZERO = '0';
+	private static final char CHAR_NINE = '9';
+	private static final String TRUE = Boolean.TRUE.toString();
+	private static final String FALSE = Boolean.FALSE.toString();
+
+	/* The states of the reader in the document, object or array being read. */
+	private static final int EMPTY_DOCUMENT = 0;
+	private static final int NONEMPTY_DOCUMENT = 1;
+	private static final int EMPTY_OBJECT = 2;
+	private static final int NAME_READ = 3;
+	private static final int NONEMPTY_OBJECT = 4;
+	private static final int EMPTY_ARRAY = 5;
+	private static final int NONEMPTY_ARRAY = 6;
+
+	private final Reader aInput;
+	private final char[] aBuffer = new char[BUFFER_SIZE];
+	private int aIndex;
+	private int aLimit;
+	/* The position of the last character read in the whole text. */
+	private int aPosition = -1;
+	private final StringBuilder aString = new StringBuilder();
+
+	private int[] aStates = new int[16];
+	private int aDepth = 1;
+	private Token aPeeked;
+
+	/**
+	 * Creates a reader positioned before the first token of pInput.
+	 *
+	 * @param pInput The stream of JSON text to read. It is not closed by the reader.
+	 * @pre pInput != null
+	 */
+	public JsonReader(Reader pInput)
+	{
+		assert pInput != null;
+		aInput = pInput;
+		aStates[0] = EMPTY_DOCUMENT;
+	}
+
+	/**
+	 * Returns the type of the next token without consuming it.
+	 *
+	 * @return The type of the next token, END_DOCUMENT if there is none.
+	 * @throws IOException If the stream cannot be read.
+	 * @throws JsonParsingException If the next token is not valid at this position.
+	 */
+	public Token peek() throws IOException
+	{
+		if( aPeeked == null )
+		{
+			aPeeked = readToken();
+		}
+		return aPeeked;
+	}
+
+	/**
+	 * @return True if there is another name in the current object
+	 *     or another value in the current array.
+	 * @throws IOException If the stream cannot be read.
+	 */
+	public boolean hasNext() throws IOException
+	{
+		Token next = peek();
+		return next != Token.END_OBJECT && next != Token.END_ARRAY && next != Token.END_DOCUMENT;
+	}
+
+	/**
+	 * Consumes the opening brace of an object.
+	 *
+	 * @throws IOException If the stream cannot be read.
+	 * @throws JsonParsingException If the next token is not the beginning of an object.
+	 */
+	public void beginObject() throws IOException
+	{
+		consume(Token.BEGIN_OBJECT);
+		push(EMPTY_OBJECT);
+	}
+
+	/**
+	 * Consumes the closing brace of the current object.
+	 *
+	 * @throws IOException If the stream cannot be read.
+	 * @throws JsonParsingException If the next token is not the end of an object.
+	 */
+	public void endObject() throws IOException
+	{
+		consume(Token.END_OBJECT);
+		aDepth--;
+	}
+
+	/**
+	 * Consumes the opening bracket of an array.
+	 *
+	 * @throws IOException If the stream cannot be read.
+	 * @throws JsonParsingException If the next token is not the beginning of an array.
+	 */
+	public void beginArray() throws IOException
+	{
+		consume(Token.BEGIN_ARRAY);
+		push(EMPTY_ARRAY);
+	}
+
+	/**
+	 * Consumes the closing bracket of the current array.
+	 *
+	 * @throws IOException If the stream cannot be read.
+	 * @throws JsonParsingException If the next token is not the end of an array.
+	 */
+	public void endArray() throws IOException
+	{
+		consume(Token.END_ARRAY);
+		aDepth--;
+	}
+
+	/**
+	 * @return The next name of the current object.
+	 * @throws IOException If the stream cannot be read.
+	 * @throws JsonParsingException If the next token is not a valid name.
+	 */
+	public String nextName() throws IOException
+	{
+		consume(Token.NAME);
+		return readString();
+	}
+
+	/**
+	 * @return The next string value.
+	 * @throws IOException If the stream cannot be read.
+	 * @throws JsonParsingException If the next token is not a valid string.
+	 */
+	public String nextString() throws IOException
+	{
+		consume(Token.STRING);
+		return readString();
+	}
+
+	/**
+	 * @return The next integer value.
+	 * @throws IOException If the stream cannot be read.
+	 * @throws JsonParsingException If the next token is not a valid integer.
+	 */
+	public int nextInt() throws IOException
+	{
+		consume(Token.INTEGER);
+		return readInteger();
+	}
+
+	/**
+	 * @return The next boolean value.
+	 * @throws IOException If the stream cannot be read.
+	 * @throws JsonParsingException If the next token is not a valid boolean.
+	 */
+	public boolean nextBoolean() throws IOException
+	{
+		consume(Token.BOOLEAN);
+		return readBoolean();
+	}
+
+	/**
+	 * Reads the next value, including all the values it contains if it
+	 * is an object or an array.
+	 *
+	 * @return The next value, as a String, Integer, Boolean, JsonObject, or JsonArray.
+	 * @throws IOException If the stream cannot be read.
+	 * @throws JsonParsingException If the next value is not valid.
+	 */
+	public Object nextValue() throws IOException
+	{
+		switch( peek() )
+		{
+		case STRING:
+			return nextString();
+		case INTEGER:
+			return nextInt();
+		case BOOLEAN:
+			return nextBoolean();
+		case BEGIN_OBJECT:
+			return nextObject();
+		case BEGIN_ARRAY:
+			List<Object> values = new ArrayList<>();
+			beginArray();
+			while( hasNext() )
+			{
+				values.add(nextValue());
+			}
+			endArray();
+			return new JsonArray(values);
+		default:
+			throw new JsonParsingException(aPosition);
+		}
+	}
+
+	/**
+	 * Reads the next object, including all the values it contains.
+	 *
+	 * @return The next object.
+	 * @throws IOException If the stream cannot be read.
+	 * @throws JsonParsingException If the next value is not a valid object.
+	 */
+	public JsonObject nextObject() throws IOException
+	{
+		JsonObject object = new JsonObject();
+		beginObject();
+		while( hasNext() )
+		{
+			String name = nextName();
+			if( object.hasProperty(name) )
+			{
+				throw new JsonParsingException(aPosition);
+			}
+			object.put(name, nextValue());
+		}
+		endObject();
+		return object;
+	}
+
+	/**
+	 * Consumes the next value, including all the values it contains if it
+	 * is an object or an array, without keeping them.
+	 *
+	 * @throws IOException If the stream cannot be read.
+	 * @throws JsonParsingException If the next value is not valid.
+	 */
+	public void skipValue() throws IOException
+	{
+		int depth = 0;
+		do
+		{
+			switch( peek() )
+			{
+			case BEGIN_OBJECT:
+				beginObject();
+				depth++;
+				break;
+			case BEGIN_ARRAY:
+				beginArray();
+				depth++;
+				break;
+			case END_OBJECT:
+				endObject();
+				depth--;
+				break;
+			case END_ARRAY:
+				endArray();
+				depth--;
+				break;
+			case NAME:
+				nextName();
+				break;
+			case STRING:
+				nextString();
+				break;
+			case INTEGER:
+				nextInt();
+				break;
+			case BOOLEAN:
+				nextBoolean();
+				break;
+			default:
+				throw new JsonParsingException(aPosition);
+			}
+		} while( depth > 0 );
+	}
+
+	/*
+	 * Checks that the next token is pToken and marks it as consumed.
+	 * The characters of names and values that follow the first one
+	 * are read by the caller.
+	 */
+	private void consume(Token pToken) throws IOException
+	{
+		if( peek() != pToken )
+		{
+			throw new JsonParsingException(aPosition);
+		}
+		aPeeked = null;
+	}
+
+	private void push(int pState)
+	{
+		if( aDepth == aStates.length )
+		{
+			aStates = Arrays.copyOf(aStates, aDepth * 2);
+		}
+		aStates[aDepth++] = pState;
+	}
+
+	/*
+	 * Reads the characters up to the first one of the next token, included,
+	 * except for integers, whose first character is left to read. Updates
+	 * the state of the current object or array so that the next call
+	 * expects what can follow the token.
+	 */
+	private Token readToken() throws IOException
+	{
+		int state = aStates[aDepth - 1];
+		if( state == EMPTY_DOCUMENT )
+		{
+			aStates[aDepth - 1] = NONEMPTY_DOCUMENT;
+			return readValueToken(nextNonBlank());
+		}
+		else if( state == NONEMPTY_DOCUMENT )
+		{
+			if( nextNonBlank() != END_OF_INPUT )
+			{
+				throw new JsonParsingException(aPosition);
+			}
+			return Token.END_DOCUMENT;
+		}
+		else if( state == EMPTY_ARRAY || state == NONEMPTY_ARRAY )
+		{
+			int next = nextNonBlank();
+			if( next == CHAR_END_ARRAY )
+			{
+				return Token.END_ARRAY;
+			}
+			if( state == NONEMPTY_ARRAY )
+			{
+				expect(next, CHAR_COMMA);
+				next = nextNonBlank();
+			}
+			aStates[aDepth - 1] = NONEMPTY_ARRAY;
+			return readValueToken(next);
+		}
+		else if( state == NAME_READ )
+		{
+			expect(nextNonBlank(), CHAR_COLON);
+			aStates[aDepth - 1] = NONEMPTY_OBJECT;
+			return readValueToken(nextNonBlank());
+		}
+		else
+		{
+			int next = nextNonBlank();
+			if( next == CHAR_END_OBJECT )
+			{
+				return Token.END_OBJECT;
+			}
+			if( state == NONEMPTY_OBJECT )
+			{
+				expect(next, CHAR_COMMA);
+				next = nextNonBlank();
+			}
+			expect(next, CHAR_QUOTE);
+			aStates[aDepth - 1] = NAME_READ;
+			return Token.NAME;
+		}
+	}
+
+	private Token readValueToken(int pFirst) throws IOException
+	{
+		if( pFirst == CHAR_START_OBJECT )
+		{
+			return Token.BEGIN_OBJECT;
+		}
+		else if( pFirst == CHAR_START_ARRAY )
+		{
+			return Token.BEGIN_ARRAY;
+		}
+		else if( pFirst == CHAR_QUOTE )
+		{
+			return Token.STRING;
+		}
+		else if( pFirst == TRUE.charAt(0) || pFirst == FALSE.charAt(0) )
+		{
+			backUp();
+			return Token.BOOLEAN;
+		}
+		else if( pFirst == CHAR_MINUS || isDigit(pFirst) )
+		{
+			backUp();
+			return Token.INTEGER;
+		}
+		throw new JsonParsingException(aPosition);
+	}
+
+	/*
+	 * Reads the characters of a string up to its closing quote,
+	 * the opening quote having been read.
+	 */
+	private String readString() throws IOException
+	{
+		aString.setLength(0);
+		while( true )
+		{
+			int next = nextCharacter();
+			if( next == END_OF_INPUT || isISOControl(next) )
+			{
+				throw new JsonParsingException(aPosition);
+			}
+			else if( next == CHAR_QUOTE )
+			{
+				return aString.toString();
+			}
+			else if( next == CHAR_ESCAPE )
+			{
+				aString.append(readEscape());
+			}
+			else
+			{
+				aString.append((char) next);
+			}
+		}
+	}
+
+	private char readEscape() throws IOException
+	{
+		int next = nextCharacter();
+		if( next != END_OF_INPUT && CHARACTER_ESCAPES.isSymbol((char) next) )
+		{
+			return CHARACTER_ESCAPES.getCodePoint((char) next);
+		}
+		else if( next == CHAR_UNICODE_ESCAPE )
+		{
+			int codePoint = 0;
+			for( int i = 0; i < NUMBER_OF_UNICODE_DIGITS; i++ )
+			{
+				next = nextCharacter();
+				int digit = next == END_OF_INPUT ? -1 : Character.digit((char) next, RADIX_HEXADECIMAL);
+				if( digit < 0 )
+				{
+					throw new JsonParsingException(aPosition);
+				}
+				codePoint = codePoint * RADIX_HEXADECIMAL + digit;
+			}
+			return (char) codePoint;
+		}
+		throw new JsonParsingException(aPosition);
+	}
+
+	/*
+	 * Integers cannot have leading zeros, and negative integers cannot
+	 * start with a zero.
+	 */
+	private int readInteger() throws IOException
+	{
+		int next = nextCharacter();
+		boolean negative = next == CHAR_MINUS;
+		if( negative )
+		{
+			next = nextCharacter();
+		}
+		if( !isDigit(next) || negative && next == CHAR_ZERO )
+		{
+			throw new JsonParsingException(aPosition);
+		}
+		long value = next - CHAR_ZERO;
+		next = nextCharacter();
+		while( isDigit(next) )
+		{
+			if( value == 0 || value > Integer.MAX_VALUE )
+			{
+				throw new JsonParsingException(aPosition);
+			}
+			value = value * 10 + next - CHAR_ZERO;
+			next = nextCharacter();
+		}
+		if( next != END_OF_INPUT )
+		{
+			backUp();
+		}
+		if( value > (negative ? (long) Integer.MAX_VALUE + 1 : Integer.MAX_VALUE) )
+		{
+			throw new JsonParsingException(aPosition);
+		}
+		return (int) (negative ? -value : value);
+	}
+
+	private boolean readBoolean() throws IOException
+	{
+		boolean value = nextCharacter() == TRUE.charAt(0);
+		String expected = value ? TRUE : FALSE;
+		for( int i = 1; i < expected.length(); i++ )
+		{
+			if( nextCharacter() != expected.charAt(i) )
+			{
+				throw new JsonParsingException(aPosition);
+			}
+		}
+		return value;
+	}
+
+	private void expect(int pCharacter, char pExpected)
+	{
+		if( pCharacter != pExpected )
+		{
+			throw new JsonParsingException(aPosition);
+		}
+	}
+
+	private static boolean isDigit(int pCharacter)
+	{
+		return pCharacter >= CHAR_ZERO && pCharacter <= CHAR_NINE;
+	}
+
+	private int nextNonBlank() throws IOException
+	{
+		int next = nextCharacter();
+		while( next != END_OF_INPUT && isWhitespace(next) )
+		{
+			next = nextCharacter();
+		}
+		return next;
+	}
+
+	/*
+	 * Returns the next character, reading the next block of the stream
+	 * when the buffer is consumed, or END_OF_INPUT.
+	 */
+	private int nextCharacter() throws IOException
+	{
+		if( aIndex == aLimit )
+		{
+			int read = aInput.read(aBuffer, 0, aBuffer.length);
+			while( read == 0 )
+			{
+				read = aInput.read(aBuffer, 0, aBuffer.length);
+			}
+			if( read == END_OF_INPUT )
+			{
+				return END_OF_INPUT;
+			}
+			aIndex = 0;
+			aLimit = read;
+		}
+		aPosition++;
+		return aBuffer[aIndex++];
+	}
+
+	/*
+	 * Moves back by one character, which is always in the buffer
+	 * because it was the last one read.
+	 */
+	private void backUp()
+	{
+		assert aIndex > 0;
+		aIndex--;
+		aPosition--;
+	}
+}
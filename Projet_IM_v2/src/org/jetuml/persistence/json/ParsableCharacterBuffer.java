@@ -64,7 +64,7 @@ class ParsableCharacterBuffer extends CharacterBuffer
 	String next(int pNumberOfCharacters)
 	{
 		assert pNumberOfCharacters >= 0;
-		StringBuffer result = new StringBuffer();
+		StringBuilder result = new StringBuilder();
 		for( int i = 0; i < pNumberOfCharacters; i++ )
 		{
 			result.append(next());
@@ -17,15 +17,25 @@
  ******************************************************************************/
 package org.jetuml.rendering;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
 
+import org.jetuml.application.UserPreferences;
+import org.jetuml.application.UserPreferences.IntegerPreference;
 import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.DiagramElement;
 import org.jetuml.diagram.DiagramType;
 import org.jetuml.diagram.Edge;
 import org.jetuml.diagram.Node;
+import org.jetuml.diagram.Property;
 import org.jetuml.diagram.edges.NoteEdge;
 import org.jetuml.diagram.nodes.NoteNode;
 import org.jetuml.diagram.nodes.PointNode;
@@ -48,8 +58,43 @@ import javafx.scene.canvas.GraphicsContext;
  */
 public abstract class AbstractDiagramRenderer implements DiagramRenderer
 {
+	/*
+	 * The distance beyond their bounds at which elements can be hit. It must be 
+	 * at least as large as the selection distance of any element renderer.
+	 */
+	private static final int HIT_MARGIN = 6;
+	
 	private final IdentityHashMap<Class<? extends DiagramElement>, DiagramElementRenderer> aRenderers = new IdentityHashMap<>();
 	private final Diagram aDiagram;
+	
+	/*
+	 * The hit bounds of the elements, used to find the elements at a point without 
+	 * testing all of them. Each index is brought up to date when it is used. After a 
+	 * change to the structure of the diagram or to the font size, all the elements 
+	 * are indexed again, and the elements that were removed are dropped. Otherwise, 
+	 * only the elements affected by the elements changed since the last update are 
+	 * indexed again, with the edges whose paths changed.
+	 */
+	private final SpatialIndex<Node> aNodeIndex = new SpatialIndex<>();
+	private final SpatialIndex<Edge> aEdgeIndex = new SpatialIndex<>();
+	private long aNodeIndexStructure = -1;
+	private long aNodeIndexChanges;
+	private long aEdgeIndexStructure = -1;
+	private long aEdgeIndexChanges;
+	/*
+	 * The position of each node in allNodes() when the node index was last rebuilt, 
+	 * which does not change until the structure of the diagram changes.
+	 */
+	private final Map<Node, Integer> aNodeOrder = new IdentityHashMap<>();
+	/*
+	 * The edges whose paths changed since the edge index was last brought up to date.
+	 */
+	private final Set<Edge> aChangedPaths = Collections.newSetFromMap(new IdentityHashMap<>());
+	/*
+	 * Changes to the geometry that are not recorded by the diagram or its elements. 
+	 */
+	private long aFontChanges;
+	private int aFontSize;
 
 	/*
 	 * Add renderers for elements that are present in all diagrams. 
@@ -79,34 +124,97 @@ public abstract class AbstractDiagramRenderer implements DiagramRenderer
 	public void draw(GraphicsContext pGraphics)
 	{
 		assert pGraphics != null;
-		activateNodeStorages();
-		aDiagram.rootNodes().forEach(node -> drawNode(node, pGraphics));
-		aDiagram.edges().forEach(edge -> draw(edge, pGraphics));
-		deactivateAndClearNodeStorages();
+		draw(pGraphics, element -> true);
+	}
+	
+	@Override
+	public void draw(GraphicsContext pGraphics, Rectangle pRegion)
+	{
+		assert pGraphics != null && pRegion != null;
+		draw(pGraphics, element -> getBounds(element).intersects(pRegion));
+	}
+	
+	@Override
+	public void draw(GraphicsContext pGraphics, Predicate<DiagramElement> pVisible)
+	{
+		assert pGraphics != null && pVisible != null;
+		aDiagram.rootNodes().forEach(node -> drawNode(node, pGraphics, pVisible));
+		aDiagram.edges().stream().filter(pVisible).forEach(edge -> draw(edge, pGraphics));
 	}
 
-	/**
-	 * Activates all the NodeStorages of the NodeViewers present in the renderer.
+	/*
+	 * The edges of the diagrams rendered by this class are drawn between 
+	 * their connection points.
 	 */
-	protected void activateNodeStorages()
+	@Override
+	public List<Object> drawingInputs(DiagramElement pElement)
 	{
-		aRenderers.values().stream().filter(renderer -> NodeRenderer.class.isAssignableFrom(renderer.getClass()))
-				.map(NodeRenderer.class::cast).forEach(NodeRenderer::activateNodeStorage);
+		assert pElement != null;
+		List<Object> inputs = new ArrayList<>();
+		for( Property property : pElement.properties() )
+		{
+			inputs.add(property.get());
+		}
+		if( pElement instanceof Edge )
+		{
+			inputs.add(getConnectionPoints((Edge) pElement));
+		}
+		return inputs;
 	}
 
-	/**
-	 * Deactivates and clears all the NodeStorages of the NodeViewers present in the renderer.
+	/*
+	 * The edges of the diagrams rendered by this class are computed from 
+	 * their nodes when they are drawn, so there is nothing to compute.
 	 */
-	protected void deactivateAndClearNodeStorages()
+	@Override
+	public Collection<Edge> layout()
 	{
-		aRenderers.values().stream().filter(renderer -> NodeRenderer.class.isAssignableFrom(renderer.getClass()))
-				.map(NodeRenderer.class::cast).forEach(NodeRenderer::deactivateAndClearNodeStorage);
+		return Collections.emptyList();
+	}
+	
+	/*
+	 * The edges of the diagrams rendered by this class only depend on the 
+	 * nodes they connect.
+	 */
+	@Override
+	public Set<DiagramElement> elementsAffectedByMoving(Iterable<Node> pNodes)
+	{
+		assert pNodes != null;
+		Set<DiagramElement> result = Collections.newSetFromMap(new IdentityHashMap<>());
+		for( Node node : pNodes )
+		{
+			addWithChildren(node, result);
+			Node ancestor = node;
+			while( ancestor.hasParent() )
+			{
+				ancestor = ancestor.getParent();
+				result.add(ancestor);
+			}
+		}
+		for( DiagramElement element : List.copyOf(result) )
+		{
+			aDiagram.edgesConnectedTo((Node) element).forEach(result::add);
+		}
+		return result;
+	}
+	
+	private static void addWithChildren(Node pNode, Set<DiagramElement> pElements)
+	{
+		pElements.add(pNode);
+		pNode.getChildren().forEach(child -> addWithChildren(child, pElements));
 	}
 
-	protected void drawNode(Node pNode, GraphicsContext pGraphics)
+	/*
+	 * The children of a node that is not visible are still tested, because 
+	 * they are not always inside the bounds of their parent.
+	 */
+	protected void drawNode(Node pNode, GraphicsContext pGraphics, Predicate<DiagramElement> pVisible)
 	{
-		draw(pNode, pGraphics);
-		pNode.getChildren().forEach(node -> drawNode(node, pGraphics));
+		if( pVisible.test(pNode) )
+		{
+			draw(pNode, pGraphics);
+		}
+		pNode.getChildren().forEach(node -> drawNode(node, pGraphics, pVisible));
 	}
 
 	@Override
@@ -115,40 +223,246 @@ public abstract class AbstractDiagramRenderer implements DiagramRenderer
 		aRenderers.get(pElement.getClass()).draw(pElement, pGraphics);
 	}
 
+	/*
+	 * Returns the first edge in the order of the diagram that contains pPoint. 
+	 * Only the edges whose hit bounds contain pPoint are tested.
+	 */
 	@Override
 	public Optional<Edge> edgeAt(Point pPoint)
 	{
 		assert pPoint != null;
-		return aDiagram.edges().stream()
+		return edgeIndex().elementsAt(pPoint).stream()
 				.filter(edge -> contains(edge, pPoint))
 				.findFirst();
 	}
 
+	/*
+	 * Returns the deepest node that contains pPoint in the last root node
+	 * that has such a node, preferring the first child at each level. Only the
+	 * nodes whose hit bounds contain pPoint are tested. Because the nodes
+	 * are indexed in the order of allNodes(), the last node hit belongs to 
+	 * the last root node hit.
+	 */
 	@Override
 	public Optional<Node> nodeAt(Point pPoint)
 	{
 		assert pPoint != null;
-		return aDiagram.rootNodes().stream()
-				.map(node -> deepFindNode(node, pPoint))
-				.filter(Optional::isPresent)
-				.map(Optional::get)
-				.reduce((first, second) -> second);
+		Set<Node> hit = Collections.newSetFromMap(new IdentityHashMap<>());
+		Node last = null;
+		for( Node node : nodeIndex().elementsAt(pPoint) )
+		{
+			if( contains(node, pPoint) )
+			{
+				last = node;
+				Node ancestor = node;
+				while( hit.add(ancestor) && ancestor.hasParent() )
+				{
+					ancestor = ancestor.getParent();
+				}
+			}
+		}
+		if( last == null )
+		{
+			return Optional.empty();
+		}
+		Node result = last;
+		while( result.hasParent() )
+		{
+			result = result.getParent();
+		}
+		Optional<Node> child = firstChildIn(result, hit);
+		while( child.isPresent() )
+		{
+			result = child.get();
+			child = firstChildIn(result, hit);
+		}
+		return Optional.of(result);
 	}
-
-	protected Optional<Node> deepFindNode(Node pNode, Point pPoint) {
-	    assert pNode != null && pPoint != null;
-
-	    Optional<Node> foundNode = pNode.getChildren().stream()
-	            .map(node -> deepFindNode(node, pPoint))
-	            .filter(Optional::isPresent)
-	            .map(Optional::get)
-	            .findFirst();
-
-	    if (foundNode.isPresent()) {
-	        return foundNode;
-	    } else {
-	        return Optional.of(pNode).filter(originalNode -> contains(originalNode, pPoint));
-	    }
+	
+	private static Optional<Node> firstChildIn(Node pNode, Set<Node> pNodes)
+	{
+		return pNode.getChildren().stream().filter(pNodes::contains).findFirst();
+	}
+	
+	/**
+	 * Returns a rectangle that contains all the points at which pElement can be hit,
+	 * that is, at which contains(pElement, point) can be true. By default, the 
+	 * bounds of pElement enlarged by a margin that accounts for selection distances.
+	 * 
+	 * @param pElement The element to get the hit bounds of.
+	 * @return The hit bounds of pElement, or empty if pElement cannot be hit.
+	 * @pre pElement != null
+	 */
+	protected Optional<Rectangle> hitBounds(DiagramElement pElement)
+	{
+		assert pElement != null;
+		return Optional.of(enlarged(getBounds(pElement)));
+	}
+	
+	/**
+	 * @param pBounds The bounds of an element.
+	 * @return pBounds enlarged on each side by the margin at which elements can be hit.
+	 * @pre pBounds != null
+	 */
+	protected static Rectangle enlarged(Rectangle pBounds)
+	{
+		assert pBounds != null;
+		return new Rectangle(pBounds.getX() - HIT_MARGIN, pBounds.getY() - HIT_MARGIN, 
+				pBounds.getWidth() + 2 * HIT_MARGIN, pBounds.getHeight() + 2 * HIT_MARGIN);
+	}
+	
+	/**
+	 * For renderers that compute the paths of edges separately from their nodes, 
+	 * records that the paths of pEdges changed, so that the edges are found 
+	 * at their new position.
+	 * 
+	 * @param pEdges The edges whose paths changed.
+	 * @pre pEdges != null
+	 */
+	protected final void pathsChanged(Collection<Edge> pEdges)
+	{
+		assert pEdges != null;
+		aChangedPaths.addAll(pEdges);
+	}
+	
+	/**
+	 * The bounds of elements depend on the structure of the diagram, the position 
+	 * of nodes, the properties of elements, and the font size. Properties changed 
+	 * without using their Property object are not detected.
+	 * 
+	 * @return A number that changes whenever the bounds of the elements 
+	 *     of the diagram may have changed.
+	 */
+	protected long geometryVersion()
+	{
+		return structureVersion() + aDiagram.changeCount();
+	}
+	
+	/*
+	 * A number that changes whenever the structure of the diagram or the font size 
+	 * change, in which case the bounds of any element may have changed.
+	 */
+	private long structureVersion()
+	{
+		int fontSize = UserPreferences.instance().getInteger(IntegerPreference.fontSize);
+		if( fontSize != aFontSize )
+		{
+			aFontSize = fontSize;
+			aFontChanges++;
+		}
+		return aDiagram.modificationCount() + aFontChanges;
+	}
+	
+	private SpatialIndex<Node> nodeIndex()
+	{
+		long structure = structureVersion();
+		long changes = aDiagram.changeCount();
+		Optional<Set<DiagramElement>> affected = Optional.empty();
+		if( structure == aNodeIndexStructure )
+		{
+			affected = elementsAffectedByChangesSince(aNodeIndexChanges);
+		}
+		if( affected.isPresent() )
+		{
+			for( DiagramElement element : affected.get() )
+			{
+				if( element instanceof Node )
+				{
+					index(aNodeIndex, (Node) element, aNodeOrder.get(element));
+				}
+			}
+		}
+		else
+		{
+			aNodeOrder.clear();
+			List<Node> nodes = aDiagram.allNodes();
+			for( int i = 0; i < nodes.size(); i++ )
+			{
+				aNodeOrder.put(nodes.get(i), i);
+				index(aNodeIndex, nodes.get(i), i);
+			}
+			aNodeIndex.removeIf(node -> !aNodeOrder.containsKey(node));
+		}
+		aNodeIndexStructure = structure;
+		aNodeIndexChanges = changes;
+		return aNodeIndex;
+	}
+	
+	private SpatialIndex<Edge> edgeIndex()
+	{
+		long structure = structureVersion();
+		long changes = aDiagram.changeCount();
+		Optional<Set<DiagramElement>> affected = Optional.empty();
+		if( structure == aEdgeIndexStructure )
+		{
+			affected = elementsAffectedByChangesSince(aEdgeIndexChanges);
+		}
+		if( affected.isPresent() )
+		{
+			Set<DiagramElement> edges = affected.get();
+			edges.addAll(aChangedPaths);
+			for( DiagramElement element : edges )
+			{
+				if( element instanceof Edge )
+				{
+					index(aEdgeIndex, (Edge) element, aDiagram.indexOf((Edge) element));
+				}
+			}
+		}
+		else
+		{
+			List<Edge> edges = aDiagram.edges();
+			for( int i = 0; i < edges.size(); i++ )
+			{
+				index(aEdgeIndex, edges.get(i), i);
+			}
+			aEdgeIndex.removeIf(edge -> !aDiagram.contains(edge));
+		}
+		aChangedPaths.clear();
+		aEdgeIndexStructure = structure;
+		aEdgeIndexChanges = changes;
+		return aEdgeIndex;
+	}
+	
+	/*
+	 * The elements whose bounds may have changed because of the elements changed since 
+	 * the change count of the diagram was pChangeCount, or empty if the diagram no 
+	 * longer knows these elements. Only the elements still in the diagram are 
+	 * returned, and the structure of the diagram must not have changed since.
+	 */
+	private Optional<Set<DiagramElement>> elementsAffectedByChangesSince(long pChangeCount)
+	{
+		return aDiagram.elementsChangedSince(pChangeCount).map(changed -> 
+		{
+			List<Node> nodes = new ArrayList<>();
+			Set<DiagramElement> result = Collections.newSetFromMap(new IdentityHashMap<>());
+			for( DiagramElement element : changed )
+			{
+				if( element instanceof Node && aDiagram.contains(element) )
+				{
+					nodes.add((Node) element);
+				}
+				else if( element instanceof Edge && aDiagram.contains(element) )
+				{
+					result.add(element);
+				}
+			}
+			result.addAll(elementsAffectedByMoving(nodes));
+			return result;
+		});
+	}
+	
+	private <T extends DiagramElement> void index(SpatialIndex<T> pIndex, T pElement, int pOrder)
+	{
+		Optional<Rectangle> bounds = hitBounds(pElement);
+		if( bounds.isPresent() )
+		{
+			pIndex.put(pElement, bounds.get(), pOrder);
+		}
+		else
+		{
+			pIndex.remove(pElement);
+		}
 	}
 
 	@Override
@@ -23,17 +23,27 @@ package org.jetuml.rendering;
 import static java.util.stream.Collectors.toList;
 import static org.jetuml.rendering.EdgePriority.priorityOf;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
 
 import org.jetuml.diagram.Diagram;
+import org.jetuml.diagram.DiagramElement;
 import org.jetuml.diagram.DiagramType;
 import org.jetuml.diagram.Edge;
 import org.jetuml.diagram.Node;
+import org.jetuml.diagram.Property;
 import org.jetuml.diagram.edges.AggregationEdge;
 import org.jetuml.diagram.edges.AssociationEdge;
 import org.jetuml.diagram.edges.DependencyEdge;
@@ -66,10 +76,34 @@ import javafx.scene.canvas.GraphicsContext;
 public final class ClassDiagramRenderer extends AbstractDiagramRenderer
 {
 	private static final int TWENTY_PIXELS = 20;
+	/* The number of edges to lay out from which the independent groups of edges 
+	 * are laid out in parallel. */
+	private static final int PARALLEL_THRESHOLD = 256;
+	/* The number of partitions of the groups of edges per thread of the pool, 
+	 * so that the threads stay busy when the partitions take different times. */
+	private static final int PARTITIONS_PER_THREAD = 4;
+	
+	/*
+	 * The bounds and faces of the nodes, when they were computed before the layout 
+	 * for the renderers that lay out partitions of the edges. Empty otherwise.
+	 */
+	private final Map<Node, Rectangle> aFixedBounds;
+	private final Map<Node, Map<Side, Line>> aFixedFaces;
 	
 	public ClassDiagramRenderer(Diagram pDiagram)
+	{
+		this(pDiagram, Collections.emptyMap(), Collections.emptyMap());
+	}
+	
+	/*
+	 * A renderer that lays out edges of pDiagram using the bounds and faces 
+	 * in pBounds and pFaces for their nodes, so that it does not compute them. 
+	 */
+	private ClassDiagramRenderer(Diagram pDiagram, Map<Node, Rectangle> pBounds, Map<Node, Map<Side, Line>> pFaces)
 	{
 		super(pDiagram);
+		aFixedBounds = pBounds;
+		aFixedFaces = pFaces;
 		addElementRenderer(ClassNode.class, new TypeNodeRenderer(this));
 		addElementRenderer(InterfaceNode.class, new InterfaceNodeRenderer(this));
 		addElementRenderer(PackageNode.class, new PackageNodeRenderer(this));
@@ -84,26 +118,25 @@ public final class ClassDiagramRenderer extends AbstractDiagramRenderer
 	}
 
 	/**
-	 * Draws pDiagram onto pGraphics.
+	 * Draws the elements of pDiagram that satisfy pVisible onto pGraphics.
+	 * The paths of all the edges are planned, since they depend on each other.
 	 * 
 	 * @param pGraphics the graphics context where the
 	 *     diagram should be drawn.
-	 * @param pDiagram the diagram to draw.
-	 * @pre pDiagram != null && pGraphics != null.
+	 * @param pVisible the elements to draw.
+	 * @pre pVisible != null && pGraphics != null.
 	 */
 	@Override
-	public void draw(GraphicsContext pGraphics)
+	public void draw(GraphicsContext pGraphics, Predicate<DiagramElement> pVisible)
 	{
-		//draw and store nodes 
-		activateNodeStorages();
-		diagram().rootNodes().forEach(node -> drawNode(node, pGraphics));
+		//draw nodes 
+		diagram().rootNodes().forEach(node -> drawNode(node, pGraphics, pVisible));
 		
 		//plan edge paths using Layouter
 		layout();
 		
 		//draw edges using plan from EdgeStorage
-		diagram().edges().forEach(edge -> draw(edge, pGraphics));
-		deactivateAndClearNodeStorages();
+		diagram().edges().stream().filter(pVisible).forEach(edge -> draw(edge, pGraphics));
 	}
 	
 	@Override
@@ -121,24 +154,308 @@ public final class ClassDiagramRenderer extends AbstractDiagramRenderer
 	private static final int TEN_PIXELS = 10;
 	
 	private final EdgeStorage aEdgeStorage = new EdgeStorage();
+	/*
+	 * The geometry version at the last layout. The layout only depends on the 
+	 * geometry, so the paths of the edges only change if the version does.
+	 */
+	private long aLayoutVersion = -1;
+	/*
+	 * The geometry that each group of edges was last laid out with, 
+	 * by the first edge of the group. See layoutKey.
+	 */
+	private final Map<Edge, List<Object>> aLayoutKeys = new IdentityHashMap<>();
 
 	/**
 	 * Uses positional information of nodes and stored edges to layout and store 
-	 * the EdgePaths of edges in pDiagram.
-	 * @param pDiagram the diagram of interest
-	 * @pre pDiagram.getType() == DiagramType.CLASS
+	 * the EdgePaths of edges in pDiagram. The edges are not laid out again if the 
+	 * geometry of the diagram has not changed since the last layout. Otherwise, 
+	 * only the groups of edges whose geometry changed are laid out again. Because
+	 * the edges of different groups cannot have an effect on each other, the 
+	 * result is the same as if all the edges were laid out. For the same reason, 
+	 * when there are many edges to lay out, the groups are laid out in parallel.
+	 * 
+	 * @return The edges whose paths changed, in the order of the diagram.
+	 * @pre diagram().getType() == DiagramType.CLASS
 	 */
-	public void layout()
+	@Override
+	public List<Edge> layout()
 	{
 		assert diagram().getType() == DiagramType.CLASS;
-		aEdgeStorage.clearStorage();
-		layoutSegmentedEdges(EdgePriority.INHERITANCE);	
-		layoutSegmentedEdges(EdgePriority.IMPLEMENTATION);
-		layoutSegmentedEdges(EdgePriority.AGGREGATION);
-		layoutSegmentedEdges(EdgePriority.COMPOSITION);
-		layoutSegmentedEdges(EdgePriority.ASSOCIATION);
-		layoutDependencyEdges();
-		layoutSelfEdges();
+		long version = geometryVersion();
+		if( version == aLayoutVersion )
+		{
+			return Collections.emptyList();
+		}
+		aLayoutVersion = version;
+		
+		List<Edge> storedEdges = diagram().edges().stream()
+				.filter(EdgePriority::isStoredEdge)
+				.collect(toList());
+		Map<Node, List<Point>> connectionPoints = new IdentityHashMap<>();
+		for( Edge edge : storedEdges )
+		{
+			connectionPoints.computeIfAbsent(edge.getStart(), this::connectionPoints);
+			connectionPoints.computeIfAbsent(edge.getEnd(), this::connectionPoints);
+		}
+		Map<Edge, List<Object>> keys = new IdentityHashMap<>();
+		Set<Edge> edgesToLayout = Collections.newSetFromMap(new IdentityHashMap<>());
+		List<List<Edge>> dirtyGroups = new ArrayList<>();
+		for( List<Edge> group : independentGroups(storedEdges, connectionPoints) )
+		{
+			List<Object> key = layoutKey(group, connectionPoints);
+			if( !key.equals(aLayoutKeys.get(group.get(0))) || !group.stream().allMatch(aEdgeStorage::contains) )
+			{
+				edgesToLayout.addAll(group);
+				dirtyGroups.add(group);
+			}
+			keys.put(group.get(0), key);
+		}
+		aLayoutKeys.clear();
+		aLayoutKeys.putAll(keys);
+		
+		Map<Edge, EdgePath> previousPaths = new IdentityHashMap<>();
+		for( Edge edge : edgesToLayout )
+		{
+			getStoredEdgePath(edge).ifPresent(path -> previousPaths.put(edge, path));
+		}
+		aEdgeStorage.removeIf(edge -> edgesToLayout.contains(edge) || !diagram().contains(edge));
+		if( dirtyGroups.size() > 1 && edgesToLayout.size() >= PARALLEL_THRESHOLD )
+		{
+			layoutInParallel(dirtyGroups, storedEdges, connectionPoints.keySet());
+		}
+		else
+		{
+			layoutEdges(storedEdges.stream().filter(edgesToLayout::contains).collect(toList()));
+		}
+		List<Edge> result = diagram().edges().stream()
+				.filter(edgesToLayout::contains)
+				.filter(edge -> !getStoredEdgePath(edge).equals(Optional.ofNullable(previousPaths.get(edge))))
+				.collect(toList());
+		pathsChanged(result);
+		return result;
+	}
+	
+	/*
+	 * Lays out pEdges, which are in the order of the diagram, by priority.
+	 */
+	private void layoutEdges(List<Edge> pEdges)
+	{
+		Set<Edge> edges = Collections.newSetFromMap(new IdentityHashMap<>());
+		edges.addAll(pEdges);
+		layoutSegmentedEdges(withPriority(EdgePriority.INHERITANCE, edges));	
+		layoutSegmentedEdges(withPriority(EdgePriority.IMPLEMENTATION, edges));
+		layoutSegmentedEdges(withPriority(EdgePriority.AGGREGATION, edges));
+		layoutSegmentedEdges(withPriority(EdgePriority.COMPOSITION, edges));
+		layoutSegmentedEdges(withPriority(EdgePriority.ASSOCIATION, edges));
+		layoutDependencyEdges(withPriority(EdgePriority.DEPENDENCY, edges));
+		layoutSelfEdges(withPriority(EdgePriority.SELF_EDGE, edges));
+	}
+	
+	/*
+	 * The candidates are the edges of the diagram of the type that can have pPriority,
+	 * which are shared between the priority levels and the layouts until the diagram 
+	 * is modified. The result is in the order of the diagram.
+	 */
+	private List<Edge> withPriority(EdgePriority pPriority, Set<Edge> pEdges)
+	{
+		return diagram().edgesOfType(EdgePriority.edgeType(pPriority)).stream()
+			.filter(edge -> priorityOf(edge) == pPriority && pEdges.contains(edge))
+			.collect(toList());
+	}
+	
+	/*
+	 * The groups are divided into partitions of about the same number of edges, which 
+	 * are laid out on the common fork/join pool, each by a renderer with its own storage. 
+	 * Because the layout of a group only depends on its own edges, this gives the same 
+	 * paths as laying out the groups one after the other in one storage. The bounds and 
+	 * faces of the nodes and the edges of each type are computed beforehand, since computing 
+	 * them is not thread-safe.
+	 * The paths are then stored in the order of the partitions, which follows the order 
+	 * of the first edge of each group in pStoredEdges, so the order of the storage does 
+	 * not depend on the scheduling of the threads.
+	 */
+	private void layoutInParallel(List<List<Edge>> pGroups, List<Edge> pStoredEdges, Set<Node> pNodes)
+	{
+		Map<Node, Rectangle> bounds = new IdentityHashMap<>();
+		Map<Node, Map<Side, Line>> faces = new IdentityHashMap<>();
+		for( Node node : pNodes )
+		{
+			bounds.put(node, getBounds(node));
+			Map<Side, Line> nodeFaces = new EnumMap<>(Side.class);
+			for( Side side : Side.values() )
+			{
+				nodeFaces.put(side, getFace(node, side));
+			}
+			faces.put(node, nodeFaces);
+		}
+		for( EdgePriority priority : EdgePriority.values() )
+		{
+			diagram().edgesOfType(EdgePriority.edgeType(priority));
+		}
+		
+		Map<Edge, Integer> order = new IdentityHashMap<>();
+		for( Edge edge : pStoredEdges )
+		{
+			order.put(edge, order.size());
+		}
+		List<List<Edge>> groups = new ArrayList<>(pGroups);
+		groups.sort(Comparator.comparing(group -> order.get(group.get(0))));
+		int edges = groups.stream().mapToInt(List::size).sum();
+		int partitionSize = Math.max(1, edges / (ForkJoinPool.getCommonPoolParallelism() * PARTITIONS_PER_THREAD));
+		List<List<Edge>> partitions = new ArrayList<>();
+		List<Edge> partition = new ArrayList<>();
+		for( List<Edge> group : groups )
+		{
+			partition.addAll(group);
+			if( partition.size() >= partitionSize )
+			{
+				partitions.add(partition);
+				partition = new ArrayList<>();
+			}
+		}
+		if( !partition.isEmpty() )
+		{
+			partitions.add(partition);
+		}
+		
+		List<EdgeStorage> storages = partitions.parallelStream()
+				.map(edgesOfPartition -> 
+				{
+					edgesOfPartition.sort(Comparator.comparing(order::get));
+					ClassDiagramRenderer renderer = new ClassDiagramRenderer(diagram(), bounds, faces);
+					renderer.layoutEdges(edgesOfPartition);
+					return renderer.aEdgeStorage;
+				})
+				.collect(toList());
+		storages.forEach(aEdgeStorage::storeAll);
+	}
+	
+	/*
+	 * Partitions pEdges into groups that can be laid out independently of 
+	 * each other. The layout of an edge only reads the stored edges that share one of its 
+	 * nodes, and whether the connection points it can use are used by stored edges. Two edges 
+	 * are thus in the same group if they share a node, or if a connection point that one of 
+	 * them can use is a connection point that the other can use, directly or through other 
+	 * edges. The edges of each group are in the order of pEdges.
+	 */
+	private static Collection<List<Edge>> independentGroups(List<Edge> pEdges, Map<Node, List<Point>> pConnectionPoints)
+	{
+		Map<Node, Node> parents = new IdentityHashMap<>();
+		Map<Point, Node> owners = new HashMap<>();
+		for( Map.Entry<Node, List<Point>> entry : pConnectionPoints.entrySet() )
+		{
+			parents.put(entry.getKey(), entry.getKey());
+			for( Point point : entry.getValue() )
+			{
+				Node owner = owners.putIfAbsent(point, entry.getKey());
+				if( owner != null )
+				{
+					parents.put(root(parents, owner), root(parents, entry.getKey()));
+				}
+			}
+		}
+		for( Edge edge : pEdges )
+		{
+			parents.put(root(parents, edge.getStart()), root(parents, edge.getEnd()));
+		}
+		Map<Node, List<Edge>> groups = new IdentityHashMap<>();
+		for( Edge edge : pEdges )
+		{
+			groups.computeIfAbsent(root(parents, edge.getStart()), node -> new ArrayList<>()).add(edge);
+		}
+		return groups.values();
+	}
+	
+	private static Node root(Map<Node, Node> pParents, Node pNode)
+	{
+		Node root = pNode;
+		while( pParents.get(root) != root )
+		{
+			root = pParents.get(root);
+		}
+		Node node = pNode;
+		while( node != root )
+		{
+			Node parent = pParents.get(node);
+			pParents.put(node, root);
+			node = parent;
+		}
+		return root;
+	}
+	
+	/*
+	 * All the points where an edge can connect to pNode: the NodeIndex points on each 
+	 * of its sides, and the points of self-edges at each of its corners.
+	 */
+	private List<Point> connectionPoints(Node pNode)
+	{
+		List<Point> result = new ArrayList<>();
+		for( Side side : Side.values() )
+		{
+			Line face = getFace(pNode, side);
+			int center = NodeIndex.ZERO.ordinal();
+			for( int ordinal = center - NodeIndex.maxIndex(side); ordinal <= center + NodeIndex.maxIndex(side); ordinal++ )
+			{
+				result.add(NodeIndex.values()[ordinal].toPoint(face, side));
+			}
+		}
+		for( NodeCorner corner : NodeCorner.values() )
+		{
+			result.addAll(Arrays.asList(toPoints(corner, pNode)));
+		}
+		return result;
+	}
+	
+	/*
+	 * Everything the layout of the edges in pGroup depends on: the edges, in order, with 
+	 * their nodes, priorities and labels, and the position, bounds and connection points 
+	 * of their nodes. Elements are compared by identity.
+	 */
+	private List<Object> layoutKey(List<Edge> pGroup, Map<Node, List<Point>> pConnectionPoints)
+	{
+		List<Object> key = new ArrayList<>();
+		Set<Node> nodes = Collections.newSetFromMap(new IdentityHashMap<>());
+		for( Edge edge : pGroup )
+		{
+			key.addAll(Arrays.asList(edge, edge.getStart(), edge.getEnd(), priorityOf(edge)));
+			if( edge instanceof ThreeLabelEdge )
+			{
+				key.add(((ThreeLabelEdge) edge).getStartLabel());
+				key.add(((ThreeLabelEdge) edge).getEndLabel());
+			}
+		}
+		for( Edge edge : pGroup )
+		{
+			for( Node node : Arrays.asList(edge.getStart(), edge.getEnd()) )
+			{
+				if( nodes.add(node) )
+				{
+					key.addAll(Arrays.asList(node, node.position(), getBounds(node), pConnectionPoints.get(node)));
+				}
+			}
+		}
+		return key;
+	}
+	
+	/*
+	 * The connection points of the edges on a side of a node depend on the position
+	 * of the other nodes of these edges, so the edges of the nodes connected to the 
+	 * nodes that move are also affected.
+	 */
+	@Override
+	public Set<DiagramElement> elementsAffectedByMoving(Iterable<Node> pNodes)
+	{
+		Set<DiagramElement> result = super.elementsAffectedByMoving(pNodes);
+		List<Edge> edges = result.stream()
+				.filter(element -> element instanceof Edge)
+				.map(Edge.class::cast)
+				.collect(toList());
+		for( Edge edge : edges )
+		{
+			diagram().edgesConnectedTo(edge.getStart()).forEach(result::add);
+			diagram().edgesConnectedTo(edge.getEnd()).forEach(result::add);
+		}
+		return result;
 	}
 	
 	public boolean isEmpty()
@@ -151,19 +468,12 @@ public final class ClassDiagramRenderer extends AbstractDiagramRenderer
 		return aEdgeStorage.contains(pEdge);
 	}
 	
-	/**
-	 * Plans the EdgePaths for all segmented edges in pDiagram with EdgePriority pEdgePriority.
-	 * @param pDiagram the diagram to layout
-	 * @param pEdgePriority the edge priority level 
-	 * @pre pDiagram.getType() == DiagramType.CLASS
-	 * @pre EdgePriority.isSegmented(pEdgePriority)
+	/*
+	 * Plans the EdgePaths for pEdges, which are segmented edges of the same priority.
 	 */
-	private void layoutSegmentedEdges(EdgePriority pEdgePriority)
+	private void layoutSegmentedEdges(List<Edge> pEdges)
 	{
-		assert diagram().getType() == DiagramType.CLASS;
-		assert EdgePriority.isSegmented(pEdgePriority);
-		List<Edge> edgesToProcess = diagram().edges().stream()
-				.filter(edge -> priorityOf(edge) == pEdgePriority)
+		List<Edge> edgesToProcess = pEdges.stream()
 				.sorted(Comparator.comparing(edge -> edge.getStart().position().getX()))
 				.collect(toList());
 				
@@ -190,35 +500,27 @@ public final class ClassDiagramRenderer extends AbstractDiagramRenderer
 		}
 	}
 	
-	
-	/**
-	 * Plans the EdgePaths for Dependency Edges.
+	/*
+	 * Plans the EdgePaths for pEdges, which are dependency edges.
 	 */
-	private void layoutDependencyEdges()
+	private void layoutDependencyEdges(List<Edge> pEdges)
 	{
-		assert diagram().getType() == DiagramType.CLASS;
-		for (Edge edge : diagram().edges())
-		{
-			if (priorityOf(edge)==EdgePriority.DEPENDENCY)
-			{   //Determine the start and end connection points
-				Side attachedEndSide = attachedSide(edge, edge.getEnd());
-				Point startPoint = getConnectionPoint(edge.getStart(), edge, attachedEndSide.mirrored());
-				Point endPoint = getConnectionPoint(edge.getEnd(), edge, attachedEndSide);
-				//Store an EdgePath from startPoint to endPoint
-				aEdgeStorage.store(edge, new EdgePath(startPoint, endPoint));
-			}
+		for (Edge edge : pEdges)
+		{   //Determine the start and end connection points
+			Side attachedEndSide = attachedSide(edge, edge.getEnd());
+			Point startPoint = getConnectionPoint(edge.getStart(), edge, attachedEndSide.mirrored());
+			Point endPoint = getConnectionPoint(edge.getEnd(), edge, attachedEndSide);
+			//Store an EdgePath from startPoint to endPoint
+			aEdgeStorage.store(edge, new EdgePath(startPoint, endPoint));
 		}	
 	}
 	
-	/**
-	 * Plans the EdgePaths for self-edges in pDiagram.
+	/*
+	 * Plans the EdgePaths for pSelfEdges.
 	 */
-	private void layoutSelfEdges()
+	private void layoutSelfEdges(List<Edge> pSelfEdges)
 	{
-		List<Edge> selfEdges = diagram().edges().stream()
-			.filter(edge -> priorityOf(edge) == EdgePriority.SELF_EDGE)
-			.collect(toList());
-		for (Edge edge : selfEdges)
+		for (Edge edge : pSelfEdges)
 		{
 			//Determine the corner where the self-edge should be placed
 			NodeCorner corner = getSelfEdgeCorner(edge);
@@ -802,9 +1104,28 @@ public final class ClassDiagramRenderer extends AbstractDiagramRenderer
 	
 	private Line getFace(Node pNode, Side pSide)
 	{
+		if( aFixedFaces.containsKey(pNode) )
+		{
+			return aFixedFaces.get(pNode).get(pSide);
+		}
 		return ((NodeRenderer)rendererFor(pNode.getClass())).getFace(pNode, pSide);
 	}
 	
+	/*
+	 * The renderers that lay out a partition of the edges use the bounds of the 
+	 * nodes computed before the layout.
+	 */
+	@Override
+	public Rectangle getBounds(DiagramElement pElement)
+	{
+		Rectangle bounds = aFixedBounds.get(pElement);
+		if( bounds != null )
+		{
+			return bounds;
+		}
+		return super.getBounds(pElement);
+	}
+	
 	/**
 	 * Gets the vertical distance in pixels between the North side of pEndNode and the horizontal middle segment of pEdge.
 	 * @param pEndNode the end node of interest
@@ -992,30 +1313,12 @@ public final class ClassDiagramRenderer extends AbstractDiagramRenderer
 	private Point getConnectionPoint(Node pNode, Edge pEdge, Side pAttachmentSide)
 	{
 		assert pEdge.getStart() == pNode || pEdge.getEnd() == pNode;	
-		Line faceOfNode = getFace(pNode, pAttachmentSide);
 		//North and South node sides have connection points: -4 ...0... +4
 		//East and West node sides have connection points: -2 ...0... +2
-		int maxIndex = 4; 
-		if( pAttachmentSide.isVertical() )
-		{
-			maxIndex = 2; 
-		}
-		//Get the index sign (either -1 or +1)
-		int indexSign = getIndexSign(pEdge, pNode, pAttachmentSide);
 		//Get the first available connection point, starting at NodeIndex ZERO and moving outwards 
-		for (int offset = 0; offset <= maxIndex; offset++) 
-		{
-			int ordinal = 4 + (indexSign * offset);
-			NodeIndex index = NodeIndex.values()[ordinal];
-			Point indexPoint = index.toPoint(faceOfNode, pAttachmentSide); 
-			if(aEdgeStorage.connectionPointIsAvailable(indexPoint))
-			{
-				return indexPoint;
-			}
-		}
-		//If no connection point was available, return the point at NodeIndex MINUS_FOUR or PLUS_FOUR	
-		int maxOrdinal = 4 + ( maxIndex * indexSign );
-		return NodeIndex.values()[maxOrdinal].toPoint(faceOfNode, pAttachmentSide); 
+		//in the direction of the index sign (either -1 or +1), or the point at the last index.
+		return aEdgeStorage.firstAvailableConnectionPoint(pNode, pAttachmentSide, 
+				getFace(pNode, pAttachmentSide), getIndexSign(pEdge, pNode, pAttachmentSide));
 	}
 	
 	/**
@@ -1354,6 +1657,48 @@ public final class ClassDiagramRenderer extends AbstractDiagramRenderer
 		return aEdgeStorage.getEdgePath(pEdge);
 	}
 	
+	/*
+	 * Stored edges are hit only along their path, so their hit bounds are computed 
+	 * from the path, without the labels that their bounds include.
+	 */
+	@Override
+	protected Optional<Rectangle> hitBounds(DiagramElement pElement)
+	{
+		if( rendererFor(pElement.getClass()) instanceof StoredEdgeRenderer )
+		{
+			return getStoredEdgePath((Edge) pElement).map(path -> 
+			{
+				Rectangle bounds = new Rectangle(path.getStartPoint().getX(), path.getStartPoint().getY(), 0, 0);
+				for( Point point : path )
+				{
+					bounds = bounds.add(point);
+				}
+				return enlarged(bounds);
+			});
+		}
+		return super.hitBounds(pElement);
+	}
+	
+	/*
+	 * Stored edges are drawn along their whole path, not only between their 
+	 * connection points.
+	 */
+	@Override
+	public List<Object> drawingInputs(DiagramElement pElement)
+	{
+		if( rendererFor(pElement.getClass()) instanceof StoredEdgeRenderer )
+		{
+			List<Object> inputs = new ArrayList<>();
+			for( Property property : pElement.properties() )
+			{
+				inputs.add(property.get());
+			}
+			inputs.add(getStoredEdgePath((Edge) pElement));
+			return inputs;
+		}
+		return super.drawingInputs(pElement);
+	}
+	
 	public Optional<EdgePath> getStoredEdgePath(Edge pEdge)
 	{
 		if( aEdgeStorage.contains(pEdge) )
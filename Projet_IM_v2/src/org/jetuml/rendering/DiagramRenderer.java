@@ -20,7 +20,11 @@
  ******************************************************************************/
 package org.jetuml.rendering;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
 
 import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.DiagramElement;
@@ -58,6 +62,60 @@ public interface DiagramRenderer
 	 */
 	void draw(GraphicsContext pGraphics);
 	
+	/**
+	 * Computes the geometry of the diagram and draws the elements of the diagram 
+	 * whose bounds intersect pRegion onto the graphics context. The other elements 
+	 * are not drawn. 
+	 * 
+	 * @param pGraphics The graphics context where the diagram should be drawn.
+	 * @param pRegion The part of the diagram to draw.
+	 * @pre pGraphics != null && pRegion != null.
+	 */
+	void draw(GraphicsContext pGraphics, Rectangle pRegion);
+	
+	/**
+	 * Computes the geometry of the diagram and draws the elements of the diagram 
+	 * that satisfy pVisible onto the graphics context. The children of a node 
+	 * are tested separately from it.
+	 * 
+	 * @param pGraphics The graphics context where the diagram should be drawn.
+	 * @param pVisible The elements to draw.
+	 * @pre pGraphics != null && pVisible != null.
+	 */
+	void draw(GraphicsContext pGraphics, Predicate<DiagramElement> pVisible);
+	
+	/**
+	 * Returns the values, besides its bounds, that the drawing of pElement 
+	 * depends on: the values of its properties and, for edges, the points 
+	 * of their path. If these values and the bounds of pElement are the same 
+	 * as when it was last drawn, drawing it again gives the same result.
+	 * 
+	 * @param pElement The element of interest.
+	 * @return The values the drawing of pElement depends on.
+	 * @pre pElement != null
+	 */
+	List<Object> drawingInputs(DiagramElement pElement);
+	
+	/**
+	 * Computes the geometry of the diagram that depends on several of its elements, 
+	 * such as the paths of edges, if the diagram changed since it was last computed. 
+	 * Drawing the diagram also computes it.
+	 * 
+	 * @return The edges whose geometry was computed again and changed.
+	 */
+	Collection<Edge> layout();
+	
+	/**
+	 * Returns the elements whose bounds can change when pNodes move: the nodes, 
+	 * their children and parents, and the edges whose geometry depends on the 
+	 * position of these nodes. The elements are compared by identity.
+	 * 
+	 * @param pNodes The nodes that move.
+	 * @return The elements affected by moving pNodes.
+	 * @pre pNodes != null
+	 */
+	Set<DiagramElement> elementsAffectedByMoving(Iterable<Node> pNodes);
+	
 	/**
      * Draws the element.
      * @param pElement The element to draw.
@@ -85,6 +85,27 @@ public enum EdgePriority
 		}
 	} // CSON:
 	
+	/**
+	 * Returns the type of the edges that can have priority pPriority, so that
+	 * the edges of a priority level can be obtained without testing all the edges.
+	 * Any edge can be a self-edge.
+	 * @param pPriority the EdgePriority level of interest
+	 * @return the most specific edge type whose instances can have priority pPriority
+	 * @pre pPriority!=null
+	 */
+	public static Class<? extends Edge> edgeType(EdgePriority pPriority)
+	{
+		assert pPriority != null;
+		switch(pPriority)
+		{
+		case INHERITANCE: case IMPLEMENTATION: return GeneralizationEdge.class;
+		case AGGREGATION: case COMPOSITION: return AggregationEdge.class;
+		case ASSOCIATION: return AssociationEdge.class;
+		case DEPENDENCY: return DependencyEdge.class;
+		default: return Edge.class;
+		}
+	}
+	
 	/**
 	 * Returns whether pPriority describes a segmented edge.
 	 * Since Layouter plans the paths of self-edges separately, self-edges are not segmented by this method. 
@@ -20,6 +20,9 @@
  *******************************************************************************/
 package org.jetuml.rendering;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.jetuml.geom.Dimension;
 
 import javafx.geometry.Bounds;
@@ -48,12 +51,28 @@ import javafx.scene.text.Text;
  * Hence, upon calling getHeight(), to get tight bounds, one should subtract
  * off the leading value (found by getting the max Y value of a one-lined text
  * box)
+ * 
+ * The dimensions of the strings measured most recently are kept, since the 
+ * same strings are measured many times to draw a diagram. An object of this 
+ * class is for a single font, so a new one is needed when the font changes.
  */
 public class FontMetrics 
 {
 	public static final int DEFAULT_FONT_SIZE = 12;
 	private static final String BLANK = "";
+	private static final int MAX_CACHED_DIMENSIONS = 1000;
 	private Text aTextNode;
+	private final double aLeading;
+	
+	@SuppressWarnings("serial")
+	private final Map<String, Dimension> aDimensions = new LinkedHashMap<>(16, 0.75f, true)
+	{
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Dimension> pEldest)
+		{
+			return size() > MAX_CACHED_DIMENSIONS;
+		}
+	};
 
 	/**
 	 * Creates a new FontMetrics object.
@@ -66,6 +85,8 @@ public class FontMetrics
 		
 		aTextNode = new Text();
 		aTextNode.setFont(pFont);
+		aTextNode.setText(BLANK);
+		aLeading = aTextNode.getLayoutBounds().getMaxY();
 	}
 
 	/**
@@ -76,11 +97,13 @@ public class FontMetrics
 	public Dimension getDimension(String pString)
 	{
 		assert pString != null;
-		
+		return aDimensions.computeIfAbsent(pString, this::measure);
+	}
+	
+	private Dimension measure(String pString)
+	{
 		aTextNode.setText(pString);
 		Bounds bounds = aTextNode.getLayoutBounds();
-		aTextNode.setText(BLANK);
-		double leading = aTextNode.getLayoutBounds().getMaxY();
-		return new Dimension((int) Math.round(bounds.getWidth()), (int) Math.round(bounds.getHeight() - leading));
+		return new Dimension((int) Math.round(bounds.getWidth()), (int) Math.round(bounds.getHeight() - aLeading));
 	}
 } 
\ No newline at end of file
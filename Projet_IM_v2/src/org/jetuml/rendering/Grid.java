@@ -52,11 +52,13 @@ public final class Grid
 		int y1 = pBounds.getY();
 		int x2 = pBounds.getMaxX();
 		int y2 = pBounds.getMaxY();
-		for(int x = x1; x < x2; x += GRID_SIZE)
+		// Start on the first line of the grid in the bounds, so that the lines drawn 
+		// for part of a canvas are the same as for the whole canvas.
+		for(int x = firstLine(x1); x < x2; x += GRID_SIZE)
 		{
 			ToolGraphics.strokeSharpLine(pGraphics, x, y1, x, y2);
 		}
-		for(int y = y1; y < y2; y += GRID_SIZE)
+		for(int y = firstLine(y1); y < y2; y += GRID_SIZE)
 		{
 			ToolGraphics.strokeSharpLine(pGraphics, x1, y, x2, y);
 		}
@@ -64,6 +66,11 @@ public final class Grid
 	}
 
 	
+	private static int firstLine(int pCoordinate)
+	{
+		return (int) (Math.ceil(pCoordinate / GRID_SIZE) * GRID_SIZE);
+	}
+	
 	/**
      * Creates a rectangle that is the original rectangle, snapped to
      * the nearest grid point.
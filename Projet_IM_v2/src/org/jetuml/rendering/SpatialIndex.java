@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.rendering;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.jetuml.geom.Point;
+import org.jetuml.geom.Rectangle;
+
+/**
+ * A uniform grid of square cells that records the bounds of elements, so that 
+ * the elements whose bounds contain a point are found by looking up the single 
+ * cell that contains the point instead of testing all the elements. Each element 
+ * also has an order, used to return the elements found in a predictable order. 
+ * Elements are compared by identity.
+ * 
+ * Changing the bounds of an element only updates the cells covered by its 
+ * old and new bounds.
+ *
+ * @param <T> The type of the elements in the index.
+ */
+final class SpatialIndex<T>
+{
+	private static final int DEFAULT_CELL_SIZE = 128;
+	
+	private final int aCellSize;
+	private final Map<T, Entry> aEntries = new IdentityHashMap<>();
+	private final Map<Long, List<T>> aCells = new HashMap<>();
+	
+	/*
+	 * What the index knows about an element.
+	 */
+	private static final class Entry
+	{
+		private Rectangle aBounds;
+		private int aOrder;
+	}
+	
+	/**
+	 * Creates an empty index with the default cell size.
+	 */
+	SpatialIndex()
+	{
+		this(DEFAULT_CELL_SIZE);
+	}
+	
+	/**
+	 * Creates an empty index.
+	 * 
+	 * @param pCellSize The width and height of the cells of the grid.
+	 * @pre pCellSize > 0
+	 */
+	SpatialIndex(int pCellSize)
+	{
+		assert pCellSize > 0;
+		aCellSize = pCellSize;
+	}
+	
+	/**
+	 * Adds pElement to the index, or updates its bounds and order if 
+	 * it is already in the index. 
+	 * 
+	 * @param pElement The element to add.
+	 * @param pBounds The bounds of pElement.
+	 * @param pOrder The position of pElement relative to the other elements.
+	 * @pre pElement != null && pBounds != null
+	 */
+	void put(T pElement, Rectangle pBounds, int pOrder)
+	{
+		assert pElement != null && pBounds != null;
+		Entry entry = aEntries.get(pElement);
+		if( entry == null )
+		{
+			entry = new Entry();
+			aEntries.put(pElement, entry);
+		}
+		else if( entry.aBounds.equals(pBounds) )
+		{
+			entry.aOrder = pOrder;
+			return;
+		}
+		else
+		{
+			removeFromCells(pElement, entry.aBounds);
+		}
+		entry.aBounds = pBounds;
+		entry.aOrder = pOrder;
+		addToCells(pElement, pBounds);
+	}
+	
+	/**
+	 * Removes pElement from the index if it is there.
+	 * 
+	 * @param pElement The element to remove.
+	 * @pre pElement != null
+	 */
+	void remove(T pElement)
+	{
+		assert pElement != null;
+		Entry entry = aEntries.remove(pElement);
+		if( entry != null )
+		{
+			removeFromCells(pElement, entry.aBounds);
+		}
+	}
+	
+	/**
+	 * Removes all the elements that satisfy pFilter.
+	 * 
+	 * @param pFilter The elements to remove.
+	 * @pre pFilter != null
+	 */
+	void removeIf(Predicate<? super T> pFilter)
+	{
+		assert pFilter != null;
+		Iterator<Map.Entry<T, Entry>> entries = aEntries.entrySet().iterator();
+		while( entries.hasNext() )
+		{
+			Map.Entry<T, Entry> entry = entries.next();
+			if( pFilter.test(entry.getKey()) )
+			{
+				removeFromCells(entry.getKey(), entry.getValue().aBounds);
+				entries.remove();
+			}
+		}
+	}
+	
+	/**
+	 * @param pPoint The point to test.
+	 * @return The elements whose bounds contain pPoint, in increasing order.
+	 * @pre pPoint != null
+	 */
+	List<T> elementsAt(Point pPoint)
+	{
+		assert pPoint != null;
+		List<T> cell = aCells.get(key(cell(pPoint.getX()), cell(pPoint.getY())));
+		if( cell == null )
+		{
+			return new ArrayList<>();
+		}
+		List<T> result = new ArrayList<>();
+		for( T element : cell )
+		{
+			if( aEntries.get(element).aBounds.contains(pPoint) )
+			{
+				result.add(element);
+			}
+		}
+		result.sort(Comparator.comparingInt(element -> aEntries.get(element).aOrder));
+		return result;
+	}
+	
+	/**
+	 * @return The number of elements in the index.
+	 */
+	int size()
+	{
+		return aEntries.size();
+	}
+	
+	private void addToCells(T pElement, Rectangle pBounds)
+	{
+		for( int x = cell(pBounds.getX()); x <= cell(pBounds.getMaxX()); x++ )
+		{
+			for( int y = cell(pBounds.getY()); y <= cell(pBounds.getMaxY()); y++ )
+			{
+				aCells.computeIfAbsent(key(x, y), key -> new ArrayList<>()).add(pElement);
+			}
+		}
+	}
+	
+	private void removeFromCells(T pElement, Rectangle pBounds)
+	{
+		for( int x = cell(pBounds.getX()); x <= cell(pBounds.getMaxX()); x++ )
+		{
+			for( int y = cell(pBounds.getY()); y <= cell(pBounds.getMaxY()); y++ )
+			{
+				Long key = key(x, y);
+				List<T> cell = aCells.get(key);
+				cell.removeIf(element -> element == pElement);
+				if( cell.isEmpty() )
+				{
+					aCells.remove(key);
+				}
+			}
+		}
+	}
+	
+	private int cell(int pCoordinate)
+	{
+		return Math.floorDiv(pCoordinate, aCellSize);
+	}
+	
+	private static long key(int pColumn, int pRow)
+	{
+		return ((long) pColumn << Integer.SIZE) | (pRow & 0xFFFFFFFFL);
+	}
+}
@@ -277,7 +277,8 @@ public final class StringRenderer
 	
 	/**
 	 * Responsible for performing more rudimentary operations involving font,
-	 * as well as being synchronized with the user's current font.
+	 * as well as being synchronized with the user's current font. The font 
+	 * metrics, and the dimensions they keep, are replaced when the font size changes.
 	 */
 	private static final class CanvasFont implements IntegerPreferenceChangeHandler
 	{
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2022 by McGill University.
+ *
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.rendering.edges;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetuml.geom.Line;
+import org.jetuml.geom.Point;
+import org.jetuml.geom.Side;
+
+/**
+ * The connection points at the NodeIndex positions of one side of a node,
+ * and which of them are used, as a set of bits indexed by the ordinals of
+ * NodeIndex. The points are computed once for the face of the node they
+ * were created with.
+ */
+final class ConnectionSlots
+{
+	private static final int CENTER = NodeIndex.ZERO.ordinal();
+
+	private final Line aFace;
+	private final int aMaxIndex;
+	private final Point[] aPoints = new Point[NodeIndex.values().length];
+	private int aUsed;
+
+	/**
+	 * Creates the slots of a side of a node, none of which is used.
+	 *
+	 * @param pFace The face of the node on pSide.
+	 * @param pSide The side of the node.
+	 * @pre pFace != null && pSide != null
+	 */
+	ConnectionSlots(Line pFace, Side pSide)
+	{
+		assert pFace != null && pSide != null;
+		aFace = pFace;
+		aMaxIndex = NodeIndex.maxIndex(pSide);
+		for( int ordinal = CENTER - aMaxIndex; ordinal <= CENTER + aMaxIndex; ordinal++ )
+		{
+			aPoints[ordinal] = NodeIndex.values()[ordinal].toPoint(pFace, pSide);
+		}
+	}
+
+	/**
+	 * @return The face of the node the points were computed for.
+	 */
+	Line face()
+	{
+		return aFace;
+	}
+
+	/**
+	 * @return The points of the slots, some of which can be equal.
+	 */
+	List<Point> points()
+	{
+		List<Point> result = new ArrayList<>();
+		for( int ordinal = CENTER - aMaxIndex; ordinal <= CENTER + aMaxIndex; ordinal++ )
+		{
+			result.add(aPoints[ordinal]);
+		}
+		return result;
+	}
+
+	/**
+	 * Marks the slots at pPoint as used or not.
+	 *
+	 * @param pPoint A point.
+	 * @param pUsed Whether the slots at pPoint are used.
+	 * @pre pPoint != null
+	 */
+	void setUsed(Point pPoint, boolean pUsed)
+	{
+		assert pPoint != null;
+		for( int ordinal = CENTER - aMaxIndex; ordinal <= CENTER + aMaxIndex; ordinal++ )
+		{
+			if( aPoints[ordinal].equals(pPoint) )
+			{
+				if( pUsed )
+				{
+					aUsed |= 1 << ordinal;
+				}
+				else
+				{
+					aUsed &= ~(1 << ordinal);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the point of the first slot that is not used, starting at NodeIndex ZERO
+	 * and moving towards the end of the face in the direction of pIndexSign. If all
+	 * these slots are used, returns the point of the last one.
+	 *
+	 * @param pIndexSign -1 to move towards the negative indices, +1 otherwise.
+	 * @return A connection point on the face.
+	 * @pre pIndexSign == -1 || pIndexSign == 1
+	 */
+	Point firstAvailable(int pIndexSign)
+	{
+		assert pIndexSign == -1 || pIndexSign == 1;
+		if( pIndexSign > 0 )
+		{
+			int available = ~aUsed & rangeMask(CENTER, CENTER + aMaxIndex);
+			return aPoints[available == 0 ? CENTER + aMaxIndex : Integer.numberOfTrailingZeros(available)];
+		}
+		else
+		{
+			int available = ~aUsed & rangeMask(CENTER - aMaxIndex, CENTER);
+			return aPoints[available == 0 ? CENTER - aMaxIndex : Integer.SIZE - 1 - Integer.numberOfLeadingZeros(available)];
+		}
+	}
+
+	/*
+	 * The bits from pFirst to pLast, inclusively.
+	 */
+	private static int rangeMask(int pFirst, int pLast)
+	{
+		return (1 << (pLast + 1)) - (1 << pFirst);
+	}
+}
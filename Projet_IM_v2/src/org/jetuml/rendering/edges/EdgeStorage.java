@@ -21,22 +21,49 @@
 package org.jetuml.rendering.edges;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Predicate;
 
 import org.jetuml.diagram.Edge;
 import org.jetuml.diagram.Node;
 import org.jetuml.geom.EdgePath;
+import org.jetuml.geom.Line;
 import org.jetuml.geom.Point;
+import org.jetuml.geom.Side;
 
 /**
- * Stores the EdgePaths of Edges for class diagrams.
+ * Stores the EdgePaths of Edges for class diagrams. The edges 
+ * are returned in the order in which they were first stored.
+ * 
+ * The connection points of the stored paths, the edges connected to 
+ * each node, and the edges between each pair of nodes are indexed, so 
+ * that the queries of the layout do not go through all the stored edges.
+ * The connection points at the NodeIndex positions of the sides of nodes 
+ * are kept with the set of those that are used, so that finding the first 
+ * available one is a bit operation.
  */
 public class EdgeStorage
 {
 	private Map<Edge, EdgePath> aEdgePaths = new IdentityHashMap<>();
+	private List<Edge> aEdges = new ArrayList<>();
+	/* The modification count when each edge was first stored, which orders them. */
+	private Map<Edge, Long> aStoreOrder = new IdentityHashMap<>();
+	/* The number of stored paths that start or end at each point. */
+	private Map<Point, Integer> aConnectionPoints = new HashMap<>();
+	private Map<Node, List<Edge>> aEdgesConnectedTo = new IdentityHashMap<>();
+	private Map<NodePair, List<Edge>> aEdgesBetween = new HashMap<>();
+	/* The slots of the sides of nodes, by side, and the slots that have a point at each point. */
+	private Map<Node, Map<Side, ConnectionSlots>> aSlots = new IdentityHashMap<>();
+	private Map<Point, List<ConnectionSlots>> aSlotsAt = new HashMap<>();
+	private long aModificationCount;
  	
  	/**
  	 * Adds pEdge and pEdgePath into storage.
@@ -48,7 +75,24 @@ public class EdgeStorage
  	public void store(Edge pEdge, EdgePath pEdgePath)
  	{
  		assert pEdge!=null && pEdgePath!=null;
- 		aEdgePaths.put(pEdge, pEdgePath);
+ 		EdgePath previous = aEdgePaths.put(pEdge, pEdgePath);
+ 		if( previous == null )
+ 		{
+ 			aEdges.add(pEdge);
+ 			aStoreOrder.put(pEdge, aModificationCount);
+ 			addToIndex(aEdgesConnectedTo, pEdge.getStart(), pEdge);
+ 			if( pEdge.getEnd() != pEdge.getStart() )
+ 			{
+ 				addToIndex(aEdgesConnectedTo, pEdge.getEnd(), pEdge);
+ 			}
+ 			addToIndex(aEdgesBetween, new NodePair(pEdge.getStart(), pEdge.getEnd()), pEdge);
+ 		}
+ 		else
+ 		{
+ 			removeConnectionPoints(previous);
+ 		}
+ 		addConnectionPoints(pEdgePath);
+ 		aModificationCount++;
  	}
  
  	
@@ -97,15 +141,7 @@ public class EdgeStorage
 	public List<Edge> edgesConnectedTo(Node pNode)
 	{
 		assert pNode != null;
-		List<Edge> result = new ArrayList<>();
-		for( Edge edge : aEdgePaths.keySet() )
-		{
-			if( edge.getStart() == pNode || edge.getEnd() == pNode )
-			{
-				result.add(edge);
-			}
-		}
-		return result;
+		return new ArrayList<>(aEdgesConnectedTo.getOrDefault(pNode, Collections.emptyList()));
 	}
 	
 	/**
@@ -117,29 +153,102 @@ public class EdgeStorage
 	public boolean connectionPointIsAvailable(Point pConnectionPoint)
 	{
 		assert pConnectionPoint !=null;
-		for( EdgePath path : aEdgePaths.values() )
+		return !aConnectionPoints.containsKey(pConnectionPoint);
+	}
+	
+	/**
+	 * Returns the first connection point on the pSide face of pNode that is available, 
+	 * starting at NodeIndex ZERO and moving towards the end of the face in the direction 
+	 * of pIndexSign. If none is available, returns the point at the last index in that 
+	 * direction. The points of the face are computed again only if pFace changed.
+	 * @param pNode the node of interest
+	 * @param pSide the side of pNode
+	 * @param pFace the current face of pNode on pSide
+	 * @param pIndexSign -1 to move towards the negative indices, +1 otherwise
+	 * @return the first available connection point
+	 * @pre pNode != null && pSide != null && pFace != null
+	 * @pre pIndexSign == -1 || pIndexSign == 1
+	 */
+	public Point firstAvailableConnectionPoint(Node pNode, Side pSide, Line pFace, int pIndexSign)
+	{
+		assert pNode != null && pSide != null && pFace != null;
+		Map<Side, ConnectionSlots> sides = aSlots.computeIfAbsent(pNode, node -> new EnumMap<>(Side.class));
+		ConnectionSlots slots = sides.get(pSide);
+		if( slots == null || !slots.face().equals(pFace) )
 		{
-			if (path.getStartPoint().equals(pConnectionPoint) || path.getEndPoint().equals(pConnectionPoint))
+			if( slots != null )
 			{
-				return false;
+				unregister(slots);
 			}
+			slots = new ConnectionSlots(pFace, pSide);
+			register(slots);
+			sides.put(pSide, slots);
 		}
-		return true;
+		return slots.firstAvailable(pIndexSign);
 	}
 	
 	/**
 	 * Returns a list of edges which share the same two attached nodes as pEdge, reffered to as "shared-node edges".
 	 * Based on diagram constraints, this list will typically either be empty or contain a maximum of 1 edge. 
+	 * The self-edges of the nodes of pEdge are also attached only to these nodes, so they are included.
 	 * @param pEdge the edge of interest
 	 * @return a list of edges from storage which are also attached to pEdge.getStart() and pEdge.getEnd(). 	 
 	 */
 	public List<Edge> getEdgesWithSameNodes(Edge pEdge)
 	{
-		return aEdgePaths.keySet().stream()
-				.filter(edge -> edge.getStart() == pEdge.getStart() || edge.getStart() == pEdge.getEnd())
-				.filter(edge -> edge.getEnd() == pEdge.getStart() || edge.getEnd() == pEdge.getEnd())
-				.filter(edge -> !edge.equals(pEdge))
-				.collect(Collectors.toList());
+		List<Edge> result = new ArrayList<>(edgesBetween(pEdge.getStart(), pEdge.getEnd()));
+		if( pEdge.getStart() != pEdge.getEnd() )
+		{
+			List<Edge> selfEdges = new ArrayList<>(edgesBetween(pEdge.getStart(), pEdge.getStart()));
+			selfEdges.addAll(edgesBetween(pEdge.getEnd(), pEdge.getEnd()));
+			if( !selfEdges.isEmpty() )
+			{
+				result.addAll(selfEdges);
+				result.sort(Comparator.comparing(aStoreOrder::get));
+			}
+		}
+		result.remove(pEdge);
+		return result;
+	}
+	
+	/**
+	 * Stores the edges of pStorage with their paths, in the order in which
+	 * they were stored in pStorage.
+	 * @param pStorage the storage whose edges to store
+	 * @pre pStorage != null
+	 */
+	public void storeAll(EdgeStorage pStorage)
+	{
+		assert pStorage != null;
+		for( Edge edge : pStorage.aEdges )
+		{
+			store(edge, pStorage.aEdgePaths.get(edge));
+		}
+	}
+	
+	/**
+	 * Removes the edges that satisfy pFilter from storage.
+	 * @param pFilter the edges to remove
+	 * @pre pFilter != null
+	 */
+	public void removeIf(Predicate<Edge> pFilter)
+	{
+		assert pFilter != null;
+		boolean removed = false;
+		for( Iterator<Edge> edges = aEdges.iterator(); edges.hasNext(); )
+		{
+			Edge edge = edges.next();
+			if( pFilter.test(edge) )
+			{
+				edges.remove();
+				unindex(edge);
+				removed = true;
+			}
+		}
+		if( removed )
+		{
+			aModificationCount++;
+		}
 	}
 	
 	/**
@@ -148,5 +257,153 @@ public class EdgeStorage
 	public void clearStorage()
 	{
 		aEdgePaths.clear();
+		aEdges.clear();
+		aStoreOrder.clear();
+		aConnectionPoints.clear();
+		aEdgesConnectedTo.clear();
+		aEdgesBetween.clear();
+		aSlots.clear();
+		aSlotsAt.clear();
+		aModificationCount++;
+	}
+	
+	private List<Edge> edgesBetween(Node pNode1, Node pNode2)
+	{
+		return aEdgesBetween.getOrDefault(new NodePair(pNode1, pNode2), Collections.emptyList());
+	}
+	
+	private void unindex(Edge pEdge)
+	{
+		removeConnectionPoints(aEdgePaths.remove(pEdge));
+		aStoreOrder.remove(pEdge);
+		removeFromIndex(aEdgesConnectedTo, pEdge.getStart(), pEdge);
+		removeFromIndex(aEdgesConnectedTo, pEdge.getEnd(), pEdge);
+		removeFromIndex(aEdgesBetween, new NodePair(pEdge.getStart(), pEdge.getEnd()), pEdge);
+		removeSlotsIfUnconnected(pEdge.getStart());
+		removeSlotsIfUnconnected(pEdge.getEnd());
+	}
+	
+	private void addConnectionPoints(EdgePath pPath)
+	{
+		addConnectionPoint(pPath.getStartPoint());
+		addConnectionPoint(pPath.getEndPoint());
+	}
+	
+	private void addConnectionPoint(Point pPoint)
+	{
+		if( aConnectionPoints.merge(pPoint, 1, Integer::sum) == 1 )
+		{
+			aSlotsAt.getOrDefault(pPoint, Collections.emptyList()).forEach(slots -> slots.setUsed(pPoint, true));
+		}
+	}
+	
+	private void removeConnectionPoints(EdgePath pPath)
+	{
+		removeConnectionPoint(pPath.getStartPoint());
+		removeConnectionPoint(pPath.getEndPoint());
+	}
+	
+	/*
+	 * A point stays in the index as long as another stored path starts or ends at it.
+	 */
+	private void removeConnectionPoint(Point pPoint)
+	{
+		if( aConnectionPoints.computeIfPresent(pPoint, (point, count) -> count == 1 ? null : count - 1) == null )
+		{
+			aSlotsAt.getOrDefault(pPoint, Collections.emptyList()).forEach(slots -> slots.setUsed(pPoint, false));
+		}
+	}
+	
+	private void register(ConnectionSlots pSlots)
+	{
+		for( Point point : new HashSet<>(pSlots.points()) )
+		{
+			aSlotsAt.computeIfAbsent(point, key -> new ArrayList<>()).add(pSlots);
+			pSlots.setUsed(point, aConnectionPoints.containsKey(point));
+		}
+	}
+	
+	private void unregister(ConnectionSlots pSlots)
+	{
+		for( Point point : new HashSet<>(pSlots.points()) )
+		{
+			List<ConnectionSlots> slots = aSlotsAt.get(point);
+			slots.remove(pSlots);
+			if( slots.isEmpty() )
+			{
+				aSlotsAt.remove(point);
+			}
+		}
+	}
+	
+	/*
+	 * The slots of a node without stored edges are created again when needed, 
+	 * so that the slots of the nodes removed from the diagram are not kept.
+	 */
+	private void removeSlotsIfUnconnected(Node pNode)
+	{
+		if( !aEdgesConnectedTo.containsKey(pNode) )
+		{
+			Map<Side, ConnectionSlots> sides = aSlots.remove(pNode);
+			if( sides != null )
+			{
+				sides.values().forEach(this::unregister);
+			}
+		}
+	}
+	
+	private static <K> void addToIndex(Map<K, List<Edge>> pIndex, K pKey, Edge pEdge)
+	{
+		pIndex.computeIfAbsent(pKey, key -> new ArrayList<>()).add(pEdge);
+	}
+	
+	/*
+	 * Removing an edge keeps the order of the others, and the lists 
+	 * that become empty are removed.
+	 */
+	private static <K> void removeFromIndex(Map<K, List<Edge>> pIndex, K pKey, Edge pEdge)
+	{
+		List<Edge> edges = pIndex.get(pKey);
+		if( edges != null && edges.remove(pEdge) && edges.isEmpty() )
+		{
+			pIndex.remove(pKey);
+		}
+	}
+	
+	/*
+	 * Two nodes, in no particular order, compared by identity.
+	 */
+	private static final class NodePair
+	{
+		private final Node aNode1;
+		private final Node aNode2;
+		
+		NodePair(Node pNode1, Node pNode2)
+		{
+			aNode1 = pNode1;
+			aNode2 = pNode2;
+		}
+		
+		@Override
+		public int hashCode()
+		{
+			return System.identityHashCode(aNode1) + System.identityHashCode(aNode2);
+		}
+		
+		@Override
+		public boolean equals(Object pObject)
+		{
+			if( this == pObject )
+			{
+				return true;
+			}
+			if( pObject == null || pObject.getClass() != getClass() )
+			{
+				return false;
+			}
+			NodePair other = (NodePair) pObject;
+			return aNode1 == other.aNode1 && aNode2 == other.aNode2 || 
+					aNode1 == other.aNode2 && aNode2 == other.aNode1;
+		}
 	}
 }
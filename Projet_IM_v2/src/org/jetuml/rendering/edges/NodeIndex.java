@@ -38,6 +38,22 @@ public enum NodeIndex
 	private static final int NUM_SPACES_NS = 10;
 	private static final int NUM_SPACES_EW = 6;
 	
+	/**
+	 * Returns the largest offset from ZERO of the indices on a side of a node.
+	 * @param pSide a side of a node
+	 * @return 4 for North and South sides, 2 for East and West sides
+	 * @pre pSide != null
+	 */
+	public static int maxIndex(Side pSide)
+	{
+		assert pSide != null;
+		if( pSide.isVertical() )
+		{
+			return 2;
+		}
+		return 4;
+	}
+	
 	/**
 	 * Returns a point on pNodeFace at the position represented by this index.
 	 * @param pNodeFace a Line representing the side of pNode where the point is needed.
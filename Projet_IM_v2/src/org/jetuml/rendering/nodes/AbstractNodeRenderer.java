@@ -20,6 +20,8 @@
  *******************************************************************************/
 package org.jetuml.rendering.nodes;
 
+import org.jetuml.application.UserPreferences;
+import org.jetuml.application.UserPreferences.IntegerPreference;
 import org.jetuml.diagram.DiagramElement;
 import org.jetuml.diagram.DiagramType;
 import org.jetuml.diagram.Node;
@@ -44,7 +46,7 @@ public abstract class AbstractNodeRenderer implements NodeRenderer
 	public static final int BUTTON_SIZE = 25;
 	public static final int OFFSET = 3;
 	
-	private NodeStorage aNodeStorage = new NodeStorage();
+	private final NodeStorage aNodeStorage = new NodeStorage();
 	private final DiagramRenderer aParent;
 	
 	protected AbstractNodeRenderer(DiagramRenderer pParent)
@@ -105,22 +107,30 @@ public abstract class AbstractNodeRenderer implements NodeRenderer
 		return canvas;
 	}
 	
+	/*
+	 * The bounds are computed again only when the node they depend on 
+	 * or the font size change.
+	 */
 	@Override
 	public final Rectangle getBounds(DiagramElement pElement)
 	{
-		return aNodeStorage.getBounds((Node)pElement, this::internalGetBounds);
-	}
-	
-	@Override
-	public final void activateNodeStorage()
-	{
-		aNodeStorage.activate();
+		Node node = (Node) pElement;
+		return aNodeStorage.getBounds(node, boundsSource(node), 
+				UserPreferences.instance().getInteger(IntegerPreference.fontSize), this::internalGetBounds);
 	}
 	
-	@Override
-	public final void deactivateAndClearNodeStorage() 
+	/**
+	 * Returns the node whose changes can change the bounds of pNode. By default, 
+	 * pNode itself, since its changes include the changes of its descendants.
+	 * 
+	 * @param pNode The node whose bounds we want.
+	 * @return The node that the bounds of pNode depend on.
+	 * @pre pNode != null
+	 */
+	protected Node boundsSource(Node pNode)
 	{
-		aNodeStorage.deactivateAndClear();
+		assert pNode != null;
+		return pNode;
 	}
 	
 	/**
@@ -95,6 +95,19 @@ public final class FieldNodeRenderer extends AbstractNodeRenderer
 		}
 	}
 	
+	/*
+	 * The bounds of a field in an object node depend on the object node and its other fields.
+	 */
+	@Override
+	protected Node boundsSource(Node pNode)
+	{
+		if( pNode.hasParent() )
+		{
+			return pNode.getParent();
+		}
+		return pNode;
+	}
+	
 	@Override
 	protected Rectangle internalGetBounds(Node pNode)
 	{
@@ -46,16 +46,6 @@ public interface NodeRenderer extends DiagramElementRenderer
 	 */
 	Point getConnectionPoint(Node pNode, Direction pDirection);
 	
-	/**
-	 * Activates the NodeStorage.
-	 */
-	void activateNodeStorage();
-	
-	/**
-	 * Deactivates and clears the NodeStorage. 
-	 */
-	void deactivateAndClearNodeStorage();
-	
 	/**
 	 * The face of a node corresponds to the line to which edges can attach.
 	 * For rectangular nodes, this is the same as the side of the bound rectangle.
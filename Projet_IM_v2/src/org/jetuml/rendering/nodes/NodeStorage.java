@@ -20,59 +20,66 @@
  *******************************************************************************/
 package org.jetuml.rendering.nodes;
 
- import java.util.IdentityHashMap;
- import java.util.Map;
- import java.util.function.Function;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
 
 import org.jetuml.diagram.Node;
 import org.jetuml.geom.Rectangle;
 
- /**
-  * Stores the bounds of nodes. 
-  */
- public class NodeStorage 
- {
- 	private Map<Node, Rectangle> aNodeBounds = new IdentityHashMap<>();
- 	private boolean aIsActivated = false;
+/**
+ * Stores the bounds of nodes with the change count of the node they depend on 
+ * and the font size they were computed with. The bounds of a node are computed 
+ * again only when this node changes or the font size is different, which only 
+ * requires comparing numbers. Nodes that are no longer used are not kept by the storage.
+ */
+public class NodeStorage 
+{
+	private final Map<Node, StoredBounds> aNodeBounds = new WeakHashMap<>();
 
- 	/**
- 	 * Returns the bounds of the current node either from the storage or from the calculator.
- 	 * @param pNode the node of interest.
- 	 * @param pBoundCalculator the bound calculator.
- 	 * @return the bounds of pNode. 
- 	 */
- 	public Rectangle getBounds(Node pNode, Function<Node, Rectangle> pBoundCalculator)
- 	{
- 		if (!aIsActivated)
- 		{
- 			return pBoundCalculator.apply(pNode);
- 		}
- 		else if (aIsActivated && aNodeBounds.containsKey(pNode))
- 		{
- 			return aNodeBounds.get(pNode);
- 		}
- 		else
- 		{
- 			Rectangle computedBounds = pBoundCalculator.apply(pNode);
- 			aNodeBounds.put(pNode, computedBounds);
- 			return computedBounds;
- 		}
- 	}
-
- 	/**
- 	 * Activates the NodeStorage.
- 	 */
- 	public void activate() 
- 	{
- 		aIsActivated = true;
- 	}
-
- 	/**
- 	 * Deactivates and clears the NodeStorage.
- 	 */
- 	public void deactivateAndClear() 
- 	{
- 		aIsActivated = false;
- 		aNodeBounds.clear();
- 	}
- }
\ No newline at end of file
+	/**
+	 * Returns the bounds of pNode either from the storage or from the calculator.
+	 * The bounds in storage are returned if they were computed from the same pSource,
+	 * pSource has not changed since, and the font size is the same.
+	 * 
+	 * @param pNode the node of interest.
+	 * @param pSource the node whose changes can change the bounds of pNode.
+	 * @param pFontSize the font size the bounds are computed with.
+	 * @param pBoundCalculator the bound calculator.
+	 * @return the bounds of pNode. 
+	 * @pre pNode != null && pSource != null && pBoundCalculator != null
+	 */
+	public Rectangle getBounds(Node pNode, Node pSource, int pFontSize, Function<Node, Rectangle> pBoundCalculator)
+	{
+		assert pNode != null && pSource != null && pBoundCalculator != null;
+		StoredBounds stored = aNodeBounds.get(pNode);
+		if( stored == null || stored.aSource.get() != pSource || 
+				stored.aChangeCount != pSource.changeCount() || stored.aFontSize != pFontSize )
+		{
+			Rectangle bounds = pBoundCalculator.apply(pNode);
+			stored = new StoredBounds(pSource, pSource.changeCount(), pFontSize, bounds);
+			aNodeBounds.put(pNode, stored);
+		}
+		return stored.aBounds;
+	}
+	
+	/*
+	 * The source is only weakly referenced, since it can be the parent of the node.
+	 */
+	private static final class StoredBounds
+	{
+		private final WeakReference<Node> aSource;
+		private final long aChangeCount;
+		private final int aFontSize;
+		private final Rectangle aBounds;
+		
+		private StoredBounds(Node pSource, long pChangeCount, int pFontSize, Rectangle pBounds)
+		{
+			aSource = new WeakReference<>(pSource);
+			aChangeCount = pChangeCount;
+			aFontSize = pFontSize;
+			aBounds = pBounds;
+		}
+	}
+}
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.jetuml.diagram.Diagram;
+import org.jetuml.diagram.DiagramType;
+import org.jetuml.diagram.Node;
+import org.jetuml.generation.DiagramModel;
+import org.jetuml.generation.SourceCodeGenerator;
+import org.jetuml.geom.Point;
+import org.jetuml.geom.Rectangle;
+import org.jetuml.persistence.JsonDecoder;
+import org.jetuml.persistence.JsonEncoder;
+import org.jetuml.persistence.json.JsonArray;
+import org.jetuml.persistence.json.JsonObject;
+import org.jetuml.persistence.json.JsonParser;
+import org.jetuml.persistence.json.JsonReader;
+import org.jetuml.rendering.DiagramRenderer;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+
+/**
+ * Measures how the time of the main operations on class diagrams grows
+ * with the size of the diagram, on synthetic diagrams whose size doubles
+ * from a quarter of the largest size up to it. The operations are the full
+ * layout, the layout after one node moved, drawing, hit testing with nodeAt
+ * and edgeAt, computing the bounds of the diagram, encoding it in JSON, decoding
+ * it from a JSON object and from a stream of JSON text, and generating its code.
+ *
+ * Each operation is run WARMUP_RUNS times, then timed over MEASURED_RUNS runs.
+ * The results are printed as a table, and written as a JSON object with one
+ * entry per operation and size, so that they can be compared between versions.
+ *
+ * Run with: java org.jetuml.benchmark.DiagramBenchmark [<results file> [<number of classes> [<seed>]]]
+ */
+public final class DiagramBenchmark
+{
+	private static final String DEFAULT_OUTPUT = "benchmark-results.json";
+	private static final int DEFAULT_SIZE = 2000;
+	private static final long DEFAULT_SEED = 42;
+	private static final int WARMUP_RUNS = 3;
+	private static final int MEASURED_RUNS = 5;
+	/* The number of points tested in one run of the hit test operations. */
+	private static final int HIT_TESTS = 1000;
+
+	private DiagramBenchmark() {}
+
+	/**
+	 * @param pArgs Optionally, the file where the results are written, the
+	 *     number of classes of the largest diagram, and the seed of the diagrams.
+	 * @throws IOException If the results or the generated code cannot be written.
+	 */
+	public static void main(String[] pArgs) throws IOException
+	{
+		Path output = Path.of(pArgs.length > 0 ? pArgs[0] : DEFAULT_OUTPUT);
+		int size = pArgs.length > 1 ? Integer.parseInt(pArgs[1]) : DEFAULT_SIZE;
+		long seed = pArgs.length > 2 ? Long.parseLong(pArgs[2]) : DEFAULT_SEED;
+		SyntheticDiagramGenerator generator = new SyntheticDiagramGenerator(seed).withPackageDepth(1);
+		Path codeDirectory = Files.createTempDirectory("benchmark");
+
+		JsonArray results = new JsonArray();
+		System.out.println("operation\tclasses\tedges\tmean us\tmin us");
+		for( int classes = Math.max(1, size / 4); classes <= size; classes *= 2 )
+		{
+			Diagram diagram = generator.generate(classes);
+			for( NamedOperation operation : operations(diagram, codeDirectory, new Random(seed)) )
+			{
+				JsonObject result = measure(operation);
+				result.put("classes", classes);
+				result.put("edges", diagram.edges().size());
+				results.add(result);
+				System.out.println(String.format("%s\t%d\t%d\t%d\t%d", result.getString("operation"), classes,
+						diagram.edges().size(), result.getInt("meanMicros"), result.getInt("minMicros")));
+			}
+		}
+
+		JsonObject report = new JsonObject();
+		report.put("seed", Long.toString(seed));
+		report.put("edgesPerNode", Double.toString(generator.edgesPerNode()));
+		report.put("packageDepth", generator.packageDepth());
+		report.put("warmupRuns", WARMUP_RUNS);
+		report.put("measuredRuns", MEASURED_RUNS);
+		report.put("hitTestsPerRun", HIT_TESTS);
+		report.put("results", results);
+		Files.writeString(output, report.toString(), StandardCharsets.UTF_8);
+		System.out.println("Results written to " + output.toAbsolutePath());
+	}
+
+	/*
+	 * The diagram is laid out once before the operations that need its
+	 * geometry, so that they do not measure the first layout.
+	 */
+	private static NamedOperation[] operations(Diagram pDiagram, Path pCodeDirectory, Random pRandom)
+	{
+		DiagramRenderer renderer = DiagramType.newRendererInstanceFor(pDiagram);
+		renderer.layout();
+		Rectangle bounds = renderer.getBounds();
+		Point[] points = new Point[HIT_TESTS];
+		for( int i = 0; i < HIT_TESTS; i++ )
+		{
+			points[i] = new Point(bounds.getX() + pRandom.nextInt(Math.max(1, bounds.getWidth())),
+					bounds.getY() + pRandom.nextInt(Math.max(1, bounds.getHeight())));
+		}
+		Node moved = pDiagram.rootNodes().get(pDiagram.rootNodes().size() / 2);
+		GraphicsContext graphics = new Canvas().getGraphicsContext2D();
+		String json = JsonEncoder.encode(pDiagram).toString();
+
+		return new NamedOperation[] {
+			new NamedOperation("layout", () -> DiagramType.newRendererInstanceFor(pDiagram).layout().size()),
+			new NamedOperation("layoutAfterMove", () ->
+			{
+				moved.translate(10, 0);
+				int changed = renderer.layout().size();
+				moved.translate(-10, 0);
+				return changed + renderer.layout().size();
+			}),
+			new NamedOperation("draw", () ->
+			{
+				renderer.draw(graphics);
+				return 0;
+			}),
+			new NamedOperation("nodeAt", () ->
+			{
+				int found = 0;
+				for( Point point : points )
+				{
+					found += renderer.nodeAt(point).isPresent() ? 1 : 0;
+				}
+				return found;
+			}),
+			new NamedOperation("edgeAt", () ->
+			{
+				int found = 0;
+				for( Point point : points )
+				{
+					found += renderer.edgeAt(point).isPresent() ? 1 : 0;
+				}
+				return found;
+			}),
+			new NamedOperation("getBounds", () -> renderer.getBounds().getWidth()),
+			new NamedOperation("encode", () -> JsonEncoder.encode(pDiagram).toString().length()),
+			new NamedOperation("decode", () -> JsonDecoder.decode(JsonParser.parse(json)).edges().size()),
+			new NamedOperation("decodeStream", () -> 
+				JsonDecoder.decode(new JsonReader(new StringReader(json))).get().diagram().edges().size()),
+			new NamedOperation("generateCode", () ->
+				SourceCodeGenerator.generate(DiagramModel.from(pDiagram), "benchmark", pCodeDirectory))
+		};
+	}
+
+	private static JsonObject measure(NamedOperation pOperation) throws IOException
+	{
+		Measurement measurement = Measurement.measure(pOperation.aOperation, WARMUP_RUNS, MEASURED_RUNS);
+		JsonObject result = new JsonObject();
+		result.put("operation", pOperation.aName);
+		result.put("meanMicros", (int) (measurement.meanNanos() / 1000));
+		result.put("minMicros", (int) (measurement.minNanos() / 1000));
+		result.put("checksum", Long.toString(measurement.checksum()));
+		return result;
+	}
+
+	private static final class NamedOperation
+	{
+		private final String aName;
+		private final Measurement.Operation aOperation;
+
+		NamedOperation(String pName, Measurement.Operation pOperation)
+		{
+			aName = pName;
+			aOperation = pOperation;
+		}
+	}
+}
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetuml.diagram.Diagram;
+import org.jetuml.diagram.DiagramType;
+import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.Node;
+import org.jetuml.diagram.edges.AggregationEdge;
+import org.jetuml.diagram.edges.DependencyEdge;
+import org.jetuml.diagram.nodes.ClassNode;
+
+/**
+ * Measures the time to find the edges connected to each node of synthetic 
+ * class diagrams of increasing size, with Diagram.edgesConnectedTo and with 
+ * a scan of all the edges of the diagram, and the time to check that each 
+ * node is in the diagram. With the adjacency index and the membership 
+ * registry, the time per lookup should remain constant as the number of 
+ * edges doubles.
+ * 
+ * Run without assertions, since the precondition of edgesConnectedTo 
+ * searches the whole diagram: java org.jetuml.benchmark.EdgeLookupBenchmark [<number of edges>]
+ */
+public final class EdgeLookupBenchmark
+{
+	private static final int DEFAULT_EDGES = 10_000;
+	private static final int EDGES_PER_CLASS = 2;
+	private static final int WARMUP_RUNS = 5;
+	private static final int MEASURED_RUNS = 20;
+	
+	private EdgeLookupBenchmark() {}
+	
+	/**
+	 * @param pArgs Optionally, the number of edges of the largest diagram.
+	 * @throws IOException Never, since the lookups do not read or write files.
+	 */
+	public static void main(String[] pArgs) throws IOException
+	{
+		int size = pArgs.length > 0 ? Integer.parseInt(pArgs[0]) : DEFAULT_EDGES;
+		System.out.println("nodes\tedges\tindex ns/lookup\tscan ns/lookup\tcontains ns/lookup");
+		for( int edges = size / 4; edges <= size; edges *= 2 )
+		{
+			Diagram diagram = createDiagram(edges / EDGES_PER_CLASS);
+			System.out.println(String.format("%d\t%d\t%.1f\t%.1f\t%.1f", diagram.rootNodes().size(), diagram.edges().size(), 
+					measure(diagram, () -> lookup(diagram)), measure(diagram, () -> scan(diagram)), 
+					measure(diagram, () -> contains(diagram))));
+		}
+	}
+	
+	/*
+	 * Returns the average time, in nanoseconds, to find the edges of one node.
+	 */
+	private static double measure(Diagram pDiagram, Measurement.Operation pLookup) throws IOException
+	{
+		return Measurement.measure(pLookup, WARMUP_RUNS, MEASURED_RUNS).meanNanos() / (double) pDiagram.rootNodes().size();
+	}
+	
+	private static int lookup(Diagram pDiagram)
+	{
+		int found = 0;
+		for( Node node : pDiagram.rootNodes() )
+		{
+			for( Edge edge : pDiagram.edgesConnectedTo(node) )
+			{
+				found += edge.getStart() == node ? 1 : 2;
+			}
+		}
+		return found;
+	}
+	
+	private static int contains(Diagram pDiagram)
+	{
+		int found = 0;
+		for( Node node : pDiagram.rootNodes() )
+		{
+			if( pDiagram.contains(node) )
+			{
+				found++;
+			}
+		}
+		return found;
+	}
+	
+	/*
+	 * The search that edgesConnectedTo did before the edges were indexed.
+	 */
+	private static int scan(Diagram pDiagram)
+	{
+		int found = 0;
+		for( Node node : pDiagram.rootNodes() )
+		{
+			List<Edge> connected = new ArrayList<>();
+			for( Edge edge : pDiagram.edges() )
+			{
+				if( edge.getStart() == node || edge.getEnd() == node )
+				{
+					connected.add(edge);
+				}
+			}
+			for( Edge edge : connected )
+			{
+				found += edge.getStart() == node ? 1 : 2;
+			}
+		}
+		return found;
+	}
+	
+	/**
+	 * Creates a class diagram where each class aggregates the next class 
+	 * and depends on the one after it, so that each class starts two edges
+	 * and ends two edges.
+	 * 
+	 * @param pNodes The number of classes.
+	 * @return A new synthetic diagram.
+	 */
+	private static Diagram createDiagram(int pNodes)
+	{
+		Diagram diagram = new Diagram(DiagramType.CLASS);
+		List<Node> nodes = new ArrayList<>();
+		for( int i = 0; i < pNodes; i++ )
+		{
+			ClassNode node = new ClassNode();
+			node.setName("Class" + i);
+			nodes.add(node);
+			diagram.addRootNode(node);
+		}
+		for( int i = 0; i < pNodes; i++ )
+		{
+			Edge aggregation = new AggregationEdge();
+			aggregation.connect(nodes.get(i), nodes.get((i + 1) % pNodes));
+			diagram.addEdge(aggregation);
+			Edge dependency = new DependencyEdge();
+			dependency.connect(nodes.get(i), nodes.get((i + 2) % pNodes));
+			diagram.addEdge(dependency);
+		}
+		return diagram;
+	}
+}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+import org.jetuml.generation.DiagramModel;
+import org.jetuml.generation.SchemaVerification;
+import org.jetuml.generation.SchemaVerifier;
+import org.jetuml.generation.SourceCodeGenerator;
+import org.jetuml.generation.StandardSqlDialect;
+import org.jetuml.testutils.SyntheticModels;
+
+/**
+ * Measures the time to generate the Java and SQL code of synthetic 
+ * class diagrams of increasing size. With the relations indexed by type 
+ * name, the time per class should remain roughly constant as the number 
+ * of classes doubles, up to 5000 classes. The code is generated in a 
+ * temporary directory, where it is unchanged after the first run, so the 
+ * time is mostly spent generating the code and comparing it to the files.
+ * 
+ * If a JDBC URL is given, the time to load the schema of each model in 
+ * that database is also measured, in the H2 dialect.
+ * 
+ * Run with: java org.jetuml.benchmark.GenerationBenchmark [<number of classes> [<jdbc url>]]
+ */
+public final class GenerationBenchmark
+{
+	private static final int DEFAULT_SIZE = 5000;
+	private static final int WARMUP_RUNS = 3;
+	private static final int MEASURED_RUNS = 5;
+	private static final String DIAGRAM_NAME = "benchmark";
+	
+	private GenerationBenchmark() {}
+	
+	/**
+	 * @param pArgs Optionally, the number of classes of the largest diagram, 
+	 *     and the JDBC URL of the database where the schemas are loaded.
+	 * @throws IOException If the code cannot be written.
+	 * @throws SQLException If the database cannot be used.
+	 */
+	public static void main(String[] pArgs) throws IOException, SQLException
+	{
+		int size = pArgs.length > 0 ? Integer.parseInt(pArgs[0]) : DEFAULT_SIZE;
+		boolean verify = pArgs.length > 1;
+		Path codeDirectory = Files.createTempDirectory("benchmark");
+		System.out.println("classes\trelations\tms\tus/class" + (verify ? "\tschema load ms" : ""));
+		for( int classes = size / 4; classes <= size; classes *= 2 )
+		{
+			DiagramModel model = SyntheticModels.createModel(classes);
+			long nanos = Measurement.measure(() -> SourceCodeGenerator.generate(model, DIAGRAM_NAME, codeDirectory), 
+					WARMUP_RUNS, MEASURED_RUNS).meanNanos();
+			System.out.print(String.format("%d\t%d\t%.1f\t%.1f", classes, model.relations().size(), 
+					nanos / 1_000_000.0, nanos / 1000.0 / classes));
+			if( verify )
+			{
+				SchemaVerification verification = SchemaVerifier.verify(model, StandardSqlDialect.H2, pArgs[1]);
+				System.out.print(String.format("\t%.1f%s", verification.loadTimeMillis(), 
+						verification.succeeded() ? "" : " (" + verification.failures().size() + " failures)"));
+			}
+			System.out.println();
+		}
+	}
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.benchmark;
+
+import java.io.IOException;
+
+/**
+ * The time that an operation takes, measured over a number of runs that 
+ * follow warm-up runs, so that the code is compiled before it is timed.
+ * The results of the runs are added up into a checksum, which keeps the 
+ * operation from being optimized away. This is the measuring routine 
+ * shared by the benchmarks of this package.
+ */
+final class Measurement
+{
+	private final long aMeanNanos;
+	private final long aMinNanos;
+	private final long aChecksum;
+	
+	private Measurement(long pMeanNanos, long pMinNanos, long pChecksum)
+	{
+		aMeanNanos = pMeanNanos;
+		aMinNanos = pMinNanos;
+		aChecksum = pChecksum;
+	}
+	
+	/**
+	 * Runs pOperation pWarmupRuns times, then times it over pMeasuredRuns runs.
+	 * 
+	 * @param pOperation The operation to measure.
+	 * @param pWarmupRuns The number of runs before the operation is timed.
+	 * @param pMeasuredRuns The number of timed runs.
+	 * @return The measurement of pOperation.
+	 * @throws IOException If pOperation fails.
+	 * @pre pOperation != null && pWarmupRuns >= 0 && pMeasuredRuns > 0
+	 */
+	static Measurement measure(Operation pOperation, int pWarmupRuns, int pMeasuredRuns) throws IOException
+	{
+		assert pOperation != null && pWarmupRuns >= 0 && pMeasuredRuns > 0;
+		long sink = 0;
+		for( int i = 0; i < pWarmupRuns; i++ )
+		{
+			sink += pOperation.run();
+		}
+		long total = 0;
+		long min = Long.MAX_VALUE;
+		for( int i = 0; i < pMeasuredRuns; i++ )
+		{
+			long start = System.nanoTime();
+			sink += pOperation.run();
+			long nanos = System.nanoTime() - start;
+			total += nanos;
+			min = Math.min(min, nanos);
+		}
+		return new Measurement(total / pMeasuredRuns, min, sink);
+	}
+	
+	/**
+	 * @return The mean time of the timed runs, in nanoseconds.
+	 */
+	long meanNanos()
+	{
+		return aMeanNanos;
+	}
+	
+	/**
+	 * @return The shortest time of the timed runs, in nanoseconds.
+	 */
+	long minNanos()
+	{
+		return aMinNanos;
+	}
+	
+	/**
+	 * @return The sum of the values returned by all the runs.
+	 */
+	long checksum()
+	{
+		return aChecksum;
+	}
+	
+	/**
+	 * An operation that returns a value computed from its result.
+	 */
+	@FunctionalInterface
+	interface Operation
+	{
+		/**
+		 * @return A value computed from the result of the operation.
+		 * @throws IOException If the operation fails.
+		 */
+		int run() throws IOException;
+	}
+}
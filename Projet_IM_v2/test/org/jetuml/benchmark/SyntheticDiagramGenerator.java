@@ -0,0 +1,287 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.jetuml.diagram.Diagram;
+import org.jetuml.diagram.DiagramType;
+import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.Node;
+import org.jetuml.diagram.edges.AggregationEdge;
+import org.jetuml.diagram.edges.AssociationEdge;
+import org.jetuml.diagram.edges.DependencyEdge;
+import org.jetuml.diagram.edges.GeneralizationEdge;
+import org.jetuml.diagram.nodes.ClassNode;
+import org.jetuml.diagram.nodes.InterfaceNode;
+import org.jetuml.diagram.nodes.PackageNode;
+import org.jetuml.diagram.nodes.TypeNode;
+
+/**
+ * Creates class diagrams of any size whose structure is controlled by a
+ * few parameters: the number of edges per node, the proportions of the
+ * types of edges, the depth of the packages that contain the classes, and
+ * the percentage of edges that connect classes of different clusters.
+ * The classes are placed on a grid, in clusters of CLUSTER_SIZE classes.
+ *
+ * All the random choices come from a generator initialized with the seed,
+ * so the same parameters always create the same diagram. Generators are
+ * immutable; each with method returns a copy with one parameter changed.
+ */
+public final class SyntheticDiagramGenerator
+{
+	private static final int CLUSTER_SIZE = 16;
+	private static final int CLUSTER_COLUMNS = 4;
+	private static final int CLUSTERS_PER_ROW = 8;
+	private static final int CELL_WIDTH = 200;
+	private static final int CELL_HEIGHT = 160;
+	/* The space around each cluster, where its packages are drawn. */
+	private static final int CLUSTER_MARGIN = 60;
+	/* One class in INTERFACE_RATIO is an interface. */
+	private static final int INTERFACE_RATIO = 8;
+
+	private final long aSeed;
+	private final double aEdgesPerNode;
+	private final int[] aEdgeWeights;
+	private final int aPackageDepth;
+	private final int aRemoteEdgesPercent;
+
+	/**
+	 * Creates a generator with 1.5 edges per node, as many dependencies,
+	 * generalizations, aggregations and associations, without packages, and
+	 * with 10% of the edges between clusters.
+	 *
+	 * @param pSeed The seed of the random choices.
+	 */
+	public SyntheticDiagramGenerator(long pSeed)
+	{
+		this(pSeed, 1.5, new int[] {1, 1, 1, 1}, 0, 10);
+	}
+
+	private SyntheticDiagramGenerator(long pSeed, double pEdgesPerNode, int[] pEdgeWeights, int pPackageDepth,
+			int pRemoteEdgesPercent)
+	{
+		aSeed = pSeed;
+		aEdgesPerNode = pEdgesPerNode;
+		aEdgeWeights = pEdgeWeights;
+		aPackageDepth = pPackageDepth;
+		aRemoteEdgesPercent = pRemoteEdgesPercent;
+	}
+
+	/**
+	 * @return The seed of the random choices.
+	 */
+	public long seed()
+	{
+		return aSeed;
+	}
+
+	/**
+	 * @return The number of edges per node.
+	 */
+	public double edgesPerNode()
+	{
+		return aEdgesPerNode;
+	}
+
+	/**
+	 * @return The depth of the packages that contain each cluster of classes.
+	 */
+	public int packageDepth()
+	{
+		return aPackageDepth;
+	}
+
+	/**
+	 * @param pEdgesPerNode The number of edges per node.
+	 * @return A copy of this generator with pEdgesPerNode.
+	 * @pre pEdgesPerNode >= 0
+	 */
+	public SyntheticDiagramGenerator withEdgesPerNode(double pEdgesPerNode)
+	{
+		assert pEdgesPerNode >= 0;
+		return new SyntheticDiagramGenerator(aSeed, pEdgesPerNode, aEdgeWeights, aPackageDepth, aRemoteEdgesPercent);
+	}
+
+	/**
+	 * @param pDependencies The relative number of dependency edges.
+	 * @param pGeneralizations The relative number of generalization edges.
+	 * @param pAggregations The relative number of aggregation edges.
+	 * @param pAssociations The relative number of association edges.
+	 * @return A copy of this generator with these proportions of edge types.
+	 * @pre All weights >= 0 and at least one > 0
+	 */
+	public SyntheticDiagramGenerator withEdgeMix(int pDependencies, int pGeneralizations,
+			int pAggregations, int pAssociations)
+	{
+		assert pDependencies >= 0 && pGeneralizations >= 0 && pAggregations >= 0 && pAssociations >= 0;
+		assert pDependencies + pGeneralizations + pAggregations + pAssociations > 0;
+		return new SyntheticDiagramGenerator(aSeed, aEdgesPerNode,
+				new int[] {pDependencies, pGeneralizations, pAggregations, pAssociations}, aPackageDepth, 
+				aRemoteEdgesPercent);
+	}
+
+	/**
+	 * @param pPackageDepth The number of nested packages around each cluster
+	 *     of classes, or 0 for classes at the root of the diagram.
+	 * @return A copy of this generator with pPackageDepth.
+	 * @pre pPackageDepth >= 0
+	 */
+	public SyntheticDiagramGenerator withPackageDepth(int pPackageDepth)
+	{
+		assert pPackageDepth >= 0;
+		return new SyntheticDiagramGenerator(aSeed, aEdgesPerNode, aEdgeWeights, pPackageDepth, aRemoteEdgesPercent);
+	}
+
+	/**
+	 * @param pPercent The percentage of edges that connect classes of different
+	 *     clusters. With 0, the clusters are not connected to each other.
+	 * @return A copy of this generator with pPercent.
+	 * @pre pPercent >= 0 && pPercent <= 100
+	 */
+	public SyntheticDiagramGenerator withRemoteEdges(int pPercent)
+	{
+		assert pPercent >= 0 && pPercent <= 100;
+		return new SyntheticDiagramGenerator(aSeed, aEdgesPerNode, aEdgeWeights, aPackageDepth, pPercent);
+	}
+
+	/**
+	 * @param pClasses The number of classes and interfaces.
+	 * @return A new class diagram with pClasses classes and interfaces.
+	 * @pre pClasses > 0
+	 */
+	public Diagram generate(int pClasses)
+	{
+		assert pClasses > 0;
+		Random random = new Random(aSeed);
+		Diagram diagram = new Diagram(DiagramType.CLASS);
+		List<Node> classes = new ArrayList<>();
+		for( int cluster = 0; cluster * CLUSTER_SIZE < pClasses; cluster++ )
+		{
+			int size = Math.min(CLUSTER_SIZE, pClasses - cluster * CLUSTER_SIZE);
+			List<Node> members = createCluster(cluster, size);
+			classes.addAll(members);
+			addToDiagram(diagram, cluster, members);
+		}
+		long edges = Math.round(pClasses * aEdgesPerNode);
+		for( long i = 0; i < edges; i++ )
+		{
+			int start = random.nextInt(pClasses);
+			int end = random.nextInt(100) < aRemoteEdgesPercent ? random.nextInt(pClasses) : 
+				sameCluster(start, pClasses, random);
+			if( start != end )
+			{
+				Edge edge = createEdge(random);
+				edge.connect(classes.get(start), classes.get(end));
+				diagram.addEdge(edge);
+			}
+		}
+		return diagram;
+	}
+
+	private static int sameCluster(int pClass, int pClasses, Random pRandom)
+	{
+		int first = (pClass / CLUSTER_SIZE) * CLUSTER_SIZE;
+		return first + pRandom.nextInt(Math.min(CLUSTER_SIZE, pClasses - first));
+	}
+
+	/*
+	 * The classes of a cluster are placed in rows of CLUSTER_COLUMNS cells,
+	 * and the clusters in rows of CLUSTERS_PER_ROW clusters.
+	 */
+	private static List<Node> createCluster(int pCluster, int pSize)
+	{
+		int clusterWidth = CLUSTER_COLUMNS * CELL_WIDTH + 2 * CLUSTER_MARGIN;
+		int clusterHeight = (CLUSTER_SIZE / CLUSTER_COLUMNS) * CELL_HEIGHT + 2 * CLUSTER_MARGIN;
+		int x = (pCluster % CLUSTERS_PER_ROW) * clusterWidth + CLUSTER_MARGIN;
+		int y = (pCluster / CLUSTERS_PER_ROW) * clusterHeight + CLUSTER_MARGIN;
+		List<Node> result = new ArrayList<>();
+		for( int i = 0; i < pSize; i++ )
+		{
+			int index = pCluster * CLUSTER_SIZE + i;
+			TypeNode node = index % INTERFACE_RATIO == 0 ? new InterfaceNode() : new ClassNode();
+			node.setName("Type" + index);
+			if( node instanceof ClassNode )
+			{
+				((ClassNode) node).setAttributes("- id : long\n- name : String");
+			}
+			node.setMethods("+ update(int count) : boolean");
+			node.translate(x + (i % CLUSTER_COLUMNS) * CELL_WIDTH, y + (i / CLUSTER_COLUMNS) * CELL_HEIGHT);
+			result.add(node);
+		}
+		return result;
+	}
+
+	/*
+	 * The classes are added to the innermost of aPackageDepth nested packages,
+	 * or to the diagram if the depth is 0.
+	 */
+	private void addToDiagram(Diagram pDiagram, int pCluster, List<Node> pClasses)
+	{
+		if( aPackageDepth == 0 )
+		{
+			pClasses.forEach(pDiagram::addRootNode);
+			return;
+		}
+		PackageNode outermost = new PackageNode();
+		outermost.setName("cluster" + pCluster);
+		PackageNode innermost = outermost;
+		for( int depth = 1; depth < aPackageDepth; depth++ )
+		{
+			PackageNode inner = new PackageNode();
+			inner.setName("level" + depth);
+			innermost.addChild(inner);
+			innermost = inner;
+		}
+		for( Node node : pClasses )
+		{
+			innermost.addChild(node);
+		}
+		pDiagram.addRootNode(outermost);
+	}
+
+	private Edge createEdge(Random pRandom)
+	{
+		int total = 0;
+		for( int weight : aEdgeWeights )
+		{
+			total += weight;
+		}
+		int choice = pRandom.nextInt(total);
+		if( choice < aEdgeWeights[0] )
+		{
+			return new DependencyEdge();
+		}
+		choice -= aEdgeWeights[0];
+		if( choice < aEdgeWeights[1] )
+		{
+			return new GeneralizationEdge();
+		}
+		choice -= aEdgeWeights[1];
+		if( choice < aEdgeWeights[2] )
+		{
+			return new AggregationEdge();
+		}
+		return new AssociationEdge();
+	}
+}
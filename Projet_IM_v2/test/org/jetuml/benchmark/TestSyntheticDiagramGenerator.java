@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.benchmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jetuml.diagram.Diagram;
+import org.jetuml.diagram.edges.DependencyEdge;
+import org.jetuml.diagram.nodes.PackageNode;
+import org.jetuml.persistence.JsonEncoder;
+import org.jetuml.persistence.json.JsonArray;
+import org.jetuml.persistence.json.JsonObject;
+import org.junit.jupiter.api.Test;
+
+public class TestSyntheticDiagramGenerator
+{
+	private final SyntheticDiagramGenerator aGenerator = new SyntheticDiagramGenerator(7);
+	
+	/*
+	 * The JSON encoding of pDiagram with its nodes sorted, since the 
+	 * encoder does not list the nodes in a fixed order.
+	 */
+	private static String encode(Diagram pDiagram)
+	{
+		JsonObject object = JsonEncoder.encode(pDiagram);
+		List<String> nodes = new ArrayList<>();
+		object.getJsonArray("nodes").forEach(node -> nodes.add(node.toString()));
+		Collections.sort(nodes);
+		object.put("nodes", new JsonArray(nodes));
+		return object.toString();
+	}
+
+	@Test
+	void testGenerate_SameSeedSameDiagram()
+	{
+		assertEquals(encode(aGenerator.generate(100)), encode(aGenerator.generate(100)));
+		assertFalse(encode(aGenerator.generate(100)).equals(encode(new SyntheticDiagramGenerator(8).generate(100))));
+	}
+
+	@Test
+	void testGenerate_Parameters()
+	{
+		Diagram diagram = aGenerator.withEdgesPerNode(2).withEdgeMix(1, 0, 0, 0).withPackageDepth(2).generate(40);
+		assertEquals(40, diagram.allNodes().size() - diagram.nodesOfType(PackageNode.class).size());
+		assertEquals(6, diagram.nodesOfType(PackageNode.class).size());
+		assertEquals(3, diagram.rootNodes().size());
+		assertTrue(diagram.edges().size() <= 80 && diagram.edges().size() > 60);
+		assertTrue(diagram.edges().stream().allMatch(edge -> edge instanceof DependencyEdge));
+	}
+}
@@ -28,9 +28,12 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Stream;
 
+import org.jetuml.diagram.edges.DependencyEdge;
+import org.jetuml.diagram.edges.NoteEdge;
 import org.jetuml.diagram.nodes.AbstractNode;
 import org.jetuml.diagram.nodes.CallNode;
 import org.jetuml.diagram.nodes.ClassNode;
@@ -84,11 +87,7 @@ public class TestDiagram
 	
 	private static Stream<Arguments> argumentsForFileExtensions() {
 	    return Stream.of(
-	      Arguments.of(new Diagram(DiagramType.CLASS), ".class"),
-	      Arguments.of(new Diagram(DiagramType.SEQUENCE), ".sequence"),
-	      Arguments.of(new Diagram(DiagramType.STATE), ".state"),
-	      Arguments.of(new Diagram(DiagramType.OBJECT), ".object"),
-	      Arguments.of(new Diagram(DiagramType.USECASE), ".usecase")
+	      Arguments.of(new Diagram(DiagramType.CLASS), ".class")
 	    );
 	}
 	
@@ -122,16 +121,15 @@ public class TestDiagram
 	}
 	
 	@Test
-	public void testPlaceOnTop_SequenceDiagramWithCallNodes()
+	public void testPlaceOnTop_CallNodes()
 	{
 		ImplicitParameterNode implicitParameterNode = new ImplicitParameterNode();
 		CallNode callNode1 = new CallNode();
 		CallNode callNode2 = new CallNode();
 		implicitParameterNode.addChild(callNode1);
 		implicitParameterNode.addChild(callNode2);
-		Diagram sequenceDiagram = new Diagram(DiagramType.SEQUENCE);
-		sequenceDiagram.addRootNode(implicitParameterNode);
-		sequenceDiagram.placeOnTop(callNode1);
+		aDiagram.addRootNode(implicitParameterNode);
+		aDiagram.placeOnTop(callNode1);
 		
 		// The order of the call nodes remains the same
 		List<Node> childNodes = implicitParameterNode.getChildren();
@@ -177,4 +175,249 @@ public class TestDiagram
 		diagram.addRootNode(aNode4);
 		assertThat(diagram.allNodes(), hasSetOfElementsEqualsTo, aNode2, aNode3, aNode4);
 	}
+	
+	private Edge connect(Node pStart, Node pEnd)
+	{
+		Edge edge = new DependencyEdge();
+		edge.connect(pStart, pEnd);
+		return edge;
+	}
+	
+	private static List<Edge> list(Iterable<Edge> pEdges)
+	{
+		List<Edge> result = new ArrayList<>();
+		pEdges.forEach(result::add);
+		return result;
+	}
+	
+	@Test
+	public void testEdgesConnectedTo_NoEdges()
+	{
+		aDiagram.addRootNode(aNode1);
+		assertFalse(aDiagram.edgesConnectedTo(aNode1).iterator().hasNext());
+	}
+	
+	@Test
+	public void testEdgesConnectedTo_AddAndRemove()
+	{
+		aDiagram.addRootNode(aNode1);
+		aDiagram.addRootNode(aNode3);
+		Edge edge1 = connect(aNode1, aNode3);
+		Edge edge2 = connect(aNode3, aNode3);
+		Edge edge3 = connect(aNode3, aNode1);
+		aDiagram.addEdge(edge1);
+		aDiagram.addEdge(edge2);
+		aDiagram.addEdge(edge3);
+		assertEquals(List.of(edge1, edge3), list(aDiagram.edgesConnectedTo(aNode1)));
+		assertEquals(List.of(edge1, edge2, edge3), list(aDiagram.edgesConnectedTo(aNode3)));
+		aDiagram.removeEdge(edge1);
+		assertEquals(List.of(edge3), list(aDiagram.edgesConnectedTo(aNode1)));
+		aDiagram.removeEdge(edge2);
+		assertEquals(List.of(edge3), list(aDiagram.edgesConnectedTo(aNode3)));
+	}
+	
+	@Test
+	public void testEdgesConnectedTo_InsertionKeepsOrder()
+	{
+		aDiagram.addRootNode(aNode1);
+		aDiagram.addRootNode(aNode3);
+		Edge edge1 = connect(aNode1, aNode3);
+		Edge edge2 = connect(aNode3, aNode1);
+		aDiagram.addEdge(edge1);
+		aDiagram.addEdge(edge2);
+		aDiagram.removeEdge(edge1);
+		aDiagram.addEdge(0, edge1);
+		assertEquals(List.of(edge1, edge2), list(aDiagram.edgesConnectedTo(aNode1)));
+		assertEquals(List.of(edge1, edge2), list(aDiagram.edgesConnectedTo(aNode3)));
+	}
+	
+	@Test
+	public void testEdgesConnectedTo_Duplicate()
+	{
+		aDiagram.addRootNode(aNode1);
+		aDiagram.addRootNode(aNode3);
+		aDiagram.addEdge(connect(aNode1, aNode3));
+		Diagram copy = aDiagram.duplicate();
+		Node node = copy.rootNodes().get(0);
+		assertEquals(List.of(copy.edges().get(0)), list(copy.edgesConnectedTo(node)));
+		assertFalse(aDiagram.edgesConnectedTo(aNode1).iterator().next() == copy.edges().get(0));
+	}
+	
+	@Test
+	public void testContains_NestedNodes()
+	{
+		aNode4.addChild(aNode2);
+		aNode2.addChild(aNode3);
+		aDiagram.addRootNode(aNode4);
+		assertTrue(aDiagram.contains(aNode4));
+		assertTrue(aDiagram.contains(aNode3));
+		assertFalse(aDiagram.contains(aNode1));
+		aNode2.removeChild(aNode3);
+		assertFalse(aDiagram.contains(aNode3));
+		aDiagram.removeRootNode(aNode4);
+		assertFalse(aDiagram.contains(aNode2));
+	}
+	
+	@Test
+	public void testContains_Edges()
+	{
+		aDiagram.addRootNode(aNode1);
+		aDiagram.addRootNode(aNode3);
+		Edge edge = connect(aNode1, aNode3);
+		assertFalse(aDiagram.contains(edge));
+		aDiagram.addEdge(edge);
+		assertTrue(aDiagram.contains(edge));
+		aDiagram.removeEdge(edge);
+		assertFalse(aDiagram.contains(edge));
+	}
+	
+	@Test
+	public void testIndexOf_AfterChanges()
+	{
+		aDiagram.addRootNode(aNode1);
+		aDiagram.addRootNode(aNode3);
+		Edge edge1 = connect(aNode1, aNode3);
+		Edge edge2 = connect(aNode3, aNode1);
+		Edge edge3 = connect(aNode1, aNode1);
+		aDiagram.addEdge(edge1);
+		aDiagram.addEdge(edge2);
+		assertEquals(1, aDiagram.indexOf(edge2));
+		aDiagram.addEdge(edge3);
+		assertEquals(2, aDiagram.indexOf(edge3));
+		aDiagram.removeEdge(edge1);
+		assertEquals(0, aDiagram.indexOf(edge2));
+		aDiagram.addEdge(0, edge1);
+		assertEquals(0, aDiagram.indexOf(edge1));
+		assertEquals(2, aDiagram.indexOf(edge3));
+	}
+	
+	@Test
+	public void testModificationCount()
+	{
+		long count = aDiagram.modificationCount();
+		aDiagram.addRootNode(aNode4);
+		assertFalse(count == aDiagram.modificationCount());
+		count = aDiagram.modificationCount();
+		aNode4.addChild(aNode3);
+		assertFalse(count == aDiagram.modificationCount());
+		count = aDiagram.modificationCount();
+		aNode3.translate(10, 10);
+		assertEquals(count, aDiagram.modificationCount());
+		aDiagram.addEdge(connect(aNode4, aNode3));
+		assertFalse(count == aDiagram.modificationCount());
+	}
+
+	@Test
+	public void testChangeCount()
+	{
+		aDiagram.addRootNode(aNode4);
+		aNode4.addChild(aNode3);
+		long count = aDiagram.changeCount();
+		aNode3.translate(10, 10);
+		assertFalse(count == aDiagram.changeCount());
+		count = aDiagram.changeCount();
+		aNode4.properties().get(PropertyName.NAME).set("Name");
+		assertFalse(count == aDiagram.changeCount());
+		count = aDiagram.changeCount();
+		aDiagram.removeRootNode(aNode4);
+		aNode4.translate(10, 10);
+		assertEquals(count, aDiagram.changeCount());
+	}
+
+	@Test
+	public void testElementsChangedSince()
+	{
+		aDiagram.addRootNode(aNode1);
+		aDiagram.addRootNode(aNode4);
+		aNode4.addChild(aNode3);
+		long count = aDiagram.changeCount();
+		assertEquals(List.of(), aDiagram.elementsChangedSince(count).get());
+		aNode1.translate(10, 10);
+		aNode3.translate(10, 10);
+		assertEquals(List.of(aNode3, aNode1), aDiagram.elementsChangedSince(count).get());
+		assertEquals(List.of(aNode3), aDiagram.elementsChangedSince(count + 1).get());
+		for( int i = 0; i < 5000; i++ )
+		{
+			aNode1.translate(1, 1);
+		}
+		assertTrue(aDiagram.elementsChangedSince(count).isEmpty());
+	}
+
+	@Test
+	public void testCounts_OtherDiagram()
+	{
+		Diagram other = new Diagram(DiagramType.CLASS);
+		other.addRootNode(aNode4);
+		aDiagram.addRootNode(aNode1);
+		long modificationCount = aDiagram.modificationCount();
+		long changeCount = aDiagram.changeCount();
+		aNode4.addChild(aNode3);
+		aNode4.translate(10, 10);
+		aNode4.properties().get(PropertyName.NAME).set("Name");
+		assertEquals(modificationCount, aDiagram.modificationCount());
+		assertEquals(changeCount, aDiagram.changeCount());
+		assertFalse(modificationCount == other.modificationCount());
+	}
+
+	@Test
+	public void testChangeCount_Duplicate()
+	{
+		aDiagram.addRootNode(aNode4);
+		aNode4.addChild(aNode3);
+		Diagram copy = aDiagram.duplicate();
+		long count = aDiagram.changeCount();
+		long copyCount = copy.changeCount();
+		copy.rootNodes().get(0).getChildren().get(0).translate(10, 10);
+		assertEquals(count, aDiagram.changeCount());
+		assertFalse(copyCount == copy.changeCount());
+	}
+	
+	@Test
+	public void testAllNodes_Snapshot()
+	{
+		aDiagram.addRootNode(aNode1);
+		aDiagram.addRootNode(aNode4);
+		List<Node> nodes = aDiagram.allNodes();
+		assertSame(nodes, aDiagram.allNodes());
+		aNode4.addChild(aNode3);
+		assertEquals(List.of(aNode1, aNode4, aNode3), aDiagram.allNodes());
+		assertEquals(List.of(aNode1, aNode4), nodes);
+		aDiagram.placeOnTop(aNode1);
+		assertEquals(List.of(aNode4, aNode3, aNode1), aDiagram.allNodes());
+	}
+	
+	@Test
+	public void testNodesOfType()
+	{
+		aDiagram.addRootNode(aNode1);
+		aDiagram.addRootNode(aNode4);
+		aNode4.addChild(aNode2);
+		aNode2.addChild(aNode3);
+		assertEquals(List.of(aNode4, aNode2), aDiagram.nodesOfType(PackageNode.class));
+		assertEquals(List.of(aNode3), aDiagram.nodesOfType(ClassNode.class));
+		assertSame(aDiagram.nodesOfType(ClassNode.class), aDiagram.nodesOfType(ClassNode.class));
+		aNode2.removeChild(aNode3);
+		assertTrue(aDiagram.nodesOfType(ClassNode.class).isEmpty());
+	}
+	
+	@Test
+	public void testEdgesOfType()
+	{
+		aDiagram.addRootNode(aNode1);
+		aDiagram.addRootNode(aNode3);
+		Edge edge1 = connect(aNode1, aNode3);
+		Edge edge2 = new NoteEdge();
+		edge2.connect(aNode3, aNode1);
+		aDiagram.addEdge(edge1);
+		aDiagram.addEdge(edge2);
+		List<DependencyEdge> dependencies = aDiagram.edgesOfType(DependencyEdge.class);
+		assertEquals(List.of(edge1), dependencies);
+		assertEquals(List.of(edge1, edge2), aDiagram.edgesOfType(Edge.class));
+		assertSame(dependencies, aDiagram.edgesOfType(DependencyEdge.class));
+		Edge edge3 = connect(aNode3, aNode3);
+		aDiagram.addEdge(0, edge3);
+		assertEquals(List.of(edge3, edge1), aDiagram.edgesOfType(DependencyEdge.class));
+		aDiagram.removeEdge(edge1);
+		assertEquals(List.of(edge3), aDiagram.edgesOfType(DependencyEdge.class));
+	}
 }
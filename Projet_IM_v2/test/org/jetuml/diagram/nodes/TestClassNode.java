@@ -25,6 +25,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import org.jetuml.diagram.PropertyName;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -98,4 +99,33 @@ public class TestClassNode
 	{
 		assertFalse(aNode1.requiresParent());
 	}
+	
+	@Test
+	public void testGetParsedAttributes_Cached()
+	{
+		aNode1.setAttributes("+ name : String\nage : int");
+		assertEquals(2, aNode1.getParsedAttributes().size());
+		assertEquals("age", aNode1.getParsedAttributes().get(1).name());
+		assertSame(aNode1.getParsedAttributes(), aNode1.getParsedAttributes());
+	}
+	
+	@Test
+	public void testGetParsedAttributes_InvalidatedBySetter()
+	{
+		aNode1.setAttributes("name : String");
+		assertEquals("String", aNode1.getParsedAttributes().get(0).type());
+		aNode1.setAttributes("name : int");
+		assertEquals("int", aNode1.getParsedAttributes().get(0).type());
+	}
+	
+	@Test
+	public void testGetParsedMembers_InvalidatedByProperty()
+	{
+		assertTrue(aNode1.getParsedAttributes().isEmpty());
+		assertTrue(aNode1.getParsedMethods().isEmpty());
+		aNode1.properties().get(PropertyName.ATTRIBUTES).set("count : int");
+		aNode1.properties().get(PropertyName.METHODS).set("run()\nstop()");
+		assertEquals("count", aNode1.getParsedAttributes().get(0).name());
+		assertEquals(2, aNode1.getParsedMethods().size());
+	}
 }
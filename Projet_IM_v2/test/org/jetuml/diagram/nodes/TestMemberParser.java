@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.diagram.nodes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TestMemberParser
+{
+	@Test
+	void testParseAttributes_empty()
+	{
+		assertTrue(MemberParser.parseAttributes("").isEmpty());
+		assertTrue(MemberParser.parseAttributes("\n  \n").isEmpty());
+	}
+	
+	@Test
+	void testParseAttributes()
+	{
+		List<Attribute> attributes = MemberParser.parseAttributes("+ name : String\n# count:int\nflag");
+		assertEquals(3, attributes.size());
+		assertEquals(Visibility.PUBLIC, attributes.get(0).visibility());
+		assertEquals("name", attributes.get(0).name());
+		assertEquals("String", attributes.get(0).type());
+		assertEquals(Visibility.PROTECTED, attributes.get(1).visibility());
+		assertEquals("int", attributes.get(1).type());
+		assertEquals(Visibility.PRIVATE, attributes.get(2).visibility());
+		assertEquals("", attributes.get(2).type());
+	}
+	
+	@Test
+	void testParseMethods()
+	{
+		List<Method> methods = MemberParser.parseMethods("+ put(Map<String, Integer> map, k : int) : boolean\n- run()");
+		assertEquals(2, methods.size());
+		Method put = methods.get(0);
+		assertEquals("put", put.name());
+		assertEquals(Visibility.PUBLIC, put.visibility());
+		assertEquals("boolean", put.returnType());
+		assertEquals(2, put.parameters().size());
+		assertEquals("Map<String, Integer>", put.parameters().get(0).type());
+		assertEquals("map", put.parameters().get(0).name());
+		assertEquals("int", put.parameters().get(1).type());
+		assertEquals("k", put.parameters().get(1).name());
+		assertEquals("void", methods.get(1).returnType());
+		assertTrue(methods.get(1).parameters().isEmpty());
+	}
+}
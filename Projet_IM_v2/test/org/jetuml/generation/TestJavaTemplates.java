@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.jetuml.diagram.nodes.ClassNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestJavaTemplates
+{
+	private static final List<String> PARAMETERS = Arrays.asList("type", "name");
+	
+	@TempDir
+	Path aDirectory;
+	
+	private static DiagramModel createModel()
+	{
+		ClassNode members = new ClassNode();
+		members.setAttributes("- name : String");
+		members.setMethods("+ getName() : String");
+		return new DiagramModel(Arrays.asList(
+				new TypeModel("Student", false, members.getParsedAttributes(), members.getParsedMethods()),
+				new TypeModel("Person", false, Collections.emptyList(), Collections.emptyList())),
+			Arrays.asList(
+				new RelationModel(RelationType.GENERALIZATION, "", "Student", "Person", "", "")));
+	}
+	
+	private Path writeTemplates(String pContent) throws IOException
+	{
+		Path file = aDirectory.resolve("templates.properties");
+		Files.write(file, pContent.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+	
+	@Test
+	void testRender()
+	{
+		CodeTemplate template = CodeTemplate.compile("private ${type} ${name}; // ${name}", PARAMETERS);
+		StringBuilder buffer = new StringBuilder("x");
+		template.render(buffer, "int", "count");
+		assertEquals("xprivate int count; // count", buffer.toString());
+	}
+	
+	@Test
+	void testRender_noPlaceholder()
+	{
+		StringBuilder buffer = new StringBuilder();
+		CodeTemplate.compile("}\n", PARAMETERS).render(buffer);
+		CodeTemplate.compile("", PARAMETERS).render(buffer);
+		CodeTemplate.compile("${name}", PARAMETERS).render(buffer, "", "end");
+		assertEquals("}\nend", buffer.toString());
+	}
+	
+	@Test
+	void testCompile_invalidPlaceholder()
+	{
+		assertThrows(IllegalArgumentException.class, () -> CodeTemplate.compile("${value}", PARAMETERS));
+		assertThrows(IllegalArgumentException.class, () -> CodeTemplate.compile("private ${type", PARAMETERS));
+	}
+	
+	@Test
+	void testDefaults()
+	{
+		String code = JavaGenerator.generate(createModel(), createModel().types().get(0), "school");
+		assertTrue(code.startsWith("package school;\n\nimport java.util.*;\npublic class Student extends Person {\n\n\t//Attributes \n" + 
+				"\tprivate String name;\n"));
+		assertTrue(code.contains("\tpublic String getName(){\n\t//function body\n\t\treturn null;\n\t}\n}\n"));
+	}
+	
+	@Test
+	void testLoad_overridesSomeTemplates() throws IOException
+	{
+		JavaTemplates templates = JavaTemplates.load(writeTemplates(
+				"class.header=@Data\\npublic class ${name}${extends}${implements} {\\n\\n\\t//Attributes \\n\n" + 
+				"class.extends=\\ extends Base${type}\n"));
+		DiagramModel model = createModel();
+		String code = JavaGenerator.generate(model, model.types().get(0), "school", templates);
+		assertTrue(code.contains("@Data\npublic class Student extends BasePerson {"));
+		assertTrue(code.contains("\tprivate String name;\n"));
+		assertEquals(JavaGenerator.generate(model, model.types().get(1), "school"), 
+				JavaGenerator.generate(model, model.types().get(1), "school", JavaTemplates.defaults()));
+	}
+	
+	@Test
+	void testLoad_unknownPlaceholder() throws IOException
+	{
+		Path file = writeTemplates("class.attribute=\\t${visibility} ${typ} ${name};\\n\n");
+		assertThrows(IllegalArgumentException.class, () -> JavaTemplates.load(file));
+	}
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.jetuml.diagram.nodes.ClassNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestJpaGenerator
+{
+	private static final DiagramModel MODEL = createModel();
+	private static final GenerationOptions OPTIONS = 
+			GenerationOptions.DEFAULT.withDialect(StandardSqlDialect.H2).withPersistenceLayer(true);
+	
+	@TempDir
+	Path aOutput;
+	
+	private static DiagramModel createModel()
+	{
+		ClassNode members = new ClassNode();
+		members.setAttributes("id : long\nname : String");
+		return new DiagramModel(Arrays.asList(
+				new TypeModel("Person", false, members.getParsedAttributes(), Collections.emptyList()),
+				new TypeModel("Teacher", false, Collections.emptyList(), Collections.emptyList()),
+				new TypeModel("Course", false, members.getParsedAttributes(), Collections.emptyList()),
+				new TypeModel("Room", false, Collections.emptyList(), Collections.emptyList()),
+				new TypeModel("Printable", true, Collections.emptyList(), Collections.emptyList())),
+			Arrays.asList(
+				new RelationModel(RelationType.GENERALIZATION, "", "Teacher", "Person", "", ""),
+				new RelationModel(RelationType.COMPOSITION, "", "Teacher", "Course", "", "*"),
+				new RelationModel(RelationType.ASSOCIATION, "", "Course", "Room", "*", "1"),
+				new RelationModel(RelationType.AGGREGATION, "", "Teacher", "Printable", "", "")));
+	}
+	
+	private static String entity(String pName)
+	{
+		return JpaGenerator.generateEntity(MODEL, MODEL.type(pName).get(), "school.persistence");
+	}
+	
+	private static String repository(String pName)
+	{
+		return JpaGenerator.generateRepository(MODEL, MODEL.type(pName).get(), "school.persistence");
+	}
+	
+	@Test
+	void testEntity_inheritance()
+	{
+		String person = entity("Person");
+		assertTrue(person.contains("@Entity\n@Table(name = \"Person\")\n@BatchSize(size = 25)\n" + 
+				"@Inheritance(strategy = InheritanceType.JOINED)\npublic class Person {\n"));
+		assertTrue(person.contains("\t@Id\n\t@Column(name = \"ID\")\n\tprivate Long id;\n"));
+		// The id attribute is the primary key
+		assertFalse(person.contains("private long id;"));
+		String teacher = entity("Teacher");
+		assertTrue(teacher.contains("@PrimaryKeyJoinColumn(name = \"ID\")\npublic class Teacher extends Person {\n"));
+		assertFalse(teacher.contains("@Id"));
+	}
+	
+	@Test
+	void testEntity_relations()
+	{
+		assertTrue(entity("Teacher").contains("\t@OneToMany(fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)\n" + 
+				"\t@JoinColumn(name = \"id_Teacher\")\n\t@BatchSize(size = 25)\n\tprivate List<Course> course = new ArrayList<>();\n"));
+		assertTrue(entity("Course").contains("\t@ManyToOne(fetch = FetchType.LAZY)\n\t@JoinColumn(name = \"id_Room\")\n" + 
+				"\tprivate Room room;\n"));
+		assertTrue(entity("Course").contains("\tpublic void setRoom(Room room) {\n\t\tthis.room = room;\n\t}\n"));
+		// Interfaces are not entities
+		assertFalse(entity("Teacher").contains("Printable"));
+		assertFalse(entity("Room").contains("JoinColumn"));
+	}
+	
+	@Test
+	void testEntity_fieldNames()
+	{
+		DiagramModel model = new DiagramModel(Arrays.asList(
+				new TypeModel("Order", false, Collections.emptyList(), Collections.emptyList()),
+				new TypeModel("OrderLine", false, Collections.emptyList(), Collections.emptyList())),
+			Arrays.asList(new RelationModel(RelationType.COMPOSITION, "", "Order", "OrderLine", "", "*")));
+		String order = JpaGenerator.generateEntity(model, model.type("Order").get(), "shop.persistence");
+		assertTrue(order.contains("\tprivate List<OrderLine> orderLine = new ArrayList<>();\n"));
+		assertTrue(order.contains("\tpublic List<OrderLine> getOrderLine() {\n"));
+	}
+	
+	@Test
+	void testRepository()
+	{
+		assertTrue(repository("Course").contains("public interface CourseRepository extends JpaRepository<Course, Long> {\n\n" + 
+				"\t@EntityGraph(attributePaths = {\"room\"})\n\tList<Course> findAllWithReferencesBy();\n}\n"));
+		// Collections are loaded in batches rather than with an entity graph
+		assertEquals("package school.persistence;\n\nimport org.springframework.data.jpa.repository.JpaRepository;\n\n" + 
+				"public interface TeacherRepository extends JpaRepository<Teacher, Long> {\n}\n", repository("Teacher"));
+	}
+	
+	@Test
+	void testScript_followsEntityMapping()
+	{
+		String script = SqlGenerator.generate(MODEL, OPTIONS);
+		assertTrue(script.contains("CREATE TABLE Teacher (\n\tID BIGINT PRIMARY KEY\n);"));
+		assertTrue(script.contains("CREATE TABLE Course (\n\tID BIGINT PRIMARY KEY,\n\tname VARCHAR(255),\n" + 
+				"\tid_Room BIGINT,\n\tid_Teacher BIGINT\n);"));
+		assertTrue(script.contains("ALTER TABLE Teacher ADD FOREIGN KEY (ID) REFERENCES Person(ID);\n"));
+		assertTrue(script.contains("ALTER TABLE Course ADD FOREIGN KEY (id_Teacher) REFERENCES Teacher(ID) ON DELETE CASCADE;\n"));
+		assertTrue(script.contains("ALTER TABLE Course ADD FOREIGN KEY (id_Room) REFERENCES Room(ID) ON DELETE SET NULL;\n"));
+		assertFalse(script.contains("Printable"));
+		assertFalse(SqlGenerator.generate(MODEL, StandardSqlDialect.H2).contains("id_Room"));
+	}
+	
+	@Test
+	void testGenerate_persistenceLayer() throws IOException
+	{
+		assertEquals(14, SourceCodeGenerator.generate(MODEL, "School", aOutput, OPTIONS, (pCompleted, pTotal) -> {}));
+		Path folder = SourceCodeGenerator.targetDirectory(aOutput, "School").resolve("persistence");
+		assertTrue(Files.isRegularFile(folder.resolve("Teacher.java")));
+		assertTrue(Files.isRegularFile(folder.resolve("TeacherRepository.java")));
+		assertFalse(Files.exists(folder.resolve("Printable.java")));
+		assertTrue(new String(Files.readAllBytes(folder.resolve("Room.java"))).startsWith(
+				"package org.jetuml.aGenerateJava.Diagram_School.persistence;\n"));
+		assertEquals(0, SourceCodeGenerator.generate(MODEL, "School", aOutput, OPTIONS, (pCompleted, pTotal) -> {}));
+	}
+}
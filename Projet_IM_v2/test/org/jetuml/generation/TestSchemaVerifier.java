@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.SQLException;
+
+import org.jetuml.diagram.Diagram;
+import org.jetuml.diagram.DiagramType;
+import org.jetuml.diagram.edges.AggregationEdge;
+import org.jetuml.diagram.nodes.ClassNode;
+import org.jetuml.testutils.SyntheticModels;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * These tests load the schemas in an in-memory H2 database, 
+ * whose driver is in lib/h2-2.2.224.jar.
+ */
+public class TestSchemaVerifier
+{
+	private static final String H2_URL = "jdbc:h2:mem:";
+	
+	private Diagram aDiagram;
+	private ClassNode aTeacher;
+	private ClassNode aCourse;
+	private AggregationEdge aComposition;
+	
+	@BeforeEach
+	void setup()
+	{
+		aDiagram = new Diagram(DiagramType.CLASS);
+		aTeacher = new ClassNode();
+		aTeacher.setName("Teacher");
+		aTeacher.setAttributes("name : String\nage : int");
+		aCourse = new ClassNode();
+		aCourse.setName("Course");
+		aCourse.setAttributes("title : String\ncredits : double");
+		aDiagram.addRootNode(aTeacher);
+		aDiagram.addRootNode(aCourse);
+		aComposition = new AggregationEdge(AggregationEdge.Type.Composition);
+		aComposition.connect(aTeacher, aCourse);
+		aDiagram.addEdge(aComposition);
+	}
+	
+	@Test
+	void testVerify_valid() throws SQLException
+	{
+		SchemaVerification verification = SchemaVerifier.verify(DiagramModel.from(aDiagram), StandardSqlDialect.H2, H2_URL);
+		assertTrue(verification.succeeded());
+		assertEquals(3, verification.statementCount());
+		assertTrue(verification.loadTimeMillis() >= 0);
+	}
+	
+	/*
+	 * The SQLite scripts declare the foreign keys with their tables, which can refer 
+	 * to tables created later. H2 rejects these, so the SQLite dialect is not tested here.
+	 */
+	@Test
+	void testVerify_dialectsWithSeparateForeignKeysAcceptedByH2() throws SQLException
+	{
+		DiagramModel model = SyntheticModels.createModel(200);
+		assertTrue(SchemaVerifier.verify(model, StandardSqlDialect.H2, H2_URL).succeeded());
+		assertTrue(SchemaVerifier.verify(model, StandardSqlDialect.POSTGRESQL, H2_URL + ";MODE=PostgreSQL").succeeded());
+		assertTrue(SchemaVerifier.verify(model, StandardSqlDialect.ORACLE, H2_URL + ";MODE=Oracle").succeeded());
+	}
+	
+	@Test
+	void testVerify_entityMapping() throws SQLException
+	{
+		GenerationOptions options = GenerationOptions.DEFAULT.withDialect(StandardSqlDialect.H2).withPersistenceLayer(true);
+		assertTrue(SchemaVerifier.verify(SyntheticModels.createModel(200), options, H2_URL).succeeded());
+	}
+	
+	@Test
+	void testVerify_failuresMappedToDiagram() throws SQLException
+	{
+		// A reserved word cannot be used as a column name
+		aTeacher.setAttributes("select : String");
+		SchemaVerification verification = SchemaVerifier.verify(DiagramModel.from(aDiagram), StandardSqlDialect.H2, H2_URL);
+		assertFalse(verification.succeeded());
+		assertEquals(2, verification.failures().size());
+		SchemaVerification.Failure table = verification.failures().get(0);
+		assertEquals("Teacher", table.origin());
+		assertSame(aTeacher, table.element().get());
+		SchemaVerification.Failure foreignKey = verification.failures().get(1);
+		assertEquals("COMPOSITION Teacher -> Course", foreignKey.origin());
+		assertSame(aComposition, foreignKey.element().get());
+	}
+	
+	@Test
+	void testVerify_modelWithoutDiagram() throws SQLException
+	{
+		DiagramModel model = SyntheticModels.createModel(3);
+		SchemaVerification verification = SchemaVerifier.verify(model, StandardSqlDialect.H2, H2_URL);
+		assertTrue(verification.succeeded());
+		assertFalse(model.nodeOf("Class0").isPresent());
+	}
+}
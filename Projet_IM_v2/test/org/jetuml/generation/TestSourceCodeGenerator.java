@@ -0,0 +1,270 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jdom2.Element;
+import org.jetuml.diagram.Diagram;
+import org.jetuml.diagram.DiagramType;
+import org.jetuml.diagram.edges.AggregationEdge;
+import org.jetuml.diagram.edges.GeneralizationEdge;
+import org.jetuml.diagram.nodes.ClassNode;
+import org.jetuml.diagram.nodes.NoteNode;
+import org.jetuml.diagram.nodes.Visibility;
+import org.jetuml.testutils.SyntheticModels;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestSourceCodeGenerator
+{
+	private Diagram aDiagram;
+	
+	@TempDir
+	Path aOutput;
+	
+	@BeforeEach
+	void setup()
+	{
+		aDiagram = new Diagram(DiagramType.CLASS);
+		ClassNode student = createClass("Student", "name : String\nage : int", "learn():void");
+		ClassNode teacher = createClass("Teacher", "name : String", "+ teach(int hours):void");
+		ClassNode course = createClass("Course", "- title : String", "");
+		aDiagram.addRootNode(new NoteNode());
+		
+		GeneralizationEdge inheritance = new GeneralizationEdge(GeneralizationEdge.Type.Inheritance);
+		inheritance.connect(student, teacher);
+		aDiagram.addEdge(inheritance);
+		AggregationEdge composition = new AggregationEdge(AggregationEdge.Type.Composition);
+		composition.connect(teacher, course);
+		composition.setEndLabel("*");
+		aDiagram.addEdge(composition);
+	}
+	
+	private ClassNode createClass(String pName, String pAttributes, String pMethods)
+	{
+		ClassNode node = new ClassNode();
+		node.setName(pName);
+		node.setAttributes(pAttributes);
+		node.setMethods(pMethods);
+		aDiagram.addRootNode(node);
+		return node;
+	}
+	
+	private ClassNode findClass(String pName)
+	{
+		return (ClassNode) aDiagram.rootNodes().stream()
+				.filter(node -> node instanceof ClassNode && ((ClassNode) node).getName().equals(pName))
+				.findFirst().get();
+	}
+	
+	private static String read(Path pFile) throws IOException
+	{
+		return new String(Files.readAllBytes(pFile), StandardCharsets.UTF_8);
+	}
+	
+	@Test
+	void testModel()
+	{
+		DiagramModel model = DiagramModel.from(aDiagram);
+		assertEquals(3, model.types().size());
+		assertEquals(2, model.relations().size());
+		assertEquals(RelationType.GENERALIZATION, model.relations().get(0).type());
+		assertEquals(RelationType.COMPOSITION, model.relations().get(1).type());
+		assertTrue(model.relations().get(1).isToMany());
+		assertEquals(Visibility.PRIVATE, model.type("Course").get().attributes().get(0).visibility());
+		assertFalse(model.type("Unknown").isPresent());
+	}
+	
+	@Test
+	void testModel_duplicateNames()
+	{
+		ClassNode duplicate = createClass("Student", "grade : int", "");
+		DiagramModel model = DiagramModel.from(aDiagram);
+		assertEquals(3, model.types().size());
+		assertEquals("Student", model.types().get(0).name());
+		assertSame(model.types().get(0), model.type("Student").get());
+		assertEquals("grade", model.type("Student").get().attributes().get(0).name());
+		assertSame(duplicate, model.nodeOf("Student").get());
+	}
+	
+	@Test
+	void testModel_relationIndex()
+	{
+		DiagramModel model = DiagramModel.from(aDiagram);
+		assertEquals("Teacher", model.relationsFrom("Student", type -> true).get(0).target());
+		assertTrue(model.relationsFrom("Student", RelationType::isContainment).isEmpty());
+		assertEquals(1, model.relationsFrom("Teacher", RelationType::isContainment).size());
+		assertEquals("Teacher", model.relationsTo("Course", type -> type == RelationType.COMPOSITION).get(0).source());
+		assertTrue(model.relationsTo("Course", type -> type == RelationType.AGGREGATION).isEmpty());
+		assertTrue(model.relationsFrom("Course", type -> true).isEmpty());
+	}
+	
+	@Test
+	void testGenerate_largeModel()
+	{
+		DiagramModel model = SyntheticModels.createModel(5000);
+		assertEquals(5000, model.types().size());
+		String last = JavaGenerator.generate(model, model.types().get(4999), "benchmark");
+		assertTrue(last.contains("public class Class4999 extends Class2499 {"));
+		assertTrue(SqlGenerator.generate(model).contains("CREATE TABLE Class4999"));
+	}
+	
+	@Test
+	void testExport_classesAndAssociations()
+	{
+		Element root = XmlExporter.export(DiagramModel.from(aDiagram)).getRootElement();
+		assertEquals(3, root.getChild("classes").getChildren().size());
+		Element association = root.getChild("associations").getChildren().get(0);
+		assertEquals("Generalization", association.getAttributeValue("type"));
+		assertEquals("Student", association.getChildText("classD"));
+		assertEquals("Teacher", association.getChildText("classA"));
+		Element aggregation = root.getChild("associations").getChildren().get(1);
+		assertEquals("Aggregation", aggregation.getAttributeValue("type"));
+		assertEquals("Composition", aggregation.getAttributeValue("genre"));
+		assertEquals("*", aggregation.getChild("classA").getAttributeValue("multiplicity"));
+	}
+	
+	@Test
+	void testExport_members()
+	{
+		Element teacher = XmlExporter.export(DiagramModel.from(aDiagram)).getRootElement()
+				.getChild("classes").getChildren().get(1);
+		Element attribute = teacher.getChild("attributs").getChild("attribut").getChild("name");
+		assertEquals("name", attribute.getText());
+		assertEquals("String", attribute.getAttributeValue("type"));
+		assertEquals("private", attribute.getAttributeValue("visibility"));
+		Element method = teacher.getChild("methodes").getChild("methode");
+		assertEquals("teach", method.getChildText("name"));
+		assertEquals("public", method.getChild("name").getAttributeValue("visibility"));
+		assertEquals("void", method.getChild("name").getAttributeValue("typeR"));
+		assertEquals("hours", method.getChild("parametres").getChild("parametre").getChildText("name"));
+	}
+	
+	@Test
+	void testGenerate() throws IOException
+	{
+		SourceCodeGenerator.generate(DiagramModel.from(aDiagram), "School", aOutput);
+		Path folder = SourceCodeGenerator.targetDirectory(aOutput, "School");
+		String student = read(folder.resolve("Student.java"));
+		assertTrue(student.startsWith("package org.jetuml.aGenerateJava.Diagram_School;"));
+		assertTrue(student.contains("public class Student extends Teacher {"));
+		String teacher = read(folder.resolve("Teacher.java"));
+		assertTrue(teacher.contains("List<Course> course;"));
+		assertTrue(teacher.contains("public void teach(int hours)"));
+		String sql = read(folder.resolve("School.sql"));
+		assertTrue(sql.contains("CREATE TABLE Teacher"));
+		assertTrue(sql.contains("CREATE TABLE Student"));
+		assertTrue(sql.contains("ON DELETE CASCADE"));
+	}
+	
+	@Test
+	void testGenerate_progress() throws IOException
+	{
+		Set<Integer> completed = ConcurrentHashMap.newKeySet();
+		SourceCodeGenerator.generate(DiagramModel.from(aDiagram), "School", aOutput, 
+				GenerationOptions.DEFAULT.withDialect(StandardSqlDialect.H2), (pCompleted, pTotal) -> 
+		{
+			assertEquals(4, pTotal);
+			completed.add(pCompleted);
+		});
+		assertEquals(Set.of(1, 2, 3, 4), completed);
+	}
+	
+	@Test
+	void testGenerate_parallelIsDeterministic() throws IOException
+	{
+		DiagramModel model = SyntheticModels.createModel(500);
+		SourceCodeGenerator.generate(model, "First", aOutput);
+		SourceCodeGenerator.generate(model, "Second", aOutput);
+		Path first = SourceCodeGenerator.targetDirectory(aOutput, "First");
+		Path second = SourceCodeGenerator.targetDirectory(aOutput, "Second");
+		assertEquals(read(first.resolve("First.sql")), read(second.resolve("Second.sql")));
+		assertEquals(SqlGenerator.generate(model), read(first.resolve("First.sql")));
+		assertEquals(read(first.resolve("Class250.java")).replace("First", "Second"), read(second.resolve("Class250.java")));
+	}
+	
+	@Test
+	void testGenerate_unchangedFilesNotWritten() throws IOException
+	{
+		assertEquals(4, SourceCodeGenerator.generate(DiagramModel.from(aDiagram), "School", aOutput));
+		Path folder = SourceCodeGenerator.targetDirectory(aOutput, "School");
+		FileTime past = FileTime.fromMillis(0);
+		for( String file : new String[] {"Student.java", "Teacher.java", "Course.java", "School.sql"} )
+		{
+			Files.setLastModifiedTime(folder.resolve(file), past);
+		}
+		assertEquals(0, SourceCodeGenerator.generate(DiagramModel.from(aDiagram), "School", aOutput));
+		assertEquals(past, Files.getLastModifiedTime(folder.resolve("Student.java")));
+		assertEquals(past, Files.getLastModifiedTime(folder.resolve("School.sql")));
+	}
+	
+	@Test
+	void testGenerate_onlyAffectedFilesWritten() throws IOException
+	{
+		SourceCodeGenerator.generate(DiagramModel.from(aDiagram), "School", aOutput);
+		Path folder = SourceCodeGenerator.targetDirectory(aOutput, "School");
+		FileTime past = FileTime.fromMillis(0);
+		for( String file : new String[] {"Student.java", "Teacher.java", "Course.java", "School.sql"} )
+		{
+			Files.setLastModifiedTime(folder.resolve(file), past);
+		}
+		// Student inherits the attributes of Teacher in its constructor
+		findClass("Teacher").setAttributes("fullName : String");
+		assertEquals(3, SourceCodeGenerator.generate(DiagramModel.from(aDiagram), "School", aOutput));
+		assertEquals(past, Files.getLastModifiedTime(folder.resolve("Course.java")));
+		assertTrue(read(folder.resolve("Student.java")).contains("super(fullName)"));
+		assertTrue(read(folder.resolve("School.sql")).contains("fullName VARCHAR"));
+	}
+	
+	@Test
+	void testGenerate_staleFilesDeleted() throws IOException
+	{
+		GenerationOptions options = GenerationOptions.DEFAULT.withPersistenceLayer(true);
+		SourceCodeGenerator.generate(DiagramModel.from(aDiagram), "School", aOutput, options, (pCompleted, pTotal) -> {});
+		Path folder = SourceCodeGenerator.targetDirectory(aOutput, "School");
+		Path notes = Files.writeString(folder.resolve("notes.txt"), "Not generated");
+		findClass("Course").setName("Lesson");
+		SourceCodeGenerator.generate(DiagramModel.from(aDiagram), "School", aOutput, options, (pCompleted, pTotal) -> {});
+		assertFalse(Files.exists(folder.resolve("Course.java")));
+		assertFalse(Files.exists(folder.resolve("persistence/Course.java")));
+		assertFalse(Files.exists(folder.resolve("persistence/CourseRepository.java")));
+		assertTrue(Files.exists(folder.resolve("Lesson.java")));
+		assertTrue(Files.exists(folder.resolve("persistence/LessonRepository.java")));
+		assertTrue(Files.exists(notes));
+		
+		SourceCodeGenerator.generate(DiagramModel.from(aDiagram), "School", aOutput);
+		assertFalse(Files.exists(folder.resolve("persistence/LessonRepository.java")));
+		assertTrue(Files.exists(folder.resolve("Lesson.java")));
+	}
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.generation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.jetuml.diagram.nodes.ClassNode;
+import org.junit.jupiter.api.Test;
+
+public class TestSqlGenerator
+{
+	private static final DiagramModel MODEL = createModel();
+	
+	private static DiagramModel createModel()
+	{
+		ClassNode members = new ClassNode();
+		members.setAttributes("age : int\nname : String\nactive : boolean\nscore : double");
+		return new DiagramModel(Arrays.asList(
+				new TypeModel("Student", false, members.getParsedAttributes(), Collections.emptyList()),
+				new TypeModel("Person", false, Collections.emptyList(), Collections.emptyList()),
+				new TypeModel("Course", false, Collections.emptyList(), Collections.emptyList()),
+				new TypeModel("Printable", true, Collections.emptyList(), Collections.emptyList())),
+			Arrays.asList(
+				new RelationModel(RelationType.GENERALIZATION, "", "Student", "Person", "", ""),
+				new RelationModel(RelationType.IMPLEMENTATION, "", "Student", "Printable", "", ""),
+				new RelationModel(RelationType.COMPOSITION, "", "Student", "Course", "", "*"),
+				new RelationModel(RelationType.AGGREGATION, "", "Course", "Printable", "", "")));
+	}
+	
+	@Test
+	void testGenerate_tablesBeforeForeignKeys()
+	{
+		String script = SqlGenerator.generate(MODEL, StandardSqlDialect.H2);
+		assertTrue(script.startsWith("CREATE TABLE Student (\n\tID BIGINT PRIMARY KEY,\n\tage INTEGER,\n\tname VARCHAR(255),\n" + 
+				"\tactive BOOLEAN,\n\tscore DOUBLE PRECISION,\n\tid_Person BIGINT,\n\tid_Course BIGINT\n);\n"));
+		int lastCreate = script.lastIndexOf("CREATE TABLE");
+		int firstAlter = script.indexOf("ALTER TABLE");
+		assertTrue(lastCreate < firstAlter);
+		assertTrue(script.contains("ALTER TABLE Student ADD FOREIGN KEY (id_Person) REFERENCES Person(ID);\n"));
+		assertTrue(script.contains("ALTER TABLE Student ADD FOREIGN KEY (id_Course) REFERENCES Course(ID) ON DELETE CASCADE;\n"));
+		assertTrue(script.contains("ALTER TABLE Course ADD FOREIGN KEY (id_Printable) REFERENCES Printable(ID) ON DELETE SET NULL;\n"));
+	}
+	
+	@Test
+	void testGenerate_referencedInterfaceHasTable()
+	{
+		String script = SqlGenerator.generate(MODEL, StandardSqlDialect.POSTGRESQL);
+		assertTrue(script.contains("CREATE TABLE Printable (\n\tID BIGINT PRIMARY KEY\n);"));
+		assertFalse(script.contains("id_Printable BIGINT,\n\tid_Course")); // Implementation is not a foreign key
+	}
+	
+	@Test
+	void testGenerate_inlineForeignKeys()
+	{
+		String script = SqlGenerator.generate(MODEL, StandardSqlDialect.SQLITE);
+		assertFalse(script.contains("ALTER TABLE"));
+		assertTrue(script.contains("\tid_Course INTEGER,\n\tFOREIGN KEY (id_Person) REFERENCES Person(ID),\n" + 
+				"\tFOREIGN KEY (id_Course) REFERENCES Course(ID) ON DELETE CASCADE\n);"));
+		assertTrue(script.contains("score REAL"));
+	}
+	
+	@Test
+	void testGenerate_oracleTypes()
+	{
+		String script = SqlGenerator.generate(MODEL);
+		assertTrue(script.contains("ID NUMBER(19) PRIMARY KEY"));
+		assertTrue(script.contains("name VARCHAR2(255)"));
+		assertTrue(script.contains("active NUMBER(1)"));
+	}
+	
+	@Test
+	void testGenerate_duplicateColumnsSkipped()
+	{
+		ClassNode members = new ClassNode();
+		members.setAttributes("id : long\nID_Course : int\nname : String\nName : String");
+		DiagramModel model = new DiagramModel(Arrays.asList(
+				new TypeModel("Student", false, members.getParsedAttributes(), Collections.emptyList())), 
+				Arrays.asList(new RelationModel(RelationType.AGGREGATION, "", "Student", "Course", "", "")));
+		String script = SqlGenerator.generate(model, StandardSqlDialect.H2);
+		assertTrue(script.startsWith("CREATE TABLE Student (\n\tID BIGINT PRIMARY KEY,\n\tID_Course INTEGER,\n" + 
+				"\tname VARCHAR(255)\n);\n"));
+		assertTrue(script.contains("ALTER TABLE Student ADD FOREIGN KEY (id_Course) REFERENCES Course(ID)"));
+	}
+	
+	@Test
+	void testGenerate_writer() throws IOException
+	{
+		StringWriter writer = new StringWriter();
+		SqlGenerator.generate(MODEL, StandardSqlDialect.H2, writer);
+		assertEquals(SqlGenerator.generate(MODEL, StandardSqlDialect.H2), writer.toString());
+	}
+	
+	@Test
+	void testFromName()
+	{
+		assertEquals(StandardSqlDialect.POSTGRESQL, StandardSqlDialect.fromName("PostgreSQL"));
+		assertThrows(IllegalArgumentException.class, () -> StandardSqlDialect.fromName("mysql"));
+	}
+}
@@ -71,6 +71,19 @@ public class TestRectangle
 		assertEquals(new Rectangle(-10,-20,60,40), RECTANGLE_1.translated(-10, -20));
 	}
 	
+	@Test
+	void testIntersects()
+	{
+		assertTrue(RECTANGLE_1.intersects(RECTANGLE_1));
+		assertTrue(RECTANGLE_1.intersects(new Rectangle(10,10,5,5)));
+		assertTrue(new Rectangle(10,10,5,5).intersects(RECTANGLE_1));
+		assertTrue(RECTANGLE_1.intersects(new Rectangle(60,40,10,10)));
+		assertTrue(RECTANGLE_1.intersects(new Rectangle(-10,10,100,5)));
+		assertFalse(RECTANGLE_1.intersects(RECTANGLE_2));
+		assertFalse(RECTANGLE_1.intersects(new Rectangle(61,0,10,10)));
+		assertFalse(RECTANGLE_1.intersects(new Rectangle(0,-11,10,10)));
+	}
+	
 	@Test
 	void testContainsPoint()
 	{
@@ -20,10 +20,24 @@
  *******************************************************************************/
 package org.jetuml.persistence;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.IOException;
+import java.io.StringReader;
+
 import org.jetuml.JavaFXLoader;
+import org.jetuml.application.Version;
+import org.jetuml.diagram.Diagram;
+import org.jetuml.diagram.DiagramType;
+import org.jetuml.diagram.Edge;
+import org.jetuml.diagram.edges.DependencyEdge;
+import org.jetuml.diagram.nodes.ClassNode;
+import org.jetuml.diagram.nodes.PackageNode;
 import org.jetuml.persistence.json.JsonObject;
+import org.jetuml.persistence.json.JsonReader;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -58,4 +72,42 @@ public class TestJsonDecoder
 		object.put("diagram", "StateDiagram");
 		assertThrows(DeserializationException.class, () -> JsonDecoder.decode(object));
 	}
+	
+	@Test
+	public void testDecodeReader() throws IOException
+	{
+		Diagram diagram = new Diagram(DiagramType.CLASS);
+		PackageNode packageNode = new PackageNode();
+		ClassNode classNode = new ClassNode();
+		classNode.setName("C");
+		packageNode.addChild(classNode);
+		diagram.addRootNode(packageNode);
+		ClassNode other = new ClassNode();
+		diagram.addRootNode(other);
+		Edge edge = new DependencyEdge();
+		edge.connect(classNode, other);
+		diagram.addEdge(edge);
+		String encoding = JsonEncoder.encode(diagram).toString();
+		
+		Diagram decoded = JsonDecoder.decode(new JsonReader(new StringReader(encoding))).get().diagram();
+		assertEquals(2, decoded.rootNodes().size());
+		assertEquals(1, decoded.edges().size());
+		Edge decodedEdge = decoded.edges().get(0);
+		assertEquals("C", ((ClassNode) decodedEdge.getStart()).getName());
+		assertSame(decodedEdge.getStart().getParent(), decoded.rootNodes().stream()
+				.filter(node -> node instanceof PackageNode).findFirst().get());
+	}
+	
+	/*
+	 * Diagrams that need to be migrated are not decoded, even if the
+	 * version comes after nodes that cannot be decoded.
+	 */
+	@Test
+	public void testDecodeReader_EarlierVersion() throws IOException
+	{
+		String encoding = "{\"diagram\":\"ClassDiagram\",\"nodes\":[{\"type\":\"NoSuchNode\"}],\"edges\":[],\"version\":\"1.2\"}";
+		assertFalse(JsonDecoder.decode(new JsonReader(new StringReader(encoding))).isPresent());
+		assertThrows(DeserializationException.class, () -> JsonDecoder.decode(new JsonReader(
+				new StringReader(encoding.replace("1.2", Version.CURRENT.toString())))));
+	}
 }
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.persistence.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.jetuml.persistence.json.JsonReader.Token;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class TestJsonReader
+{
+	private static JsonReader reader(String pInput)
+	{
+		return new JsonReader(new StringReader(pInput));
+	}
+
+	@Test
+	void testTokens() throws IOException
+	{
+		JsonReader reader = reader(" { \"a\" : [ -12, true, \"x\\u0041\\n\" ] , \"b\":{} }\n");
+		assertEquals(Token.BEGIN_OBJECT, reader.peek());
+		reader.beginObject();
+		assertEquals(Token.NAME, reader.peek());
+		assertEquals("a", reader.nextName());
+		reader.beginArray();
+		assertEquals(Token.INTEGER, reader.peek());
+		assertEquals(-12, reader.nextInt());
+		assertTrue(reader.nextBoolean());
+		assertEquals(Token.STRING, reader.peek());
+		assertEquals("xA\n", reader.nextString());
+		assertFalse(reader.hasNext());
+		reader.endArray();
+		assertEquals("b", reader.nextName());
+		reader.skipValue();
+		reader.endObject();
+		assertEquals(Token.END_DOCUMENT, reader.peek());
+	}
+
+	@Test
+	void testNextObject_SameAsParser() throws IOException
+	{
+		String input = "{\"a\":[1,2,{\"b\":false}],\"c\":\"d\",\"e\":0,\"f\":[]}";
+		assertEquals(JsonParser.parse(input).toString(), reader(input).nextObject().toString());
+	}
+
+	@Test
+	void testSkipValue() throws IOException
+	{
+		JsonReader reader = reader("[{\"a\":[[1],{\"b\":\"]\"}]},2]");
+		reader.beginArray();
+		reader.skipValue();
+		assertEquals(2, reader.nextInt());
+		reader.endArray();
+	}
+
+	@Test
+	void testNext_WrongToken()
+	{
+		assertThrows(JsonParsingException.class, () -> reader("[1]").beginObject());
+		assertThrows(JsonParsingException.class, () -> reader("\"a\"").nextInt());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"", "{", "{\"a\"}", "{\"a\":1,}", "[1 2]", "{\"a\":01}", "{\"a\":-0}",
+			"{\"a\":2147483648}", "{\"a\":tru}", "{\"a\":\"b", "{\"a\":\"\\x\"}", "{\"a\":1,\"a\":2}", "{} {}"})
+	void testNextObject_Invalid(String pInput)
+	{
+		assertThrows(JsonParsingException.class, () ->
+		{
+			JsonReader reader = reader(pInput);
+			reader.nextObject();
+			reader.peek();
+		});
+	}
+
+	@Test
+	void testNextInt_Limits() throws IOException
+	{
+		assertEquals(Integer.MIN_VALUE, reader("-2147483648").nextInt());
+		assertEquals(Integer.MAX_VALUE, reader("2147483647").nextInt());
+		assertEquals(0, reader("0").nextInt());
+	}
+
+	/*
+	 * Strings longer than the buffer of the reader are read across blocks.
+	 */
+	@Test
+	void testNextString_Long() throws IOException
+	{
+		String value = "a".repeat(20000);
+		assertEquals(value, reader("\"" + value + "\"").nextString());
+	}
+}
@@ -21,12 +21,19 @@
 package org.jetuml.rendering;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
+import java.util.Set;
+
 import org.jetuml.diagram.Diagram;
+import org.jetuml.diagram.DiagramElement;
 import org.jetuml.diagram.DiagramType;
+import org.jetuml.diagram.Edge;
 import org.jetuml.diagram.Node;
+import org.jetuml.diagram.edges.DependencyEdge;
 import org.jetuml.diagram.nodes.ClassNode;
 import org.jetuml.diagram.nodes.PackageNode;
 import org.jetuml.geom.Point;
@@ -107,6 +114,126 @@ public class TestDiagramRenderer
 		assertSame(p2, aRenderer.nodeAt(new Point(15,15)).get());
 	}
 	
+	@Test
+	void testNodeAt_AfterMove()
+	{
+		assertSame(aNode, aRenderer.nodeAt(new Point(20,20)).get());
+		aNode.translate(500, 500);
+		assertTrue(aRenderer.nodeAt(new Point(20,20)).isEmpty());
+		assertTrue(aRenderer.nodeAt(new Point(603,520)).isEmpty());
+		assertSame(aNode, aRenderer.nodeAt(new Point(520,520)).get());
+	}
+	
+	@Test
+	void testNodeAt_AfterChildMove()
+	{
+		PackageNode packageNode = new PackageNode();
+		ClassNode node = new ClassNode();
+		packageNode.addChild(node);
+		aDiagram.addRootNode(packageNode);
+		assertTrue(aRenderer.nodeAt(new Point(420,420)).isEmpty());
+		node.translate(400, 400);
+		assertSame(node, aRenderer.nodeAt(new Point(420,420)).get());
+	}
+
+	@Test
+	void testEdgeAt_AfterLayout()
+	{
+		ClassNode node = new ClassNode();
+		node.translate(300, 0);
+		aDiagram.addRootNode(node);
+		Edge edge = new DependencyEdge();
+		edge.connect(aNode, node);
+		aDiagram.addEdge(edge);
+		aRenderer.layout();
+		assertSame(edge, aRenderer.edgeAt(aRenderer.getStoredEdgePath(edge).get().getEndPoint()).get());
+		node.translate(0, 400);
+		aRenderer.layout();
+		assertSame(edge, aRenderer.edgeAt(aRenderer.getStoredEdgePath(edge).get().getEndPoint()).get());
+	}
+
+	@Test
+	void testNodeAt_LastRoot()
+	{
+		ClassNode node = new ClassNode();
+		node.translate(10, 10);
+		aDiagram.addRootNode(node);
+		assertSame(node, aRenderer.nodeAt(new Point(20,20)).get());
+		aDiagram.placeOnTop(aNode);
+		assertSame(aNode, aRenderer.nodeAt(new Point(20,20)).get());
+		aDiagram.removeRootNode(aNode);
+		assertSame(node, aRenderer.nodeAt(new Point(20,20)).get());
+	}
+	
+	@Test
+	void testLayout_OnlyWhenChanged()
+	{
+		ClassNode node = new ClassNode();
+		node.translate(300, 0);
+		aDiagram.addRootNode(node);
+		Edge edge = new DependencyEdge();
+		edge.connect(aNode, node);
+		aDiagram.addEdge(edge);
+		assertEquals(List.of(edge), aRenderer.layout());
+		assertTrue(aRenderer.layout().isEmpty());
+		node.translate(0, 10);
+		assertEquals(List.of(edge), aRenderer.layout());
+		node.translate(0, 0);
+		assertTrue(aRenderer.layout().isEmpty());
+	}
+	
+	@Test
+	void testElementsAffectedByMoving()
+	{
+		PackageNode packageNode = new PackageNode();
+		ClassNode child = new ClassNode();
+		packageNode.addChild(child);
+		aDiagram.addRootNode(packageNode);
+		ClassNode neighbor = new ClassNode();
+		ClassNode other = new ClassNode();
+		ClassNode unrelated = new ClassNode();
+		aDiagram.addRootNode(neighbor);
+		aDiagram.addRootNode(other);
+		aDiagram.addRootNode(unrelated);
+		Edge edge1 = new DependencyEdge();
+		edge1.connect(child, neighbor);
+		aDiagram.addEdge(edge1);
+		Edge edge2 = new DependencyEdge();
+		edge2.connect(other, neighbor);
+		aDiagram.addEdge(edge2);
+		Edge edge3 = new DependencyEdge();
+		edge3.connect(other, unrelated);
+		aDiagram.addEdge(edge3);
+		
+		Set<DiagramElement> affected = aRenderer.elementsAffectedByMoving(List.of(child));
+		assertEquals(4, affected.size());
+		assertTrue(affected.containsAll(List.of(child, packageNode, edge1, edge2)));
+		assertFalse(affected.contains(neighbor));
+		assertFalse(affected.contains(edge3));
+	}
+	
+	@Test
+	void testDrawingInputs()
+	{
+		ClassNode other = new ClassNode();
+		other.translate(300, 0);
+		aDiagram.addRootNode(other);
+		Edge edge = new DependencyEdge();
+		edge.connect(aNode, other);
+		aDiagram.addEdge(edge);
+		aRenderer.layout();
+		List<Object> nodeInputs = aRenderer.drawingInputs(aNode);
+		List<Object> edgeInputs = aRenderer.drawingInputs(edge);
+		
+		other.translate(0, 200);
+		aRenderer.layout();
+		assertEquals(nodeInputs, aRenderer.drawingInputs(aNode));
+		assertFalse(edgeInputs.equals(aRenderer.drawingInputs(edge)));
+		
+		((ClassNode) aNode).setName("Foo");
+		assertFalse(nodeInputs.equals(aRenderer.drawingInputs(aNode)));
+	}
+	
 	@Test
 	void testToPoints_topRight()
 	{
@@ -138,4 +138,16 @@ public class TestEdgePriority
 		assertTrue(EdgePriority.isStoredEdge(aSelfEdge));
 		assertFalse(EdgePriority.isStoredEdge(aNoteEdge));
 	}
-}
\ No newline at end of file
+	
+	@Test
+	void testEdgeType()
+	{
+		for( Edge edge : new Edge[] {aInheritanceEdge, aImplementationEdge, aAggregationEdge, 
+				aCompositionEdge, aAssociationEdge, aDependencyEdge, aSelfEdge, aNoteEdge})
+		{
+			assertTrue(EdgePriority.edgeType(EdgePriority.priorityOf(edge)).isInstance(edge));
+		}
+		assertEquals(GeneralizationEdge.class, EdgePriority.edgeType(EdgePriority.IMPLEMENTATION));
+		assertEquals(Edge.class, EdgePriority.edgeType(EdgePriority.SELF_EDGE));
+	}
+}
@@ -33,7 +33,9 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
+import org.jetuml.benchmark.SyntheticDiagramGenerator;
 import org.jetuml.diagram.Diagram;
 import org.jetuml.diagram.DiagramType;
 import org.jetuml.diagram.Edge;
@@ -344,6 +346,61 @@ public class TestLayouter
 	}
 	
 	
+	@Test
+	public void testLayout_incrementalSameAsFull()
+	{
+		setUpTestLayout();
+		Node farNode1 = new ClassNode();
+		Node farNode2 = new ClassNode();
+		farNode1.moveTo(new Point(1000, 0));
+		farNode2.moveTo(new Point(1200, 300));
+		aDiagram.addRootNode(farNode1);
+		aDiagram.addRootNode(farNode2);
+		Edge farEdge = new AssociationEdge();
+		farEdge.connect(farNode1, farNode2);
+		aDiagram.addEdge(farEdge);
+		aRenderer.layout();
+		EdgePath farPath = aRenderer.getStoredEdgePath(farEdge).get();
+
+		aNodeG.translate(30, 0);
+		assertFalse(aRenderer.layout().contains(farEdge));
+		assertSame(farPath, aRenderer.getStoredEdgePath(farEdge).get());
+		assertSameLayoutAsFull();
+
+		farNode2.translate(0, 100);
+		assertEquals(List.of(farEdge), aRenderer.layout());
+		assertSameLayoutAsFull();
+
+		aNodeE.moveTo(new Point(900, 0));
+		aRenderer.layout();
+		assertSameLayoutAsFull();
+	}
+
+	@Test
+	public void testLayout_parallelSameAsSerial()
+	{
+		aDiagram = new SyntheticDiagramGenerator(3).withRemoteEdges(0).generate(800);
+		aRenderer = new ClassDiagramRenderer(aDiagram);
+		for( EdgePriority priority : Arrays.asList(EdgePriority.INHERITANCE, EdgePriority.IMPLEMENTATION, 
+				EdgePriority.AGGREGATION, EdgePriority.COMPOSITION, EdgePriority.ASSOCIATION) )
+		{
+			layoutSegmentedEdges(priority);
+		}
+		layoutDependencyEdges();
+		layoutSelfEdges();
+		assertSameLayoutAsFull();
+	}
+
+	private void assertSameLayoutAsFull()
+	{
+		ClassDiagramRenderer renderer = new ClassDiagramRenderer(aDiagram);
+		renderer.layout();
+		for( Edge edge : aDiagram.edges() )
+		{
+			assertEquals(renderer.getStoredEdgePath(edge), aRenderer.getStoredEdgePath(edge));
+		}
+	}
+
 	@Test
 	public void testLayoutMergedEndEdges()
 	{
@@ -2280,13 +2337,20 @@ public class TestLayouter
 		}
 	}
 	
+	private List<Edge> edgesWithPriority(EdgePriority pPriority)
+	{
+		return aDiagram.edges().stream()
+				.filter(edge -> EdgePriority.priorityOf(edge) == pPriority)
+				.collect(Collectors.toList());
+	}
+	
 	private void layoutSegmentedEdges(EdgePriority pEdgePriority)
 	{
 		try 
 		{
-			Method method = ClassDiagramRenderer.class.getDeclaredMethod("layoutSegmentedEdges", EdgePriority.class);
+			Method method = ClassDiagramRenderer.class.getDeclaredMethod("layoutSegmentedEdges", List.class);
 			method.setAccessible(true);
-			method.invoke(aRenderer, pEdgePriority);
+			method.invoke(aRenderer, edgesWithPriority(pEdgePriority));
 		}
 		catch(ReflectiveOperationException e)
 		{
@@ -2327,9 +2391,9 @@ public class TestLayouter
 	{
 		try 
 		{
-			Method method = ClassDiagramRenderer.class.getDeclaredMethod("layoutDependencyEdges");
+			Method method = ClassDiagramRenderer.class.getDeclaredMethod("layoutDependencyEdges", List.class);
 			method.setAccessible(true);
-			method.invoke(aRenderer);
+			method.invoke(aRenderer, edgesWithPriority(EdgePriority.DEPENDENCY));
 		}
 		catch(ReflectiveOperationException e)
 		{
@@ -2341,9 +2405,9 @@ public class TestLayouter
 	{
 		try 
 		{
-			Method method = ClassDiagramRenderer.class.getDeclaredMethod("layoutSelfEdges");
+			Method method = ClassDiagramRenderer.class.getDeclaredMethod("layoutSelfEdges", List.class);
 			method.setAccessible(true);
-			method.invoke(aRenderer);
+			method.invoke(aRenderer, edgesWithPriority(EdgePriority.SELF_EDGE));
 		}
 		catch(ReflectiveOperationException e)
 		{
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *     
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.rendering;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.jetuml.geom.Point;
+import org.jetuml.geom.Rectangle;
+import org.junit.jupiter.api.Test;
+
+public class TestSpatialIndex
+{
+	private final SpatialIndex<String> aIndex = new SpatialIndex<>(100);
+	
+	@Test
+	void testElementsAt_Empty()
+	{
+		assertTrue(aIndex.elementsAt(new Point(0, 0)).isEmpty());
+	}
+	
+	@Test
+	void testElementsAt_Boundaries()
+	{
+		aIndex.put("A", new Rectangle(50, 50, 100, 100), 0);
+		assertEquals(List.of("A"), aIndex.elementsAt(new Point(50, 50)));
+		assertEquals(List.of("A"), aIndex.elementsAt(new Point(150, 150)));
+		assertEquals(List.of("A"), aIndex.elementsAt(new Point(120, 60)));
+		assertTrue(aIndex.elementsAt(new Point(49, 60)).isEmpty());
+		assertTrue(aIndex.elementsAt(new Point(151, 60)).isEmpty());
+	}
+	
+	@Test
+	void testElementsAt_NegativeCoordinates()
+	{
+		aIndex.put("A", new Rectangle(-250, -30, 20, 60), 0);
+		assertEquals(List.of("A"), aIndex.elementsAt(new Point(-240, -20)));
+		assertEquals(List.of("A"), aIndex.elementsAt(new Point(-240, 20)));
+		assertTrue(aIndex.elementsAt(new Point(240, 20)).isEmpty());
+	}
+	
+	@Test
+	void testElementsAt_Order()
+	{
+		aIndex.put("A", new Rectangle(0, 0, 300, 300), 2);
+		aIndex.put("B", new Rectangle(10, 10, 20, 20), 0);
+		aIndex.put("C", new Rectangle(20, 20, 20, 20), 1);
+		assertEquals(List.of("B", "C", "A"), aIndex.elementsAt(new Point(25, 25)));
+		aIndex.put("A", new Rectangle(0, 0, 300, 300), -1);
+		assertEquals(List.of("A", "B", "C"), aIndex.elementsAt(new Point(25, 25)));
+	}
+	
+	@Test
+	void testPut_Move()
+	{
+		aIndex.put("A", new Rectangle(0, 0, 10, 10), 0);
+		aIndex.put("A", new Rectangle(500, 500, 10, 10), 0);
+		assertTrue(aIndex.elementsAt(new Point(5, 5)).isEmpty());
+		assertEquals(List.of("A"), aIndex.elementsAt(new Point(505, 505)));
+		assertEquals(1, aIndex.size());
+	}
+	
+	@Test
+	void testRemove()
+	{
+		aIndex.put("A", new Rectangle(0, 0, 250, 10), 0);
+		aIndex.put("B", new Rectangle(0, 0, 10, 10), 1);
+		aIndex.remove("A");
+		aIndex.remove("C");
+		assertEquals(List.of("B"), aIndex.elementsAt(new Point(5, 5)));
+		assertTrue(aIndex.elementsAt(new Point(205, 5)).isEmpty());
+		aIndex.removeIf(element -> element.equals("B"));
+		assertEquals(0, aIndex.size());
+		assertTrue(aIndex.elementsAt(new Point(5, 5)).isEmpty());
+	}
+}
@@ -20,6 +20,7 @@
  *******************************************************************************/
 package org.jetuml.rendering.edges;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -33,7 +34,9 @@ import org.jetuml.diagram.edges.DependencyEdge;
 import org.jetuml.diagram.edges.GeneralizationEdge;
 import org.jetuml.diagram.nodes.ClassNode;
 import org.jetuml.geom.EdgePath;
+import org.jetuml.geom.Line;
 import org.jetuml.geom.Point;
+import org.jetuml.geom.Side;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -145,6 +148,66 @@ public class TestEdgeStorage
 		assertTrue(sameNodes.contains(edge2));
 	}
 	
+	@Test
+	void testConnectionPointIsAvailable_AfterUpdateAndRemove()
+	{
+		aEdgeStorage.store(edge1, path1);
+		aEdgeStorage.store(edge3, path3);
+		aEdgeStorage.store(edge1, path2);
+		assertTrue(aEdgeStorage.connectionPointIsAvailable(new Point(0,0)));
+		assertFalse(aEdgeStorage.connectionPointIsAvailable(new Point(300,300)));
+		assertFalse(aEdgeStorage.connectionPointIsAvailable(new Point(100,100)));
+		aEdgeStorage.removeIf(edge -> edge == edge1);
+		assertTrue(aEdgeStorage.connectionPointIsAvailable(new Point(300,300)));
+		assertFalse(aEdgeStorage.connectionPointIsAvailable(new Point(100,100)));
+	}
+	
+	@Test
+	void testEdgesConnectedTo_InStoreOrder()
+	{
+		edge1.connect(nodeA, nodeB);
+		edge2.connect(nodeC, nodeA);
+		edge3.connect(nodeA, nodeA);
+		aEdgeStorage.store(edge3, path3);
+		aEdgeStorage.store(edge1, path1);
+		aEdgeStorage.store(edge2, path2);
+		aEdgeStorage.store(edge3, path1);
+		assertEquals(List.of(edge3, edge1, edge2), aEdgeStorage.edgesConnectedTo(nodeA));
+		aEdgeStorage.removeIf(edge -> edge == edge1);
+		assertEquals(List.of(edge3, edge2), aEdgeStorage.edgesConnectedTo(nodeA));
+		assertTrue(aEdgeStorage.edgesConnectedTo(nodeB).isEmpty());
+	}
+	
+	@Test
+	void testEdgesWithSameNodes_SelfEdges()
+	{
+		edge1.connect(nodeA, nodeB);
+		edge2.connect(nodeB, nodeA);
+		edge3.connect(nodeB, nodeB);
+		aEdgeStorage.store(edge3, path3);
+		aEdgeStorage.store(edge2, path2);
+		assertEquals(List.of(edge3, edge2), aEdgeStorage.getEdgesWithSameNodes(edge1));
+		assertTrue(aEdgeStorage.getEdgesWithSameNodes(edge3).isEmpty());
+	}
+	
+	@Test
+	void testFirstAvailableConnectionPoint()
+	{
+		Line face = new Line(new Point(0, 0), new Point(100, 0));
+		edge1.connect(nodeA, nodeB);
+		edge2.connect(nodeC, nodeA);
+		assertEquals(new Point(50, 0), aEdgeStorage.firstAvailableConnectionPoint(nodeA, Side.TOP, face, 1));
+		aEdgeStorage.store(edge1, new EdgePath(new Point(50, 0), new Point(50, -100)));
+		assertEquals(new Point(60, 0), aEdgeStorage.firstAvailableConnectionPoint(nodeA, Side.TOP, face, 1));
+		assertEquals(new Point(40, 0), aEdgeStorage.firstAvailableConnectionPoint(nodeA, Side.TOP, face, -1));
+		aEdgeStorage.store(edge2, new EdgePath(new Point(60, -100), new Point(60, 0)));
+		assertEquals(new Point(70, 0), aEdgeStorage.firstAvailableConnectionPoint(nodeA, Side.TOP, face, 1));
+		aEdgeStorage.removeIf(edge -> edge == edge1);
+		assertEquals(new Point(50, 0), aEdgeStorage.firstAvailableConnectionPoint(nodeA, Side.TOP, face, 1));
+		Line movedFace = new Line(new Point(10, 0), new Point(110, 0));
+		assertEquals(new Point(70, 0), aEdgeStorage.firstAvailableConnectionPoint(nodeA, Side.TOP, movedFace, 1));
+	}
+	
 	@Test
 	void testClearStorage()
 	{
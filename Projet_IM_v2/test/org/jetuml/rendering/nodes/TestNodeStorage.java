@@ -20,13 +20,17 @@
  *******************************************************************************/
 package org.jetuml.rendering.nodes;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 
 import java.util.function.Function;
 
 import org.jetuml.diagram.Node;
+import org.jetuml.diagram.nodes.ClassNode;
 import org.jetuml.diagram.nodes.NoteNode;
+import org.jetuml.diagram.nodes.PackageNode;
+import org.jetuml.geom.Point;
 import org.jetuml.geom.Rectangle;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,6 +40,8 @@ import org.junit.jupiter.api.Test;
  */
 public class TestNodeStorage 
 {	
+	private static final int FONT_SIZE = 12;
+	
 	private NodeStorage aNodeStorage;
 
 	@BeforeEach
@@ -45,44 +51,57 @@ public class TestNodeStorage
 	}
 
 	@Test
-	public void testGetBoundsReturnsDifferentBoundsWhenNodeStorageIsNotActive()
+	public void testGetBoundsReturnsSameBoundsWhenInputsAreUnchanged()
 	{
 		Node node = new NoteNode();
-		Rectangle boundsA = aNodeStorage.getBounds(node, createDefaultBoundCalculator());
-		Rectangle boundsB = aNodeStorage.getBounds(node, createDefaultBoundCalculator());
-		assertNotSame(boundsA, boundsB);
+		Rectangle boundsA = aNodeStorage.getBounds(node, node, FONT_SIZE, createDefaultBoundCalculator());
+		Rectangle boundsB = aNodeStorage.getBounds(node, node, FONT_SIZE, createDefaultBoundCalculator());
+		assertSame(boundsA, boundsB);
 	}
 
 	@Test
-	public void testGetBoundsReturnsSameBoundsWhenNodeStorageIsActive()
+	public void testGetBoundsReturnsDifferentBoundsForDifferentNodes()
+	{
+		Node node1 = new NoteNode();
+		Node node2 = new NoteNode();
+		Rectangle boundsA = aNodeStorage.getBounds(node1, node1, FONT_SIZE, createDefaultBoundCalculator());
+		Rectangle boundsB = aNodeStorage.getBounds(node2, node2, FONT_SIZE, createDefaultBoundCalculator());
+		assertNotSame(boundsA, boundsB);
+	}
+	
+	@Test
+	public void testGetBoundsReturnsNewBoundsWhenInputsChange()
 	{
-		aNodeStorage.activate();
 		Node node = new NoteNode();
-		Rectangle boundsA = aNodeStorage.getBounds(node, createDefaultBoundCalculator());
-		Rectangle boundsB = aNodeStorage.getBounds(node, createDefaultBoundCalculator());
-		assertSame(boundsA, boundsB);
+		Rectangle boundsBeforeMove = aNodeStorage.getBounds(node, node, FONT_SIZE, createDefaultBoundCalculator());
+		node.moveTo(new Point(10, 20));
+		Rectangle boundsAfterMove = aNodeStorage.getBounds(node, node, FONT_SIZE, createDefaultBoundCalculator());
+		assertNotSame(boundsBeforeMove, boundsAfterMove);
+		assertEquals(new Rectangle(10, 20, 100, 100), boundsAfterMove);
+		assertSame(boundsAfterMove, aNodeStorage.getBounds(node, node, FONT_SIZE, createDefaultBoundCalculator()));
 	}
 
 	@Test
-	public void testGetBoundsReturnsDifferentBoundsForDifferentNodesWhenNodeStorageIsActive()
+	public void testGetBoundsReturnsNewBoundsWhenFontSizeChanges()
 	{
-		aNodeStorage.activate();
-		Node node1 = new NoteNode();
-		Node node2 = new NoteNode();
-		Rectangle boundsA = aNodeStorage.getBounds(node1, createDefaultBoundCalculator());
-		Rectangle boundsB = aNodeStorage.getBounds(node2, createDefaultBoundCalculator());
-		assertNotSame(boundsA, boundsB);
+		Node node = new NoteNode();
+		Rectangle bounds = aNodeStorage.getBounds(node, node, FONT_SIZE, createDefaultBoundCalculator());
+		assertNotSame(bounds, aNodeStorage.getBounds(node, node, FONT_SIZE + 1, createDefaultBoundCalculator()));
 	}
 	
 	@Test
-	public void testGetBoundsReturnsDifferentBoundsBeforeAndAfterDeactivationOfNodeStorage()
+	public void testGetBoundsReturnsNewBoundsWhenSourceChanges()
 	{
-		aNodeStorage.activate();
+		PackageNode packageNode = new PackageNode();
 		Node node = new NoteNode();
-		Rectangle boundsBeforeDeactivation = aNodeStorage.getBounds(node, createDefaultBoundCalculator());
-		aNodeStorage.deactivateAndClear();
-		Rectangle boundsAfterDeactivation = aNodeStorage.getBounds(node, createDefaultBoundCalculator());
-		assertNotSame(boundsBeforeDeactivation, boundsAfterDeactivation);
+		Node child = new ClassNode();
+		packageNode.addChild(child);
+		Rectangle bounds = aNodeStorage.getBounds(node, packageNode, FONT_SIZE, createDefaultBoundCalculator());
+		assertSame(bounds, aNodeStorage.getBounds(node, packageNode, FONT_SIZE, createDefaultBoundCalculator()));
+		child.translate(10, 10);
+		Rectangle boundsAfterChildMove = aNodeStorage.getBounds(node, packageNode, FONT_SIZE, createDefaultBoundCalculator());
+		assertNotSame(bounds, boundsAfterChildMove);
+		assertNotSame(boundsAfterChildMove, aNodeStorage.getBounds(node, node, FONT_SIZE, createDefaultBoundCalculator()));
 	}
 
 	private static Function<Node, Rectangle> createDefaultBoundCalculator()
@@ -96,4 +115,4 @@ public class TestNodeStorage
 			}
 		};
 	}
-} 
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * JetUML - A desktop application for fast UML diagramming.
+ *
+ * Copyright (C) 2023 by McGill University.
+ *
+ * See: https://github.com/prmr/JetUML
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see http://www.gnu.org/licenses.
+ *******************************************************************************/
+package org.jetuml.testutils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetuml.diagram.nodes.ClassNode;
+import org.jetuml.generation.DiagramModel;
+import org.jetuml.generation.RelationModel;
+import org.jetuml.generation.RelationType;
+import org.jetuml.generation.TypeModel;
+
+/**
+ * Creates the models of synthetic class diagrams of any size, 
+ * for the tests and the benchmarks of code generation.
+ */
+public final class SyntheticModels
+{
+	private SyntheticModels() {}
+	
+	/**
+	 * Creates a model of pClasses classes named Class0, Class1, etc., and 
+	 * arranged in an inheritance tree. Each class has three attributes and 
+	 * two methods, aggregates the next class and is composed of the one 
+	 * after it.
+	 * 
+	 * @param pClasses The number of classes.
+	 * @return A new synthetic model.
+	 */
+	public static DiagramModel createModel(int pClasses)
+	{
+		ClassNode members = new ClassNode();
+		members.setAttributes("+ id : long\nlabel : String\n- weight : double");
+		members.setMethods("+ update(int count, String reason) : boolean\nreset()");
+		List<TypeModel> types = new ArrayList<>();
+		List<RelationModel> relations = new ArrayList<>();
+		for( int i = 0; i < pClasses; i++ )
+		{
+			types.add(new TypeModel(name(i), false, members.getParsedAttributes(), members.getParsedMethods()));
+			if( i > 0 )
+			{
+				relations.add(new RelationModel(RelationType.GENERALIZATION, "", name(i), name((i - 1) / 2), "", ""));
+			}
+			if( i + 1 < pClasses )
+			{
+				relations.add(new RelationModel(RelationType.AGGREGATION, "", name(i), name(i + 1), "", "*"));
+			}
+			if( i + 2 < pClasses )
+			{
+				relations.add(new RelationModel(RelationType.COMPOSITION, "", name(i), name(i + 2), "", "1"));
+			}
+		}
+		return new DiagramModel(types, relations);
+	}
+	
+	private static String name(int pIndex)
+	{
+		return "Class" + pIndex;
+	}
+}